@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.pe.shared;
+
+import java.util.function.Function;
+
+/**
+ * Builds a single string key from the values of several fields, e.g. to group events by more than one property.
+ * Values are joined with the unit separator, which does not occur in regular field values, so that different
+ * value combinations never produce the same key.
+ */
+public class CompositeKey {
+
+  private static final char SEPARATOR = '\u001F';
+
+  /**
+   * @param selectors the fields making up the key, an empty array yields the empty key
+   * @param valueOf   resolves the string value of a single field
+   */
+  public static String of(String[] selectors, Function<String, String> valueOf) {
+    if (selectors.length == 1) {
+      return valueOf.apply(selectors[0]);
+    }
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < selectors.length; i++) {
+      if (i > 0) {
+        key.append(SEPARATOR);
+      }
+      key.append(valueOf.apply(selectors[i]));
+    }
+    return key.toString();
+  }
+}
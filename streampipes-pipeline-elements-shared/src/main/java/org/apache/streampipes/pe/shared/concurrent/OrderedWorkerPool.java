@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.pe.shared.concurrent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Processes tasks (e.g. the images or texts of events) on a fixed number of worker threads and hands the results to the
+ * consumer in the order the tasks were submitted. The number of tasks which are processed or wait for their results
+ * to be emitted is bounded; {@link OrderedWorkerPool#submit(Callable)} blocks when the limit is reached, so that a
+ * slow processor slows down the stream instead of filling the heap. The consumer is never called concurrently.
+ *
+ * <p>With a single worker, tasks are executed on the calling thread.
+ *
+ * @param <R> The result of a task
+ */
+public class OrderedWorkerPool<R> {
+
+  private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+  private final ExecutorService executor;
+  private final Semaphore inFlight;
+  private final Consumer<R> consumer;
+  private final Consumer<Throwable> errorHandler;
+
+  private final Map<Long, Result<R>> completed = new HashMap<>();
+  private long nextSubmitted;
+  private long nextEmitted;
+
+  /**
+   * @param name         The prefix of the names of the worker threads
+   * @param workers      The number of worker threads
+   * @param maxInFlight  The maximum number of tasks which are processed or wait to be emitted
+   * @param consumer     Receives the results in submission order
+   * @param errorHandler Receives the exceptions and errors of failed tasks, which produce no result
+   */
+  public OrderedWorkerPool(String name, int workers, int maxInFlight, Consumer<R> consumer,
+                           Consumer<Throwable> errorHandler) {
+    this.consumer = consumer;
+    this.errorHandler = errorHandler;
+    this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+    if (workers > 1) {
+      String prefix = name + "-" + POOL_COUNT.incrementAndGet() + "-";
+      AtomicInteger threadCount = new AtomicInteger();
+      this.executor = Executors.newFixedThreadPool(workers, r -> {
+        Thread thread = new Thread(r, prefix + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Queues a task, waiting while the maximum number of tasks is in flight. Must not be called concurrently.
+   *
+   * @param task The task
+   * @throws InterruptedException When the thread is interrupted while waiting
+   */
+  public void submit(Callable<R> task) throws InterruptedException {
+    if (executor == null) {
+      complete(nextSubmitted++, run(task));
+      return;
+    }
+    inFlight.acquire();
+    long sequence = nextSubmitted++;
+    executor.execute(() -> complete(sequence, run(task)));
+  }
+
+  private Result<R> run(Callable<R> task) {
+    try {
+      return new Result<>(task.call(), null);
+    } catch (Throwable e) {
+      // errors must complete the task as well, otherwise no later result is emitted and submit blocks forever
+      return new Result<>(null, e);
+    }
+  }
+
+  private synchronized void complete(long sequence, Result<R> result) {
+    completed.put(sequence, result);
+    Result<R> next;
+    while ((next = completed.remove(nextEmitted)) != null) {
+      nextEmitted++;
+      if (executor != null) {
+        inFlight.release();
+      }
+      if (next.error != null) {
+        errorHandler.accept(next.error);
+      } else if (next.value != null) {
+        consumer.accept(next.value);
+      }
+    }
+  }
+
+  /**
+   * Processes and emits the queued tasks and stops the worker threads
+   */
+  public void stop() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class Result<R> {
+
+    private final R value;
+    private final Throwable error;
+
+    Result(R value, Throwable error) {
+      this.value = value;
+      this.error = error;
+    }
+  }
+}
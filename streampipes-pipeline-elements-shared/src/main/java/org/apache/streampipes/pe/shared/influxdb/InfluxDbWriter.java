@@ -0,0 +1,377 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.pe.shared.influxdb;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBFactory;
+import org.influxdb.dto.Pong;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes events to an InfluxDB database. Events are encoded directly into a buffer of line protocol records which
+ * is sent as one gzip-compressed request once the batch size or the flush duration is reached. The sanitized name
+ * and role (tag or field) of every event key is computed only once.
+ */
+public class InfluxDbWriter {
+
+  private static final String RETENTION_POLICY = "autogen";
+
+  private final String databaseName;
+  private final String escapedMeasurement;
+  private final String[] timestampPath;
+  private final Set<String> tagFields;
+  private final Function<String, String> fieldNameSanitizer;
+  private final int batchSize;
+  private final Consumer<SpRuntimeException> flushErrorHandler;
+
+  private final Map<String, KeyInfo> keyInfos = new HashMap<>();
+  private final StringBuilder buffer = new StringBuilder(8192);
+  private final StringBuilder tagBuffer = new StringBuilder(256);
+  private final StringBuilder fieldBuffer = new StringBuilder(1024);
+
+  private InfluxDB influxDb;
+  private ScheduledExecutorService flushScheduler;
+  private int bufferedPoints = 0;
+
+  private long writtenPoints = 0;
+  private long flushedBatches = 0;
+  private long failedPoints = 0;
+  private long totalFlushNanos = 0;
+  private long maxFlushNanos = 0;
+  private long firstFlushMillis = 0;
+  private long lastFlushMillis = 0;
+
+  private static class KeyInfo {
+    private final boolean tag;
+    private final String escapedName;
+
+    KeyInfo(boolean tag, String escapedName) {
+      this.tag = tag;
+      this.escapedName = escapedName;
+    }
+  }
+
+  /**
+   * @param databaseName       The database the points are written to (will be created if it does not exist)
+   * @param measureName        The measurement the points are written to
+   * @param timestampField     The selector of the timestamp field (in ms), e.g. s0::timestamp
+   * @param tagFields          The keys of the event which are written as tags (can be null)
+   * @param fieldNameSanitizer Converts event keys to field names
+   * @param batchSize          The number of points sent with one request
+   * @param flushDuration      The maximum time in ms a point is buffered (0 disables the time-based flush)
+   * @param flushErrorHandler  Is called when a time-based flush fails (failures of {@link #write(Map)},
+   *                           {@link #flush()} and {@link #stop()} are thrown instead)
+   */
+  public InfluxDbWriter(String databaseName,
+                        String measureName,
+                        String timestampField,
+                        List<String> tagFields,
+                        Function<String, String> fieldNameSanitizer,
+                        Integer batchSize,
+                        Integer flushDuration,
+                        Consumer<SpRuntimeException> flushErrorHandler) {
+    this.databaseName = databaseName;
+    this.escapedMeasurement = escape(measureName, false);
+    String[] selector = timestampField.split("::");
+    // the first element of a selector is the stream prefix (e.g. s0)
+    this.timestampPath = selector.length > 1 ? Arrays.copyOfRange(selector, 1, selector.length) : selector;
+    this.tagFields = tagFields == null ? Collections.emptySet() : new HashSet<>(tagFields);
+    this.fieldNameSanitizer = fieldNameSanitizer;
+    this.batchSize = Math.max(batchSize, 1);
+    this.flushErrorHandler = flushErrorHandler;
+    if (flushDuration != null && flushDuration > 0) {
+      this.flushScheduler = Executors.newSingleThreadScheduledExecutor();
+      this.flushScheduler.scheduleAtFixedRate(this::flushQuietly, flushDuration, flushDuration,
+              TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Connects to the InfluxDB Server and creates the database if it does not exist
+   *
+   * @param url      The url of the server including the port, e.g. http://localhost:8086
+   * @return true if the database has been created
+   * @throws SpRuntimeException If no connection can be established or the database name is not allowed
+   */
+  public boolean connect(String url, String user, String password) throws SpRuntimeException {
+    influxDb = InfluxDBFactory.connect(url, user, password);
+
+    // Checking, if server is available
+    Pong response = influxDb.ping();
+    if (response.getVersion().equalsIgnoreCase("unknown")) {
+      throw new SpRuntimeException("Could not connect to InfluxDb Server: " + url);
+    }
+    influxDb.enableGzip();
+
+    if (!databaseExists(databaseName)) {
+      createDatabase(databaseName);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean databaseExists(String dbName) {
+    QueryResult queryResult = influxDb.query(new Query("SHOW DATABASES", ""));
+    for (List<Object> a : queryResult.getResults().get(0).getSeries().get(0).getValues()) {
+      if (a.get(0).equals(dbName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void createDatabase(String dbName) throws SpRuntimeException {
+    if (!dbName.matches("^[a-zA-Z_][a-zA-Z0-9_]*$")) {
+      throw new SpRuntimeException("Databasename '" + dbName + "' not allowed. Allowed names: ^[a-zA-Z_][a-zA-Z0-9_]*$");
+    }
+    influxDb.query(new Query("CREATE DATABASE \"" + dbName + "\"", ""));
+  }
+
+  /**
+   * Encodes the event as line protocol record and adds it to the current batch
+   *
+   * @param event The raw event
+   * @throws SpRuntimeException If the event does not contain a timestamp or the batch could not be written
+   */
+  public synchronized void write(Map<String, Object> event) throws SpRuntimeException {
+    if (event == null) {
+      throw new SpRuntimeException("event is null");
+    }
+    Object timestamp = getTimestamp(event);
+    if (!(timestamp instanceof Number)) {
+      throw new SpRuntimeException("Event does not contain a timestamp in field '"
+              + String.join("::", timestampPath) + "'");
+    }
+
+    tagBuffer.setLength(0);
+    fieldBuffer.setLength(0);
+    for (Map.Entry<String, Object> pair : event.entrySet()) {
+      Object value = pair.getValue();
+      if (value == null) {
+        continue;
+      }
+      KeyInfo keyInfo = keyInfos.computeIfAbsent(pair.getKey(), this::makeKeyInfo);
+      if (keyInfo.tag) {
+        String tagValue = value.toString();
+        if (!tagValue.isEmpty()) {
+          tagBuffer.append(',').append(keyInfo.escapedName).append('=');
+          appendEscaped(tagBuffer, tagValue, true);
+        }
+      } else {
+        appendField(keyInfo.escapedName, value);
+      }
+    }
+    if (fieldBuffer.length() == 0) {
+      throw new SpRuntimeException("Event does not contain any field values");
+    }
+
+    if (buffer.length() > 0) {
+      buffer.append('\n');
+    }
+    buffer.append(escapedMeasurement).append(tagBuffer).append(' ').append(fieldBuffer)
+            .append(' ').append(((Number) timestamp).longValue());
+    bufferedPoints++;
+
+    if (bufferedPoints >= batchSize) {
+      flush();
+    }
+  }
+
+  private Object getTimestamp(Map<String, Object> event) {
+    Object value = event;
+    for (String key : timestampPath) {
+      if (!(value instanceof Map)) {
+        return null;
+      }
+      value = ((Map<?, ?>) value).get(key);
+    }
+    return value;
+  }
+
+  private KeyInfo makeKeyInfo(String key) {
+    if (tagFields.contains(key)) {
+      return new KeyInfo(true, escape(key, true));
+    } else {
+      return new KeyInfo(false, escape(fieldNameSanitizer.apply(key), true));
+    }
+  }
+
+  private void appendField(String escapedName, Object value) {
+    int start = fieldBuffer.length();
+    if (start > 0) {
+      fieldBuffer.append(',');
+    }
+    fieldBuffer.append(escapedName).append('=');
+    // same field types as the replaced Point.Builder based clients: Float, Short and Byte values are written as
+    // strings, otherwise the writes to existing measurements would fail with a field type conflict
+    if (value instanceof Integer || value instanceof Long) {
+      fieldBuffer.append(((Number) value).longValue()).append('i');
+    } else if (value instanceof Double) {
+      double d = (Double) value;
+      if (Double.isNaN(d) || Double.isInfinite(d)) {
+        // not supported by the line protocol
+        fieldBuffer.setLength(start);
+        return;
+      }
+      fieldBuffer.append(d);
+    } else if (value instanceof Boolean) {
+      fieldBuffer.append(((Boolean) value).booleanValue());
+    } else {
+      fieldBuffer.append('"');
+      String s = value.toString();
+      for (int i = 0; i < s.length(); i++) {
+        char c = s.charAt(i);
+        if (c == '"' || c == '\\') {
+          fieldBuffer.append('\\');
+        }
+        fieldBuffer.append(c);
+      }
+      fieldBuffer.append('"');
+    }
+  }
+
+  private static String escape(String s, boolean escapeEquals) {
+    StringBuilder sb = new StringBuilder(s.length() + 4);
+    appendEscaped(sb, s, escapeEquals);
+    return sb.toString();
+  }
+
+  private static void appendEscaped(StringBuilder sb, String s, boolean escapeEquals) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == ',' || c == ' ' || (escapeEquals && c == '=')) {
+        sb.append('\\');
+      }
+      sb.append(c);
+    }
+  }
+
+  /**
+   * Sends all buffered points with one request
+   *
+   * @throws SpRuntimeException If the points could not be written (they are discarded)
+   */
+  public synchronized void flush() throws SpRuntimeException {
+    if (bufferedPoints == 0 || influxDb == null) {
+      return;
+    }
+    int points = bufferedPoints;
+    long start = System.nanoTime();
+    try {
+      influxDb.write(databaseName, RETENTION_POLICY, InfluxDB.ConsistencyLevel.ONE, TimeUnit.MILLISECONDS,
+              buffer.toString());
+      recordFlush(points, System.nanoTime() - start);
+    } catch (RuntimeException e) {
+      failedPoints += points;
+      throw new SpRuntimeException("Could not write " + points + " points to InfluxDB: " + e.getMessage());
+    } finally {
+      buffer.setLength(0);
+      bufferedPoints = 0;
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (SpRuntimeException e) {
+      // the failure is counted in the metrics, the next batch is written anyway
+      flushErrorHandler.accept(e);
+    }
+  }
+
+  private void recordFlush(int points, long nanos) {
+    long now = System.currentTimeMillis();
+    if (flushedBatches == 0) {
+      firstFlushMillis = now;
+    }
+    lastFlushMillis = now;
+    writtenPoints += points;
+    flushedBatches++;
+    totalFlushNanos += nanos;
+    maxFlushNanos = Math.max(maxFlushNanos, nanos);
+  }
+
+  /**
+   * Writes the remaining points and shuts down the connection to the InfluxDB server
+   */
+  public void stop() throws SpRuntimeException {
+    if (flushScheduler != null) {
+      flushScheduler.shutdown();
+      flushScheduler = null;
+    }
+    try {
+      flush();
+    } finally {
+      if (influxDb != null) {
+        influxDb.close();
+        influxDb = null;
+      }
+    }
+  }
+
+  public synchronized long getWrittenPoints() {
+    return writtenPoints;
+  }
+
+  public synchronized long getFailedPoints() {
+    return failedPoints;
+  }
+
+  public synchronized long getFlushedBatches() {
+    return flushedBatches;
+  }
+
+  /**
+   * @return The average number of written points per second between the first and the last flush
+   */
+  public synchronized double getPointsPerSecond() {
+    long duration = lastFlushMillis - firstFlushMillis;
+    return duration <= 0 ? 0 : writtenPoints * 1000.0 / duration;
+  }
+
+  public synchronized double getAverageFlushLatencyMillis() {
+    return flushedBatches == 0 ? 0 : totalFlushNanos / 1e6 / flushedBatches;
+  }
+
+  public synchronized double getMaxFlushLatencyMillis() {
+    return maxFlushNanos / 1e6;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("%d points in %d batches written (%.1f points/s), %d points failed, "
+                    + "flush latency avg. %.2f ms / max. %.2f ms", writtenPoints, flushedBatches,
+            getPointsPerSecond(), failedPoints, getAverageFlushLatencyMillis(), getMaxFlushLatencyMillis());
+  }
+}
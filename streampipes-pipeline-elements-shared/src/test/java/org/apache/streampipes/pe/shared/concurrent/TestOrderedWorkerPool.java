@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.pe.shared.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestOrderedWorkerPool {
+
+  @Test
+  public void testResultsAreEmittedInSubmissionOrder() throws Exception {
+    List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+    OrderedWorkerPool<Integer> pool = new OrderedWorkerPool<>("test", 4, 8, results::add, e -> {
+    });
+    Random random = new Random(1);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      int value = i;
+      int delay = random.nextInt(3);
+      pool.submit(() -> {
+        Thread.sleep(delay);
+        return value;
+      });
+      expected.add(value);
+    }
+    pool.stop();
+
+    assertEquals(expected, results);
+  }
+
+  @Test
+  public void testSingleWorkerRunsOnCallingThread() throws Exception {
+    List<Thread> threads = new ArrayList<>();
+    OrderedWorkerPool<Thread> pool = new OrderedWorkerPool<>("test", 1, 1, threads::add, e -> {
+    });
+    pool.submit(Thread::currentThread);
+    pool.stop();
+
+    assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+  }
+
+  @Test
+  public void testSubmitBlocksWhileMaximumIsInFlight() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+    OrderedWorkerPool<Integer> pool = new OrderedWorkerPool<>("test", 2, 2, results::add, e -> {
+    });
+    pool.submit(() -> {
+      release.await();
+      return 0;
+    });
+    pool.submit(() -> 1);
+
+    CountDownLatch submitted = new CountDownLatch(1);
+    Thread submitter = new Thread(() -> {
+      try {
+        pool.submit(() -> 2);
+        submitted.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    submitter.start();
+
+    // the second result waits for the first one to be emitted, so both tasks are still in flight
+    assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+    release.countDown();
+    assertTrue(submitted.await(5, TimeUnit.SECONDS));
+    submitter.join();
+    pool.stop();
+
+    assertEquals(Arrays.asList(0, 1, 2), results);
+  }
+
+  @Test
+  public void testFailingTasksDoNotBlockLaterResults() throws Exception {
+    List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+    List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+    OrderedWorkerPool<Integer> pool = new OrderedWorkerPool<>("test", 2, 2, results::add, errors::add);
+    for (int i = 0; i < 20; i++) {
+      int value = i;
+      pool.submit(() -> {
+        if (value % 5 == 1) {
+          throw new IllegalStateException("task " + value);
+        } else if (value % 5 == 3) {
+          throw new AssertionError("task " + value);
+        }
+        return value % 5 == 4 ? null : value;
+      });
+    }
+    pool.stop();
+
+    assertEquals(Arrays.asList(0, 2, 5, 7, 10, 12, 15, 17), results);
+    assertEquals(8, errors.size());
+  }
+
+  @Test
+  public void testStopProcessesQueuedTasks() throws Exception {
+    AtomicBoolean done = new AtomicBoolean();
+    OrderedWorkerPool<Integer> pool = new OrderedWorkerPool<>("test", 2, 4, result -> done.set(true), e -> {
+    });
+    pool.submit(() -> {
+      Thread.sleep(100);
+      return 1;
+    });
+    pool.stop();
+
+    assertTrue(done.get());
+  }
+}
@@ -19,70 +19,84 @@
 package org.apache.streampipes.processors.aggregation.flink.processor.aggregation;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.flink.util.Collector;
+import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.sdk.helpers.EpProperties;
-import org.apache.streampipes.sdk.helpers.Labels;
 
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-public class Aggregation implements Serializable {
+/**
+ * Aggregates the fields of the events of a window incrementally: each event is added to the accumulator of the
+ * window when it arrives, so that a window firing only reads count, sum, min and max of each field. The most
+ * recent event of the window is emitted with the aggregated value of each field added.
+ */
+public class Aggregation implements AggregateFunction<Event, AggregationAccumulator, Event> {
 
   private AggregationType aggregationType;
-//  private String fieldToAggregate;
-  private List<String> fieldsToAggregate;
-  private List<String> keyIdentifiers;
+  private String[] fieldsToAggregate;
+  private String[] outputFields;
 
-  // Used for keyed streams
-  public Aggregation(AggregationType aggregationType, List<String> fieldsToAggregate, List<String> keyIdentifiers) {
+  public Aggregation(AggregationType aggregationType, List<String> fieldsToAggregate) {
     this.aggregationType = aggregationType;
-    this.fieldsToAggregate = fieldsToAggregate;
-    this.keyIdentifiers = keyIdentifiers;
+    this.fieldsToAggregate = fieldsToAggregate.toArray(new String[0]);
+    this.outputFields = new String[this.fieldsToAggregate.length];
+    for (int i = 0; i < this.fieldsToAggregate.length; i++) {
+      String propertyPrefix = StringUtils.substringAfterLast(this.fieldsToAggregate[i], ":");
+      this.outputFields[i] = propertyPrefix + "_" + aggregationType.toString().toLowerCase();
+    }
   }
 
-  // Used for not keyed streams
-  public Aggregation(AggregationType aggregationType, List<String> fieldsToAggregate) {
-    this.aggregationType = aggregationType;
-    this.fieldsToAggregate = fieldsToAggregate;
-    this.keyIdentifiers = null;
+  @Override
+  public AggregationAccumulator createAccumulator() {
+    return new AggregationAccumulator(fieldsToAggregate.length);
   }
 
+  @Override
+  public AggregationAccumulator add(Event event, AggregationAccumulator acc) {
+    for (int i = 0; i < fieldsToAggregate.length; i++) {
+      double value = event.getFieldBySelector(fieldsToAggregate[i]).getAsPrimitive().getAsDouble();
+      acc.sums[i] += value;
+      acc.mins[i] = Math.min(acc.mins[i], value);
+      acc.maxs[i] = Math.max(acc.maxs[i], value);
+    }
+    acc.count++;
+    acc.lastEvent = event;
+    return acc;
+  }
 
-  protected Double getAggregate(List<Double> values) {
+  @Override
+  public Event getResult(AggregationAccumulator acc) {
+    // the last event is part of the accumulator, which is emitted again on every firing of a (sliding) window
+    Event result = new Event();
+    acc.lastEvent.getFields().forEach((key, value) -> result.addField(value));
+    for (int i = 0; i < fieldsToAggregate.length; i++) {
+      result.addField(outputFields[i], getAggregate(acc, i));
+    }
+    return result;
+  }
+
+  protected Double getAggregate(AggregationAccumulator acc, int field) {
     if (aggregationType == AggregationType.AVG) {
-      return values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+      return acc.count == 0 ? 0 : acc.sums[field] / acc.count;
     } else if (aggregationType == AggregationType.MAX) {
-      return Collections.max(values);
+      return acc.maxs[field];
     } else if (aggregationType == AggregationType.MIN) {
-      return Collections.min(values);
+      return acc.mins[field];
     } else {
-      return values.stream().mapToDouble(Double::doubleValue).sum();
+      return acc.sums[field];
     }
   }
 
-  // Gets called every time a new event is fired, i.e. when an aggregation has to be calculated
-  protected void process(Iterable<Event> input, Collector<Event> out) {
-    List<Double> values = new ArrayList<>();
-    Event lastEvent = new Event();
-
-    // Adds the values of all recent events in input to aggregate them later
-    // Dumps thereby all previous events and only emits the most recent event in the window with the
-    // aggregated value added
-    for (Event anInput : input) {
-      for(String aggregate : fieldsToAggregate) {
-        values.add(anInput.getFieldBySelector(aggregate).getAsPrimitive().getAsDouble());
-        lastEvent = anInput;
-
-        String propertyPrefix = StringUtils.substringAfterLast(aggregate, ":");
-        String runtimeName = propertyPrefix + "_" + aggregationType.toString().toLowerCase();
-
-        lastEvent.addField(runtimeName, getAggregate(values));
-      }
+  @Override
+  public AggregationAccumulator merge(AggregationAccumulator a, AggregationAccumulator b) {
+    for (int i = 0; i < fieldsToAggregate.length; i++) {
+      a.sums[i] += b.sums[i];
+      a.mins[i] = Math.min(a.mins[i], b.mins[i]);
+      a.maxs[i] = Math.max(a.maxs[i], b.maxs[i]);
     }
-
-    out.collect(lastEvent);
+    a.count += b.count;
+    if (b.lastEvent != null) {
+      a.lastEvent = b.lastEvent;
+    }
+    return a;
   }
 }
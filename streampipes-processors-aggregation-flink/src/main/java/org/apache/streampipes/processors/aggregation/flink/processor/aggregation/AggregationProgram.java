@@ -25,12 +25,9 @@ import org.apache.flink.streaming.api.datastream.KeyedStream;
 import org.apache.flink.streaming.api.windowing.assigners.SlidingEventTimeWindows;
 import org.apache.flink.streaming.api.windowing.time.Time;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.CompositeKey;
 import org.apache.streampipes.processors.aggregation.flink.AbstractAggregationProgram;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 public class AggregationProgram extends AbstractAggregationProgram<AggregationParameters> {
 
   public AggregationProgram(AggregationParameters params, boolean debug) {
@@ -44,40 +41,57 @@ public class AggregationProgram extends AbstractAggregationProgram<AggregationPa
   }
 
   private DataStream<Event> getKeyedStream(DataStream<Event> dataStream) {
+    Aggregation aggregation = new Aggregation(bindingParams.getAggregationType(), bindingParams.getAggregateKeyList());
     if (bindingParams.getGroupBy().size() > 0) {
-      KeyedStream<Event, Map<String, String>> keyedStream = dataStream.keyBy(getKeySelector());
+      KeyedStream<Event, String> keyedStream = dataStream.keyBy(getKeySelector());
       if (bindingParams.getTimeWindow()) {
         return keyedStream
                 .window(SlidingEventTimeWindows.of(Time.seconds(bindingParams.getWindowSize()), Time.seconds(bindingParams.getOutputEvery())))
-                .apply(new TimeAggregation(bindingParams.getAggregationType(), bindingParams.getAggregateKeyList(), bindingParams.getGroupBy()));
+                .aggregate(aggregation);
+      } else if (isTumblingCountWindow()) {
+        return keyedStream
+                .countWindow(bindingParams.getWindowSize())
+                .aggregate(aggregation);
       } else {
         return keyedStream
                 .countWindow(bindingParams.getWindowSize(), bindingParams.getOutputEvery())
-                .apply(new CountAggregation(bindingParams.getAggregationType(), bindingParams.getAggregateKeyList(), bindingParams.getGroupBy()));
+                .aggregate(aggregation);
       }
     } else {
       if (bindingParams.getTimeWindow()) {
         return dataStream
                 .timeWindowAll(Time.seconds(bindingParams.getWindowSize()), Time.seconds(bindingParams.getOutputEvery()))
-                .apply(new TimeAggregation(bindingParams.getAggregationType(), bindingParams.getAggregateKeyList()));
+                .aggregate(aggregation);
+      } else if (isTumblingCountWindow()) {
+        return dataStream
+                .countWindowAll(bindingParams.getWindowSize())
+                .aggregate(aggregation);
       } else {
         return dataStream
                 .countWindowAll(bindingParams.getWindowSize(), bindingParams.getOutputEvery())
-                .apply(new CountAggregation(bindingParams.getAggregationType(), bindingParams.getAggregateKeyList()));
+                .aggregate(aggregation);
       }
     }
   }
 
-  private KeySelector<Event, Map<String, String>> getKeySelector() {
-    List<String> groupBy = bindingParams.getGroupBy();
-    return new KeySelector<Event, Map<String, String>>() {
+  /**
+   * Sliding count windows need an evictor, which makes Flink buffer the events of the window before aggregating
+   * them. Tumbling count windows are aggregated incrementally like time windows.
+   */
+  private boolean isTumblingCountWindow() {
+    return bindingParams.getOutputEvery() == bindingParams.getWindowSize();
+  }
+
+  /**
+   * Joins the values of all group by fields into a single string key, which Flink can hash and serialize
+   * without falling back to a generic type like a map.
+   */
+  private KeySelector<Event, String> getKeySelector() {
+    String[] groupBy = bindingParams.getGroupBy().toArray(new String[0]);
+    return new KeySelector<Event, String>() {
       @Override
-      public Map<String, String> getKey(Event event) throws Exception {
-        Map<String, String> keys = new HashMap<>();
-        for (String groupBy : groupBy) {
-          keys.put(groupBy, event.getFieldBySelector(groupBy).getAsPrimitive().getAsString());
-        }
-        return keys;
+      public String getKey(Event event) throws Exception {
+        return CompositeKey.of(groupBy, field -> event.getFieldBySelector(field).getAsPrimitive().getAsString());
       }
     };
   }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.aggregation.flink.processor.aggregation;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TestAggregation {
+
+  private static final double DELTA = 0.000001;
+  // the selectors of the test events have no stream prefix, so the output fields are only named by the aggregation
+  private static final String OUTPUT_PREFIX = "_";
+
+  @Test
+  public void testAverage() {
+    assertEquals(2.0, aggregate(AggregationType.AVG, 1.0, 2.0, 3.0), DELTA);
+  }
+
+  @Test
+  public void testSum() {
+    assertEquals(6.0, aggregate(AggregationType.SUM, 1.0, 2.0, 3.0), DELTA);
+  }
+
+  @Test
+  public void testMin() {
+    assertEquals(-1.0, aggregate(AggregationType.MIN, 2.0, -1.0, 3.0), DELTA);
+  }
+
+  @Test
+  public void testMax() {
+    assertEquals(3.0, aggregate(AggregationType.MAX, 2.0, 3.0, -1.0), DELTA);
+  }
+
+  @Test
+  public void testMerge() {
+    Aggregation aggregation = new Aggregation(AggregationType.AVG, Collections.singletonList("value"));
+    AggregationAccumulator first = aggregation.add(makeEvent(1.0, 1.0), aggregation.createAccumulator());
+    AggregationAccumulator second = aggregation.add(makeEvent(4.0, 4.0), aggregation.createAccumulator());
+    second = aggregation.add(makeEvent(7.0, 7.0), second);
+
+    Event result = aggregation.getResult(aggregation.merge(first, second));
+
+    assertEquals(4.0, result.getFieldBySelector(OUTPUT_PREFIX + "avg").getAsPrimitive().getAsDouble(), DELTA);
+  }
+
+  @Test
+  public void testLastEventIsEmitted() {
+    Aggregation aggregation = new Aggregation(AggregationType.MAX, Collections.singletonList("value"));
+    AggregationAccumulator acc = aggregation.createAccumulator();
+    acc = aggregation.add(makeEvent(5.0, 10.0), acc);
+    acc = aggregation.add(makeEvent(2.0, 20.0), acc);
+
+    Event result = aggregation.getResult(acc);
+
+    assertEquals(5.0, result.getFieldBySelector(OUTPUT_PREFIX + "max").getAsPrimitive().getAsDouble(), DELTA);
+    assertEquals(2.0, result.getFieldBySelector("value").getAsPrimitive().getAsDouble(), DELTA);
+    assertEquals(20.0, result.getFieldBySelector("other").getAsPrimitive().getAsDouble(), DELTA);
+  }
+
+  @Test
+  public void testResultDoesNotModifyAccumulator() {
+    Aggregation aggregation = new Aggregation(AggregationType.SUM, Collections.singletonList("value"));
+    AggregationAccumulator acc = aggregation.add(makeEvent(1.0, 10.0), aggregation.createAccumulator());
+
+    Event first = aggregation.getResult(acc);
+    acc = aggregation.add(makeEvent(2.0, 20.0), acc);
+    Event second = aggregation.getResult(acc);
+
+    assertFalse(acc.lastEvent.getRaw().containsKey(OUTPUT_PREFIX + "sum"));
+    assertEquals(1.0, first.getFieldBySelector(OUTPUT_PREFIX + "sum").getAsPrimitive().getAsDouble(), DELTA);
+    assertEquals(3.0, second.getFieldBySelector(OUTPUT_PREFIX + "sum").getAsPrimitive().getAsDouble(), DELTA);
+  }
+
+  private double aggregate(AggregationType type, Double... values) {
+    Aggregation aggregation = new Aggregation(type, Collections.singletonList("value"));
+    AggregationAccumulator acc = aggregation.createAccumulator();
+    for (Double value : values) {
+      acc = aggregation.add(makeEvent(value, value), acc);
+    }
+    String outputField = OUTPUT_PREFIX + type.toString().toLowerCase();
+    return aggregation.getResult(acc).getFieldBySelector(outputField).getAsPrimitive().getAsDouble();
+  }
+
+  private Event makeEvent(Double value, Double other) {
+    Event event = new Event();
+    event.addField("value", value);
+    event.addField("other", other);
+    return event;
+  }
+}
@@ -19,7 +19,9 @@
 package org.apache.streampipes.processors.changedetection.jvm.cusum;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.CompositeKey;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
@@ -27,66 +29,72 @@ import org.apache.streampipes.wrapper.runtime.EventProcessor;
 public class Cusum implements EventProcessor<CusumParameters> {
 
     private String selectedNumberMapping;
-    private Double k;
-    private Double h;
-    private Double cusumLow;
-    private Double cusumHigh;
-    private WelfordAggregate welfordAggregate;
+    private String[] groupBy;
+    private double k;
+    private double h;
+    private long idleTimeout;
+    private long nextEviction;
+    private CusumState state;
+    private Logger logger;
 
     @Override
     public void onInvocation(CusumParameters parameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
         this.selectedNumberMapping = parameters.getSelectedNumberMapping();
-        k = parameters.getParamK();
-        h = parameters.getParamH();
-        cusumLow = 0.0;
-        cusumHigh = 0.0;
-        welfordAggregate = new WelfordAggregate();
+        this.groupBy = parameters.getGroupBy().toArray(new String[0]);
+        this.k = parameters.getParamK();
+        this.h = parameters.getParamH();
+        this.idleTimeout = parameters.getIdleTimeout() * 60 * 1000L;
+        this.nextEviction = System.currentTimeMillis() + idleTimeout;
+        this.state = new CusumState();
+        this.logger = parameters.getGraph().getLogger(Cusum.class);
     }
 
     @Override
     public void onEvent(Event event, SpOutputCollector collector) throws SpRuntimeException {
-        Double number = event.getFieldBySelector(selectedNumberMapping).getAsPrimitive().getAsDouble();
-        welfordAggregate.update(number);  // update mean and standard deviation
-        Double normalized = getZScoreNormalizedValue(number);
-        updateStatistics(normalized);
+        double number = event.getFieldBySelector(selectedNumberMapping).getAsPrimitive().getAsDouble();
+        long now = System.currentTimeMillis();
+        if (idleTimeout > 0 && now >= nextEviction) {
+            evictIdleGroups(now);
+        }
 
+        int slot = state.slotOf(getGroupKey(event), now);
+        state.update(slot, number, k);  // update mean, standard deviation and cumulative sums
 
-        Boolean isChangeHigh = getTestResult(cusumHigh, h);
-        Boolean isChangeLow = getTestResult(cusumLow, h);
+        double cusumLow = state.getCusumLow(slot);
+        double cusumHigh = state.getCusumHigh(slot);
+        boolean isChangeHigh = getTestResult(cusumHigh, h);
+        boolean isChangeLow = getTestResult(cusumLow, h);
 
         Event updatedEvent = updateEvent(event, cusumLow, cusumHigh, isChangeLow, isChangeHigh);
         collector.collect(updatedEvent);
 
         if (isChangeHigh || isChangeLow) {
-            resetAfterChange();
+            state.reset(slot);
         }
     }
 
     @Override
     public void onDetach() throws SpRuntimeException {
-        cusumLow = 0.0;
-        cusumHigh = 0.0;
+        state.clear();
     }
 
-    private void resetAfterChange() {
-        cusumHigh = 0.0;
-        cusumLow = 0.0;
-        welfordAggregate = new WelfordAggregate();
+    private String getGroupKey(Event event) {
+        return CompositeKey.of(groupBy, field -> event.getFieldBySelector(field).getAsPrimitive().getAsString());
     }
 
-    private void updateStatistics(Double newValue) {
-        if (newValue.isNaN()) {
-            return;
+    private void evictIdleGroups(long now) {
+        int evicted = state.evictIdle(now - idleTimeout);
+        if (evicted > 0) {
+            logger.info("Removed " + evicted + " idle groups, " + state.size() + " groups remaining");
         }
-        cusumHigh = Math.max(0, cusumHigh + newValue - k);
-        cusumLow = Math.min(0, cusumLow + newValue + k);
+        nextEviction = now + idleTimeout;
     }
 
-    private Boolean getTestResult(Double cusum, Double h) {
+    private boolean getTestResult(double cusum, double h) {
         return Math.abs(cusum) > h;
     }
 
-    private Event updateEvent(Event event, Double cusumLow, Double cusumHigh, Boolean decisionLow, Boolean decisionHigh) {
+    private Event updateEvent(Event event, double cusumLow, double cusumHigh, boolean decisionLow, boolean decisionHigh) {
         event.addField(CusumEventFields.VAL_LOW, cusumLow);
         event.addField(CusumEventFields.VAL_HIGH, cusumHigh);
         event.addField(CusumEventFields.DECISION_LOW, decisionLow);
@@ -94,10 +102,4 @@ public class Cusum implements EventProcessor<CusumParameters> {
         return event;
     }
 
-    private Double getZScoreNormalizedValue(Double value) {
-        Double mean = welfordAggregate.getMean();
-        Double std = welfordAggregate.getSampleStd();
-        return (value - mean) / std;
-    }
-
 }
@@ -19,6 +19,7 @@
 package org.apache.streampipes.processors.changedetection.jvm.cusum;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
@@ -38,6 +39,8 @@ public class CusumController extends StandaloneEventProcessingDeclarer<CusumPara
     private static final String NUMBER_MAPPING = "number-mapping";
     private static final String PARAM_K = "param-k";
     private static final String PARAM_H = "param-h";
+    private static final String GROUP_BY = "group-by";
+    private static final String IDLE_TIMEOUT = "idle-timeout";
 
     @Override
     public DataProcessorDescription declareModel() {
@@ -50,8 +53,10 @@ public class CusumController extends StandaloneEventProcessingDeclarer<CusumPara
                         .requiredPropertyWithUnaryMapping(EpRequirements.numberReq(),
                                 Labels.withId(NUMBER_MAPPING),
                                 PropertyScope.NONE).build())
+                .naryMappingPropertyWithoutRequirement(Labels.withId(GROUP_BY), PropertyScope.DIMENSION_PROPERTY)
                 .requiredFloatParameter(Labels.withId(PARAM_K), 0.0f, 0.0f, 100.0f, 0.01f)
                 .requiredFloatParameter(Labels.withId(PARAM_H), 0.0f, 0.0f, 100.0f, 0.01f)
+                .requiredIntegerParameter(Labels.withId(IDLE_TIMEOUT), 60)
                 .outputStrategy(
                         OutputStrategies.append(
                                 Arrays.asList(
@@ -70,8 +75,10 @@ public class CusumController extends StandaloneEventProcessingDeclarer<CusumPara
         String selectedNumberField = extractor.mappingPropertyValue(NUMBER_MAPPING);
         Double paramK = extractor.singleValueParameter(PARAM_K, Double.class);
         Double paramH = extractor.singleValueParameter(PARAM_H, Double.class);
+        List<String> groupBy = extractor.mappingPropertyValues(GROUP_BY);
+        Integer idleTimeout = extractor.singleValueParameter(IDLE_TIMEOUT, Integer.class);
 
-        CusumParameters params = new CusumParameters(graph, selectedNumberField, paramK, paramH);
+        CusumParameters params = new CusumParameters(graph, selectedNumberField, paramK, paramH, groupBy, idleTimeout);
 
         return new ConfiguredEventProcessor<>(params, Cusum::new);
     }
@@ -21,17 +21,24 @@ package org.apache.streampipes.processors.changedetection.jvm.cusum;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
+import java.util.List;
+
 public class CusumParameters  extends EventProcessorBindingParams {
 
     private String selectedNumberMapping;
     private Double paramK;
     private Double paramH;
+    private List<String> groupBy;
+    private Integer idleTimeout;
 
-    public CusumParameters(DataProcessorInvocation graph, String selectedNumberMapping, Double paramK, Double paramH) {
+    public CusumParameters(DataProcessorInvocation graph, String selectedNumberMapping, Double paramK, Double paramH,
+                           List<String> groupBy, Integer idleTimeout) {
         super(graph);
         this.selectedNumberMapping = selectedNumberMapping;
         this.paramK = paramK;
         this.paramH = paramH;
+        this.groupBy = groupBy;
+        this.idleTimeout = idleTimeout;
     }
 
     public String getSelectedNumberMapping() { return selectedNumberMapping; }
@@ -41,4 +48,12 @@ public class CusumParameters  extends EventProcessorBindingParams {
     public Double getParamH() {
         return paramH;
     }
+
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public Integer getIdleTimeout() {
+        return idleTimeout;
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.changedetection.jvm.cusum;
+
+import java.util.Arrays;
+
+/**
+ * The Cusum state of all groups of a processor instance. The state of a group (count, mean and M2 of Welford's
+ * algorithm and the cumulative sums) is kept in primitive arrays, with the values of a group next to each other. The
+ * arrays are indexed by an open addressing hash table of the group keys with linear probing, so that no objects are
+ * created for an event of a known group.
+ */
+public class CusumState {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int MEAN = 0;
+    private static final int M2 = 1;
+    private static final int CUSUM_LOW = 2;
+    private static final int CUSUM_HIGH = 3;
+    private static final int STATISTICS = 4;
+
+    private static final int COUNT = 0;
+    private static final int LAST_SEEN = 1;
+    private static final int COUNTERS = 2;
+
+    private String[] keys;
+    private double[] statistics;
+    private long[] counters;
+
+    private int size;
+    private int mask;
+
+    public CusumState() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Finds the slot of a group and adds the group if it is not yet known. Slots are only valid until the next group
+     * is added or idle groups are evicted.
+     *
+     * @param key The key of the group
+     * @param now The current time (ms), which is stored as the last time the group was seen
+     * @return The slot of the group
+     */
+    public int slotOf(String key, long now) {
+        int slot = find(key);
+        if (keys[slot] == null) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2, Long.MIN_VALUE);
+                slot = find(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        counters[slot * COUNTERS + LAST_SEEN] = now;
+        return slot;
+    }
+
+    private int find(String key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Updates mean and standard deviation of the group with the value and adds its z-score to the cumulative sums
+     *
+     * @param slot  The slot of the group
+     * @param value The observed value
+     * @param k     The sensitivity parameter (in standard deviations)
+     */
+    public void update(int slot, double value, double k) {
+        long count = ++counters[slot * COUNTERS + COUNT];
+        int i = slot * STATISTICS;
+        double delta = value - statistics[i + MEAN];
+        double mean = statistics[i + MEAN] + delta / count;
+        double m2 = statistics[i + M2] + delta * (value - mean);
+        statistics[i + MEAN] = mean;
+        statistics[i + M2] = m2;
+
+        // the sample standard deviation of the first value is NaN, which leaves the cumulative sums unchanged
+        double normalized = (value - mean) / Math.sqrt(m2 / (count - 1));
+        if (!Double.isNaN(normalized)) {
+            statistics[i + CUSUM_HIGH] = Math.max(0, statistics[i + CUSUM_HIGH] + normalized - k);
+            statistics[i + CUSUM_LOW] = Math.min(0, statistics[i + CUSUM_LOW] + normalized + k);
+        }
+    }
+
+    /**
+     * Restarts the statistics of the group after a change was detected
+     */
+    public void reset(int slot) {
+        counters[slot * COUNTERS + COUNT] = 0;
+        Arrays.fill(statistics, slot * STATISTICS, (slot + 1) * STATISTICS, 0.0);
+    }
+
+    public double getCusumLow(int slot) {
+        return statistics[slot * STATISTICS + CUSUM_LOW];
+    }
+
+    public double getCusumHigh(int slot) {
+        return statistics[slot * STATISTICS + CUSUM_HIGH];
+    }
+
+    /**
+     * Removes the groups which were not seen since the given time
+     *
+     * @param lastSeenBefore The time (ms) before which a group must have been seen last to be removed
+     * @return The number of removed groups
+     */
+    public int evictIdle(long lastSeenBefore) {
+        int previousSize = size;
+        int remaining = countSeenSince(lastSeenBefore);
+        int capacity = keys.length;
+        // shrinks the table when most groups are gone
+        while (capacity > INITIAL_CAPACITY && remaining * 8 < capacity) {
+            capacity /= 2;
+        }
+        rehash(capacity, lastSeenBefore);
+        return previousSize - size;
+    }
+
+    private int countSeenSince(long time) {
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && counters[slot * COUNTERS + LAST_SEEN] >= time) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void rehash(int capacity, long lastSeenBefore) {
+        String[] oldKeys = keys;
+        double[] oldStatistics = statistics;
+        long[] oldCounters = counters;
+
+        allocate(capacity);
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldKeys[oldSlot] != null && oldCounters[oldSlot * COUNTERS + LAST_SEEN] >= lastSeenBefore) {
+                int slot = find(oldKeys[oldSlot]);
+                keys[slot] = oldKeys[oldSlot];
+                System.arraycopy(oldStatistics, oldSlot * STATISTICS, statistics, slot * STATISTICS, STATISTICS);
+                System.arraycopy(oldCounters, oldSlot * COUNTERS, counters, slot * COUNTERS, COUNTERS);
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        statistics = new double[capacity * STATISTICS];
+        counters = new long[capacity * COUNTERS];
+        size = 0;
+        mask = capacity - 1;
+    }
+
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -1,59 +0,0 @@
-/*
- * Licensed to the Apache Software Foundation (ASF) under one or more
- * contributor license agreements.  See the NOTICE file distributed with
- * this work for additional information regarding copyright ownership.
- * The ASF licenses this file to You under the Apache License, Version 2.0
- * (the "License"); you may not use this file except in compliance with
- * the License.  You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-
-package org.apache.streampipes.processors.changedetection.jvm.cusum;
-
-public class WelfordAggregate {
-    private Integer count;
-    private Double mean;
-    private Double m2;
-
-    public WelfordAggregate() {
-        count = 0;
-        mean = 0.0;
-        m2 = 0.0;
-    }
-
-    public void update(Double newValue) {
-        count++;
-        Double delta = mean != null ? newValue - mean : 0.0;
-        mean += delta / count;
-        Double delta2 = newValue - mean;
-        m2 += delta * delta2;
-    }
-
-    public Double getMean() {
-        return mean;
-    }
-
-    public Double getPopulationVariance() {
-        return m2 / count;
-    }
-
-    public Double getSampleVariance() {
-        return m2 / (count - 1);
-    }
-
-    public Double getSampleStd() {
-        return Math.sqrt(getSampleVariance());
-    }
-
-    public Double getPopulationStd() {
-        return Math.sqrt(getPopulationVariance());
-    }
-}
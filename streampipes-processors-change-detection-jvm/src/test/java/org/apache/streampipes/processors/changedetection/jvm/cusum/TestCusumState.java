@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.changedetection.jvm.cusum;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestCusumState {
+
+    private static final double K = 0.5;
+    private static final double H = 4.0;
+    private static final double DELTA = 1e-9;
+
+    /**
+     * The state of a single group, as computed before the state of all groups was kept in shared arrays
+     */
+    private static class ReferenceState {
+        private long count;
+        private double mean;
+        private double m2;
+        private double cusumLow;
+        private double cusumHigh;
+        private long lastSeen;
+
+        void update(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            double normalized = (value - mean) / Math.sqrt(m2 / (count - 1));
+            if (!Double.isNaN(normalized)) {
+                cusumHigh = Math.max(0, cusumHigh + normalized - K);
+                cusumLow = Math.min(0, cusumLow + normalized + K);
+            }
+        }
+    }
+
+    @Test
+    public void testStateMatchesReferenceAcrossRehashes() {
+        CusumState state = new CusumState();
+        Map<String, ReferenceState> reference = new HashMap<>();
+        Random random = new Random(1);
+
+        // the number of groups grows over time, so that the table is rehashed several times
+        for (int i = 0; i < 50000; i++) {
+            String key = "group" + random.nextInt(1 + i / 20);
+            process(state, reference, key, random.nextGaussian() + (random.nextInt(50) == 0 ? 5 : 0), i);
+        }
+
+        assertEquals(reference.size(), state.size());
+        assertTrue(state.size() > 1000);
+    }
+
+    @Test
+    public void testIdleGroupsAreEvicted() {
+        CusumState state = new CusumState();
+        Map<String, ReferenceState> reference = new HashMap<>();
+        Random random = new Random(2);
+        long now = 0;
+
+        for (int round = 0; round < 20; round++) {
+            // few groups are active in some rounds, so that the table also shrinks
+            int groups = round % 3 == 0 ? 2000 : 10;
+            for (int i = 0; i < 5000; i++) {
+                now++;
+                String key = "group" + random.nextInt(groups);
+                process(state, reference, key, random.nextGaussian(), now);
+            }
+
+            long lastSeenBefore = now - 1000;
+            int expectedEvicted = 0;
+            for (ReferenceState group : reference.values()) {
+                if (group.lastSeen < lastSeenBefore) {
+                    expectedEvicted++;
+                }
+            }
+            reference.values().removeIf(group -> group.lastSeen < lastSeenBefore);
+
+            assertEquals(expectedEvicted, state.evictIdle(lastSeenBefore));
+            assertEquals(reference.size(), state.size());
+        }
+    }
+
+    @Test
+    public void testStateContinuesAfterShrinking() {
+        CusumState state = new CusumState();
+        Map<String, ReferenceState> reference = new HashMap<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 10000; i++) {
+            process(state, reference, "group" + i, random.nextGaussian(), 0);
+        }
+        for (int i = 0; i < 3; i++) {
+            process(state, reference, "group" + i, random.nextGaussian(), 1);
+        }
+        reference.values().removeIf(group -> group.lastSeen < 1);
+
+        assertEquals(9997, state.evictIdle(1));
+        assertEquals(3, state.size());
+        for (int i = 0; i < 1000; i++) {
+            process(state, reference, "group" + random.nextInt(3), random.nextGaussian() * 2, 2);
+        }
+        // an evicted group starts with a new state
+        process(state, reference, "group5", 1.0, 2);
+        assertEquals(0.0, state.getCusumHigh(state.slotOf("group5", 2)), DELTA);
+        assertEquals(4, state.size());
+    }
+
+    @Test
+    public void testClearRemovesAllGroups() {
+        CusumState state = new CusumState();
+        for (int i = 0; i < 100; i++) {
+            state.update(state.slotOf("group" + i, i), i, K);
+        }
+        state.clear();
+
+        assertEquals(0, state.size());
+        int slot = state.slotOf("group1", 0);
+        state.update(slot, 1.0, K);
+        assertEquals(0.0, state.getCusumLow(slot), DELTA);
+        assertEquals(0.0, state.getCusumHigh(slot), DELTA);
+    }
+
+    /**
+     * Updates the group in both states, resets it after a change as the processor does and compares the sums
+     */
+    private void process(CusumState state, Map<String, ReferenceState> reference, String key, double value,
+                         long now) {
+        int slot = state.slotOf(key, now);
+        state.update(slot, value, K);
+        ReferenceState expected = reference.computeIfAbsent(key, k -> new ReferenceState());
+        expected.update(value);
+        expected.lastSeen = now;
+
+        assertEquals(key, expected.cusumLow, state.getCusumLow(slot), DELTA);
+        assertEquals(key, expected.cusumHigh, state.getCusumHigh(slot), DELTA);
+        if (Math.abs(expected.cusumLow) > H || Math.abs(expected.cusumHigh) > H) {
+            state.reset(slot);
+            reference.put(key, new ReferenceState());
+            reference.get(key).lastSeen = now;
+        }
+        assertEquals(reference.size(), state.size());
+    }
+}
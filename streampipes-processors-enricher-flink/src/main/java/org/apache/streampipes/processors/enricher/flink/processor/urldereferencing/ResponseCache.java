@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.flink.processor.urldereferencing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the responses of URLs, which expire after a fixed time. The cache holds the pending requests as
+ * well, so that concurrent events with the same URL share a single request. Failed requests are not cached.
+ */
+public class ResponseCache {
+
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    private long hits;
+    private long misses;
+
+    public ResponseCache(int maxEntries, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached (or pending) response of the URL or starts a new request with the loader
+     *
+     * @param url    The URL
+     * @param loader Starts the request of a URL
+     * @return The future of the response body
+     */
+    public CompletableFuture<String> get(String url, Function<String, CompletableFuture<String>> loader) {
+        long now = System.currentTimeMillis();
+        CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(url);
+            if (entry != null && entry.expires > now) {
+                hits++;
+                return entry.response;
+            }
+            misses++;
+            entry = new CacheEntry(new CompletableFuture<>(), now + ttlMillis);
+            entries.put(url, entry);
+        }
+
+        CacheEntry newEntry = entry;
+        loader.apply(url).whenComplete((body, t) -> {
+            if (t != null) {
+                invalidate(url, newEntry);
+                newEntry.response.completeExceptionally(t);
+            } else {
+                newEntry.response.complete(body);
+            }
+        });
+        return newEntry.response;
+    }
+
+    private synchronized void invalidate(String url, CacheEntry entry) {
+        if (entries.get(url) == entry) {
+            entries.remove(url);
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static class CacheEntry {
+        private final CompletableFuture<String> response;
+        private final long expires;
+
+        private CacheEntry(CompletableFuture<String> response, long expires) {
+            this.response = response;
+            this.expires = expires;
+        }
+    }
+}
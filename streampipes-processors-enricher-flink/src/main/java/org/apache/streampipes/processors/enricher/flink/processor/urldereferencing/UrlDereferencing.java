@@ -18,42 +18,157 @@
 
 package org.apache.streampipes.processors.enricher.flink.processor.urldereferencing;
 
-import org.apache.flink.api.common.functions.FlatMapFunction;
-import org.apache.flink.util.Collector;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.client.fluent.Response;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.apache.streampipes.logging.api.Logger;
-import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.runtime.Event;
 
-public class UrlDereferencing implements FlatMapFunction<Event, Event> {
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appends the content of the URL of each event. Requests are executed on a pool of {@code concurrency} threads
+ * sharing one pooled HTTP client, so that up to {@code concurrency} requests per parallel instance are in flight
+ * while the operator keeps processing events. Responses are cached per URL for a configurable time.
+ */
+public class UrlDereferencing extends RichAsyncFunction<Event, Event> {
+
+    private static final int MAX_CACHED_RESPONSES = 1000;
 
     private String urlString;
     private String appendHtml;
+    private int concurrency;
+    private int timeoutMillis;
+    private long cacheTtlMillis;
+    private int maxBodyBytes;
     private Logger logger;
 
-    public UrlDereferencing(String urlString, String appendHtml, DataProcessorInvocation graph) {
-        this.urlString = urlString;
-        this.appendHtml = appendHtml;
-        this.logger = graph.getLogger(UrlDereferencing.class);
+    private transient CloseableHttpClient httpClient;
+    private transient ExecutorService executor;
+    private transient ResponseCache cache;
+
+    public UrlDereferencing(UrlDereferencingParameter params) {
+        this.urlString = params.getUrl();
+        this.appendHtml = params.getAppendHtml();
+        this.concurrency = params.getConcurrency();
+        this.timeoutMillis = params.getTimeoutMillis();
+        this.cacheTtlMillis = params.getCacheTtlMillis();
+        this.maxBodyBytes = params.getMaxBodyBytes();
+        this.logger = params.getGraph().getLogger(UrlDereferencing.class);
+    }
+
+    @Override
+    public void open(Configuration parameters) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(timeoutMillis)
+                .setConnectionRequestTimeout(timeoutMillis)
+                .setSocketTimeout(timeoutMillis)
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setDefaultRequestConfig(requestConfig)
+                .setMaxConnTotal(concurrency)
+                .setMaxConnPerRoute(concurrency)
+                .build();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "url-dereferencing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new ResponseCache(MAX_CACHED_RESPONSES, cacheTtlMillis);
+    }
+
+    @Override
+    public void asyncInvoke(Event in, ResultFuture<Event> resultFuture) {
+        String url = in.getFieldBySelector(urlString).getAsPrimitive().getAsString();
+
+        cache.get(url, this::fetch).whenComplete((body, t) -> {
+            if (t != null) {
+                logger.error("Error while fetching data from URL: " + url);
+                in.addField(appendHtml, "Error while fetching data from URL: " + url);
+            } else {
+                in.addField(appendHtml, body);
+            }
+            resultFuture.complete(Collections.singleton(in));
+        });
     }
 
     @Override
-    public void flatMap(Event in, Collector<Event> out) throws Exception {
-        Response response;
-
-        try {
-            response = Request.Get(
-                        in.getFieldBySelector(urlString).getAsPrimitive().getAsString()
-                    ).execute();
-            String body = response.returnContent().asString();
-
-            in.addField(appendHtml, body);
-        } catch (Exception e) {
-            logger.error("Error while fetching data from URL: " + urlString);
-            in.addField(appendHtml, "Error while fetching data from URL: " + urlString);
+    public void timeout(Event in, ResultFuture<Event> resultFuture) {
+        String url = in.getFieldBySelector(urlString).getAsPrimitive().getAsString();
+        logger.error("Timeout while fetching data from URL: " + url);
+        in.addField(appendHtml, "Error while fetching data from URL: " + url);
+        resultFuture.complete(Collections.singleton(in));
+    }
+
+    private CompletableFuture<String> fetch(String url) {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        executor.execute(() -> {
+            try (CloseableHttpResponse httpResponse = httpClient.execute(new HttpGet(url))) {
+                // like Response.returnContent, error responses fail the request, so that they are not cached
+                int statusCode = httpResponse.getStatusLine().getStatusCode();
+                if (statusCode < 200 || statusCode >= 300) {
+                    throw new HttpResponseException(statusCode, httpResponse.getStatusLine().getReasonPhrase());
+                }
+                response.complete(readBody(httpResponse.getEntity()));
+            } catch (IOException | RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Reads the body of the response up to the configured maximum size
+     */
+    private String readBody(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return "";
         }
+        ContentType contentType = ContentType.get(entity);
+        Charset charset = contentType != null && contentType.getCharset() != null ? contentType.getCharset() :
+                StandardCharsets.UTF_8;
 
-        out.collect(in);
+        // the stream is not closed here: closing it would consume the rest of a truncated body, while closing the
+        // response discards the connection instead
+        InputStream content = entity.getContent();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while (body.size() < maxBodyBytes
+                && (read = content.read(buffer, 0, Math.min(buffer.length, maxBodyBytes - body.size()))) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return new String(body.toByteArray(), charset);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (cache != null) {
+            logger.info("URL dereferencing cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses");
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (httpClient != null) {
+            httpClient.close();
+        }
     }
 }
@@ -36,6 +36,10 @@ public class UrlDereferencingController extends FlinkDataProcessorDeclarer<UrlDe
 
     private final String APPEND_HTML = "appendHtml";
     private final String URL = "url";
+    private final String CONCURRENCY = "concurrency";
+    private final String TIMEOUT = "timeout";
+    private final String CACHE_TTL = "cacheTtl";
+    private final String MAX_BODY_SIZE = "maxBodySize";
 
     @Override
     public DataProcessorDescription declareModel() {
@@ -52,6 +56,10 @@ public class UrlDereferencingController extends FlinkDataProcessorDeclarer<UrlDe
                 .outputStrategy(
                         OutputStrategies.append(
                                 EpProperties.stringEp(Labels.empty(), APPEND_HTML, SO.Text)))
+                .requiredIntegerParameter(Labels.withId(CONCURRENCY), 10)
+                .requiredIntegerParameter(Labels.withId(TIMEOUT), 5000)
+                .requiredIntegerParameter(Labels.withId(CACHE_TTL), 60)
+                .requiredIntegerParameter(Labels.withId(MAX_BODY_SIZE), 1024)
                 .build();
     }
 
@@ -59,16 +67,14 @@ public class UrlDereferencingController extends FlinkDataProcessorDeclarer<UrlDe
     @Override
     public FlinkDataProcessorRuntime<UrlDereferencingParameter> getRuntime(DataProcessorInvocation graph, ProcessingElementParameterExtractor extractor) {
         String urlString = extractor.mappingPropertyValue(URL);
+        Integer concurrency = extractor.singleValueParameter(CONCURRENCY, Integer.class);
+        Integer timeout = extractor.singleValueParameter(TIMEOUT, Integer.class);
+        Integer cacheTtl = extractor.singleValueParameter(CACHE_TTL, Integer.class);
+        Integer maxBodySize = extractor.singleValueParameter(MAX_BODY_SIZE, Integer.class);
 
-//        java.net.URL url = null;
-/*        try {
-             url = new URL(urlString);
-        } catch (MalformedURLException e) {
-            logger.error("Malformed URL:" + urlString);
-            throw new IllegalArgumentException("Malformed URL:" + urlString);
-        }
-*/
-        UrlDereferencingParameter staticParam = new UrlDereferencingParameter(graph, urlString, APPEND_HTML);
+        UrlDereferencingParameter staticParam = new UrlDereferencingParameter(graph, urlString, APPEND_HTML,
+                Math.max(1, concurrency), Math.max(1, timeout), Math.max(0, cacheTtl) * 1000L,
+                Math.max(1, maxBodySize) * 1024);
 
         return  new UrlDereferencingProgram(staticParam, EnricherFlinkConfig.INSTANCE.getDebug());
     }
@@ -25,11 +25,20 @@ public class UrlDereferencingParameter extends EventProcessorBindingParams {
 
     private String urlString;
     private String appendHtml;
+    private int concurrency;
+    private int timeoutMillis;
+    private long cacheTtlMillis;
+    private int maxBodyBytes;
 
-    public UrlDereferencingParameter(DataProcessorInvocation graph, String urlString, String appendHtml) {
+    public UrlDereferencingParameter(DataProcessorInvocation graph, String urlString, String appendHtml,
+                                     int concurrency, int timeoutMillis, long cacheTtlMillis, int maxBodyBytes) {
         super(graph);
         this.urlString = urlString;
         this.appendHtml = appendHtml;
+        this.concurrency = concurrency;
+        this.timeoutMillis = timeoutMillis;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.maxBodyBytes = maxBodyBytes;
     }
 
     public String getUrl() {
@@ -39,4 +48,20 @@ public class UrlDereferencingParameter extends EventProcessorBindingParams {
     public String getAppendHtml() {
         return appendHtml;
     }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
 }
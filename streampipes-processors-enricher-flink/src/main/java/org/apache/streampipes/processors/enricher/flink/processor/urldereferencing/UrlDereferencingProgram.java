@@ -18,20 +18,33 @@
 
 package org.apache.streampipes.processors.enricher.flink.processor.urldereferencing;
 
+import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.enricher.flink.AbstractEnricherProgram;
 
+import java.util.concurrent.TimeUnit;
+
 public class UrlDereferencingProgram extends AbstractEnricherProgram<UrlDereferencingParameter> {
 
+    /**
+     * Additional time the operator waits for a request after the HTTP timeout before the event is completed with
+     * an error
+     */
+    private static final long TIMEOUT_MARGIN_MILLIS = 1000;
+
     public UrlDereferencingProgram(UrlDereferencingParameter params, boolean debug) {
         super(params, debug);
     }
 
     @Override
     protected DataStream<Event> getApplicationLogic(DataStream<Event>... dataStreams) {
-        return dataStreams[0]
-                .flatMap(new UrlDereferencing(params.getUrl(), params.getAppendHtml(), params.getGraph()));
+        // events are emitted as soon as their response is available, so the order of the events can change
+        return AsyncDataStream.unorderedWait(dataStreams[0],
+                new UrlDereferencing(params),
+                params.getTimeoutMillis() + TIMEOUT_MARGIN_MILLIS,
+                TimeUnit.MILLISECONDS,
+                params.getConcurrency());
     }
 
 }
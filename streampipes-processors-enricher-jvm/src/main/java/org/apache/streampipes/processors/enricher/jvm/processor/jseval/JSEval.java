@@ -25,52 +25,33 @@ import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
 import java.util.HashMap;
 import java.util.Map;
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 
 public class JSEval implements EventProcessor<JSEvalParameters> {
-    private static final String ENGINE_NAME = "JavaScript";
-    private ScriptEngine engine;
-    private String code;
+    private ScriptRuntime runtime;
 
     @Override
     public void onInvocation(JSEvalParameters parameters, SpOutputCollector spOutputCollector,
                              EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
-        ScriptEngineManager factory = new ScriptEngineManager();
-        engine = factory.getEngineByName(ENGINE_NAME);
-        code = parameters.getCode();
-        try {
-            engine.eval(code);
-        } catch (ScriptException e) {
-            throw new SpRuntimeException("Error in script: " + e.getMessage());
-        }
+        runtime = ScriptRuntimePool.INSTANCE.borrow(parameters.getCode());
     }
 
     @Override
     public void onEvent(Event event, SpOutputCollector outputCollector) throws SpRuntimeException {
-        // create new event with input event's source info and schema info.
-        Event outEvent = new Event(new HashMap<>(), event.getSourceInfo(), event.getSchemaInfo());
-        try {
-            final Map<String, Object> eventData = event.getRaw();
-            Object result = ((Invocable) engine).invokeFunction("process", eventData);
-            if (result != null) {
-                Map<String, Object> output = (Map<String, Object>) result;
-                output.forEach(outEvent::addField);
-                outputCollector.collect(outEvent);
-            }
-        } catch (ScriptException e) {
-            throw new SpRuntimeException("Error in script: " + e.getMessage());
-        } catch (ClassCastException e) {
-            throw new SpRuntimeException("`process` method must return a map with new event data.");
-        } catch (NoSuchMethodException e) {
-            throw new SpRuntimeException("`process(event){ return {}; };` method not found in script: " + code);
+        // the script reads the fields of the event lazily, the event is only converted to a map when it is iterated
+        Map<String, Object> output = runtime.process(new LazyEventMap(event));
+        if (output != null) {
+            // create new event with input event's source info and schema info.
+            Event outEvent = new Event(new HashMap<>(), event.getSourceInfo(), event.getSchemaInfo());
+            output.forEach(outEvent::addField);
+            outputCollector.collect(outEvent);
         }
     }
 
     @Override
     public void onDetach() {
-        // do nothing.
+        if (runtime != null) {
+            ScriptRuntimePool.INSTANCE.release(runtime);
+            runtime = null;
+        }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.util.Map;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+/**
+ * Executes a JavaScript function with a JSR-223 script engine: GraalJS if it is on the classpath, Nashorn otherwise.
+ * The script is compiled once, and the {@code process} function is bound to a Java interface, so that an event is
+ * passed to the function without looking up the function by name. Each reset evaluates the script in new global
+ * bindings, so no global variable of an earlier run is visible to the script.
+ */
+public class Jsr223ScriptRuntime implements ScriptRuntime {
+
+    private static final String[] ENGINE_NAMES = {"graal.js", "nashorn", "JavaScript"};
+    private static final String GRAAL_ENGINE_NAME = "graal.js";
+
+    /**
+     * The Java view of the {@code process} function of the script
+     */
+    public interface ProcessFunction {
+        Object process(Map<String, Object> event);
+    }
+
+    private final String code;
+    private final ScriptEngine engine;
+    private final boolean graal;
+    private final CompiledScript compiledScript;
+    private ProcessFunction function;
+
+    public Jsr223ScriptRuntime(String code) throws SpRuntimeException {
+        this.code = code;
+        this.engine = findEngine();
+        this.graal = engine.getFactory().getNames().contains(GRAAL_ENGINE_NAME);
+        try {
+            this.compiledScript = engine instanceof Compilable ? ((Compilable) engine).compile(code) : null;
+        } catch (ScriptException e) {
+            throw new SpRuntimeException("Error in script: " + e.getMessage());
+        }
+        reset();
+    }
+
+    @Override
+    public void reset() throws SpRuntimeException {
+        Bindings bindings = engine.createBindings();
+        if (graal) {
+            // allows the script to read the fields of the event map like Nashorn does
+            bindings.put("polyglot.js.allowHostAccess", true);
+        }
+        engine.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        try {
+            if (compiledScript != null) {
+                compiledScript.eval(bindings);
+            } else {
+                engine.eval(code, bindings);
+            }
+        } catch (ScriptException e) {
+            throw new SpRuntimeException("Error in script: " + e.getMessage());
+        }
+        this.function = ((Invocable) engine).getInterface(ProcessFunction.class);
+        if (this.function == null) {
+            throw new SpRuntimeException("`process(event){ return {}; };` method not found in script: " + code);
+        }
+    }
+
+    private static ScriptEngine findEngine() throws SpRuntimeException {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        for (String name : ENGINE_NAMES) {
+            ScriptEngine engine = manager.getEngineByName(name);
+            if (engine instanceof Invocable) {
+                return engine;
+            }
+        }
+        throw new SpRuntimeException("No JavaScript engine available");
+    }
+
+    @Override
+    public Map<String, Object> process(Map<String, Object> event) throws SpRuntimeException {
+        Object result;
+        try {
+            result = function.process(event);
+        } catch (RuntimeException e) {
+            throw new SpRuntimeException("Error in script: " + e.getMessage());
+        }
+        if (result == null) {
+            return null;
+        }
+        if (!(result instanceof Map)) {
+            throw new SpRuntimeException("`process` method must return a map with new event data.");
+        }
+        return (Map<String, Object>) result;
+    }
+
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String getEngineName() {
+        return engine.getFactory().getEngineName();
+    }
+}
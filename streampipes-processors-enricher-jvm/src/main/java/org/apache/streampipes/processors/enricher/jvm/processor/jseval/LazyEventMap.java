@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only map view of an event for scripts. Reading a field converts only this field, the whole event is only
+ * converted when the script iterates over the fields.
+ */
+public class LazyEventMap extends AbstractMap<String, Object> {
+
+    private final Event event;
+    private Map<String, Object> raw;
+
+    public LazyEventMap(Event event) {
+        this.event = event;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (raw == null && key instanceof String) {
+            try {
+                AbstractField field = event.getFieldByRuntimeName((String) key);
+                if (field != null) {
+                    return field.getRawValue();
+                }
+            } catch (RuntimeException e) {
+                // unknown field name, falls back to the converted event
+            }
+        }
+        return materialize().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null || materialize().containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    private Map<String, Object> materialize() {
+        if (raw == null) {
+            raw = event.getRaw();
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.util.Map;
+
+/**
+ * A compiled script with a {@code process(event)} function, which is called for each event. A runtime is used by a
+ * single thread at a time.
+ */
+public interface ScriptRuntime {
+
+    /**
+     * @param event The fields of the event
+     * @return The fields of the output event or null if no event should be emitted
+     * @throws SpRuntimeException When the script fails or does not return a map
+     */
+    Map<String, Object> process(Map<String, Object> event) throws SpRuntimeException;
+
+    /**
+     * Evaluates the script again in new global bindings, so that global variables of the script are initialized as in
+     * a new runtime
+     *
+     * @throws SpRuntimeException When the script fails
+     */
+    void reset() throws SpRuntimeException;
+
+    /**
+     * @return The source code of the script
+     */
+    String getCode();
+
+    /**
+     * @return The name of the script engine executing the script
+     */
+    String getEngineName();
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps compiled scripts of stopped processors, so that further instances of a pipeline element with the same script
+ * (parallel instances or restarted pipelines) do not have to create a script engine and compile the script again.
+ * Each instance borrows its own runtime, since script engines must not be used by several threads. A borrowed
+ * runtime is reset, so that no state of a previous pipeline is visible to the script.
+ */
+public class ScriptRuntimePool {
+
+    private static final int MAX_IDLE_PER_SCRIPT = 4;
+    private static final int MAX_SCRIPTS = 16;
+
+    public static final ScriptRuntimePool INSTANCE = new ScriptRuntimePool();
+
+    private final Map<String, Deque<ScriptRuntime>> idleRuntimes = new HashMap<>();
+
+    /**
+     * @return An idle runtime of the script or a newly compiled one
+     * @throws SpRuntimeException When the script cannot be compiled
+     */
+    public ScriptRuntime borrow(String code) throws SpRuntimeException {
+        ScriptRuntime runtime = null;
+        synchronized (idleRuntimes) {
+            Deque<ScriptRuntime> idle = idleRuntimes.get(code);
+            if (idle != null && !idle.isEmpty()) {
+                runtime = idle.pop();
+            }
+        }
+        if (runtime == null) {
+            return new Jsr223ScriptRuntime(code);
+        }
+        runtime.reset();
+        return runtime;
+    }
+
+    /**
+     * Returns a runtime which is no longer used
+     */
+    public void release(ScriptRuntime runtime) {
+        synchronized (idleRuntimes) {
+            Deque<ScriptRuntime> idle = idleRuntimes.get(runtime.getCode());
+            if (idle == null) {
+                if (idleRuntimes.size() >= MAX_SCRIPTS) {
+                    return;
+                }
+                idle = new ArrayDeque<>();
+                idleRuntimes.put(runtime.getCode(), idle);
+            }
+            if (idle.size() < MAX_IDLE_PER_SCRIPT) {
+                idle.push(runtime);
+            }
+        }
+    }
+}
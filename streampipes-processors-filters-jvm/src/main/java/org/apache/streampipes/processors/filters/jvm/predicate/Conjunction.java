@@ -16,8 +16,12 @@
  *
  */
 
-package org.apache.streampipes.processors.filters.jvm.processor.numericaltextfilter;
+package org.apache.streampipes.processors.filters.jvm.predicate;
 
-public enum StringOperator {
-	CONTAINS, MATCHES
+/**
+ * How the conditions of a filter are combined
+ */
+public enum Conjunction {
+  // all conditions (allOf), any condition (anyOf)
+  AND, OR
 }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.predicate;
+
+import org.apache.streampipes.model.runtime.Event;
+
+import java.util.List;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the filter conditions of a processor once in onInvocation, so that onEvent only evaluates a specialized
+ * predicate instead of comparing the configured operator for every event. Conditions on several fields can be
+ * combined with {@link FilterPredicates#allOf(List)} and {@link FilterPredicates#anyOf(List)}.
+ */
+public final class FilterPredicates {
+
+  /**
+   * The tolerance of the equality operators (EQ, IE)
+   */
+  public static final double EPSILON = 0.000001;
+
+  private FilterPredicates() {
+
+  }
+
+  /**
+   * @param operator  The numerical operator
+   * @param threshold The value the field is compared with
+   */
+  public static DoublePredicate numerical(NumericalOperator operator, double threshold) {
+    return operator.toPredicate(threshold);
+  }
+
+  /**
+   * @param operator The string operator
+   * @param keyword  The keyword the field is compared with
+   */
+  public static Predicate<String> text(StringOperator operator, String keyword) {
+    return operator.toPredicate(keyword);
+  }
+
+  /**
+   * Applies the predicate to the primitive double value of the field
+   */
+  public static Predicate<Event> numericalField(String selector, DoublePredicate predicate) {
+    return event -> predicate.test(event.getFieldBySelector(selector).getAsPrimitive().getAsDouble());
+  }
+
+  public static Predicate<Event> textField(String selector, Predicate<String> predicate) {
+    return event -> predicate.test(event.getFieldBySelector(selector).getAsPrimitive().getAsString());
+  }
+
+  /**
+   * @return A predicate which is satisfied if all conditions are satisfied, evaluated in the given order
+   */
+  public static Predicate<Event> allOf(List<Predicate<Event>> conditions) {
+    if (conditions.size() == 1) {
+      return conditions.get(0);
+    } else if (conditions.size() == 2) {
+      Predicate<Event> first = conditions.get(0);
+      Predicate<Event> second = conditions.get(1);
+      return event -> first.test(event) && second.test(event);
+    }
+    Predicate<Event>[] predicates = toArray(conditions);
+    return event -> {
+      for (Predicate<Event> predicate : predicates) {
+        if (!predicate.test(event)) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
+  /**
+   * @return A predicate which is satisfied if any condition is satisfied, evaluated in the given order
+   */
+  public static Predicate<Event> anyOf(List<Predicate<Event>> conditions) {
+    if (conditions.size() == 1) {
+      return conditions.get(0);
+    } else if (conditions.size() == 2) {
+      Predicate<Event> first = conditions.get(0);
+      Predicate<Event> second = conditions.get(1);
+      return event -> first.test(event) || second.test(event);
+    }
+    Predicate<Event>[] predicates = toArray(conditions);
+    return event -> {
+      for (Predicate<Event> predicate : predicates) {
+        if (predicate.test(event)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * @return A predicate which combines the conditions with the given conjunction
+   */
+  public static Predicate<Event> combine(Conjunction conjunction, List<Predicate<Event>> conditions) {
+    return conjunction == Conjunction.OR ? anyOf(conditions) : allOf(conditions);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Predicate<Event>[] toArray(List<Predicate<Event>> conditions) {
+    return conditions.toArray(new Predicate[0]);
+  }
+}
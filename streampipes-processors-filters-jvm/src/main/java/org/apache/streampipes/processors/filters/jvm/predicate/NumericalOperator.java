@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.predicate;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * The numerical operators of the filter processors. Each operator compiles its comparison with a threshold, so that
+ * an operator without a comparison does not compile.
+ */
+public enum NumericalOperator {
+  // Greater/Equal, Greater than, Less/Equal, Less than, Equal, Inequal
+  GE {
+    @Override
+    DoublePredicate toPredicate(double threshold) {
+      return value -> value >= threshold;
+    }
+  },
+  GT {
+    @Override
+    DoublePredicate toPredicate(double threshold) {
+      return value -> value > threshold;
+    }
+  },
+  LE {
+    @Override
+    DoublePredicate toPredicate(double threshold) {
+      return value -> value <= threshold;
+    }
+  },
+  LT {
+    @Override
+    DoublePredicate toPredicate(double threshold) {
+      return value -> value < threshold;
+    }
+  },
+  EQ {
+    @Override
+    DoublePredicate toPredicate(double threshold) {
+      return value -> Math.abs(value - threshold) < FilterPredicates.EPSILON;
+    }
+  },
+  IE {
+    @Override
+    DoublePredicate toPredicate(double threshold) {
+      return value -> Math.abs(value - threshold) > FilterPredicates.EPSILON;
+    }
+  };
+
+  abstract DoublePredicate toPredicate(double threshold);
+}
@@ -16,8 +16,26 @@
  *
  */
 
-package org.apache.streampipes.processors.filters.jvm.processor.textfilter;
+package org.apache.streampipes.processors.filters.jvm.predicate;
 
+import java.util.function.Predicate;
+
+/**
+ * The text operators of the filter processors
+ */
 public enum StringOperator {
-	CONTAINS, MATCHES
+  CONTAINS {
+    @Override
+    Predicate<String> toPredicate(String keyword) {
+      return value -> value.contains(keyword);
+    }
+  },
+  MATCHES {
+    @Override
+    Predicate<String> toPredicate(String keyword) {
+      return keyword::equals;
+    }
+  };
+
+  abstract Predicate<String> toPredicate(String keyword);
 }
@@ -18,8 +18,10 @@
 package org.apache.streampipes.processors.filters.jvm.processor.limit;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.filters.jvm.processor.limit.util.WindowFactory;
+import org.apache.streampipes.processors.filters.jvm.processor.limit.util.WindowScheduler;
 import org.apache.streampipes.processors.filters.jvm.processor.limit.window.Window;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
@@ -34,11 +36,12 @@ public class RateLimit implements EventProcessor<RateLimitParameters> {
     private String groupingField;
     private ConcurrentMap<Object, Window> windows;
     private WindowFactory factory;
+    private WindowScheduler scheduler;
 
     @Override
     public void onInvocation(RateLimitParameters parameters,
                              SpOutputCollector outputCollector,
-                             EventProcessorRuntimeContext runtimeContext) {
+                             EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
         this.groupingEnabled = parameters.getGroupingEnabled();
         this.groupingField = parameters.getGroupingField();
         this.windows = new ConcurrentHashMap<>();
@@ -47,22 +50,49 @@ public class RateLimit implements EventProcessor<RateLimitParameters> {
                 parameters.getWindowExpression(),
                 parameters.getEventSelection(),
                 outputCollector);
+        this.scheduler = factory.createScheduler();
+        if (this.scheduler != null) {
+            Logger logger = parameters.getGraph().getLogger(RateLimit.class);
+            this.scheduler.start(this::onTrigger, logger);
+        }
     }
 
     @Override
     public void onEvent(Event event, SpOutputCollector spOutputCollector) throws SpRuntimeException {
         Object group = groupingEnabled ? getGroupKey(event) : DEFAULT_GROUP;
-        Window window = windows.get(group);
-        if (window == null) {
-            window = factory.create();
-            window.init();
-            windows.put(group, window);
+        // compute() excludes a concurrent eviction of the window by the scheduler thread
+        windows.compute(group, (key, window) -> {
+            if (window == null) {
+                window = factory.create();
+                window.init();
+            }
+            window.onEvent(event);
+            return window;
+        });
+    }
+
+    /**
+     * Triggers all windows and removes the windows of groups which did not receive events for a while, so that the
+     * number of windows is bounded by the number of active groups.
+     */
+    private void onTrigger() {
+        for (Object group : windows.keySet()) {
+            windows.computeIfPresent(group, (key, window) -> {
+                window.onTrigger();
+                if (window.isIdle()) {
+                    window.destroy();
+                    return null;
+                }
+                return window;
+            });
         }
-        window.onEvent(event);
     }
 
     @Override
     public void onDetach() throws SpRuntimeException {
+        if (this.scheduler != null) {
+            this.scheduler.stop();
+        }
         for (Window window : this.windows.values()) {
             window.destroy();
         }
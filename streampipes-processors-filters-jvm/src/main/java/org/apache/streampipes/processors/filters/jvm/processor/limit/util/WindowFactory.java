@@ -17,9 +17,9 @@
  */
 package org.apache.streampipes.processors.filters.jvm.processor.limit.util;
 
-import org.apache.streampipes.processors.filters.jvm.processor.limit.window.CronWindow;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.processors.filters.jvm.processor.limit.window.LengthWindow;
-import org.apache.streampipes.processors.filters.jvm.processor.limit.window.TimeWindow;
+import org.apache.streampipes.processors.filters.jvm.processor.limit.window.ScheduleWindow;
 import org.apache.streampipes.processors.filters.jvm.processor.limit.window.Window;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 
@@ -40,12 +40,24 @@ public class WindowFactory {
     }
 
     public Window create() {
-        if (WindowType.TIME == windowType) {
-            return new TimeWindow((Integer) windowExpression, eventSelection, outputCollector);
+        if (WindowType.TIME == windowType || WindowType.CRON == windowType) {
+            return new ScheduleWindow(eventSelection, outputCollector);
         } else if (WindowType.LENGTH == windowType) {
             return new LengthWindow((Integer) windowExpression, eventSelection, outputCollector);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the scheduler which triggers all windows of the processor, or null for windows which are not
+     * triggered by time.
+     */
+    public WindowScheduler createScheduler() throws SpRuntimeException {
+        if (WindowType.TIME == windowType) {
+            return WindowScheduler.fixedRate((Integer) windowExpression);
         } else if (WindowType.CRON == windowType) {
-            return new CronWindow((String) windowExpression, eventSelection, outputCollector);
+            return WindowScheduler.cron((String) windowExpression);
         } else {
             return null;
         }
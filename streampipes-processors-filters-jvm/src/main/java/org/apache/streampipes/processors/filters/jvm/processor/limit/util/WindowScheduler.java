@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.filters.jvm.processor.limit.util;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Triggers all schedule windows of one processor instance from a single timer thread, independent of the number
+ * of windows (i.e. groups).
+ */
+public abstract class WindowScheduler {
+
+    private ScheduledExecutorService executor;
+
+    public static WindowScheduler fixedRate(int intervalInMilliseconds) {
+        return new WindowScheduler() {
+            @Override
+            void schedule(Runnable trigger) {
+                getExecutor().scheduleAtFixedRate(trigger, intervalInMilliseconds, intervalInMilliseconds,
+                        TimeUnit.MILLISECONDS);
+            }
+        };
+    }
+
+    public static WindowScheduler cron(String cronExpression) throws SpRuntimeException {
+        CronExpression expression;
+        try {
+            expression = new CronExpression(cronExpression);
+        } catch (ParseException e) {
+            throw new SpRuntimeException("Invalid cron expression '" + cronExpression + "'.", e);
+        }
+        return new WindowScheduler() {
+            @Override
+            void schedule(Runnable trigger) {
+                Date next = expression.getNextValidTimeAfter(new Date());
+                if (next != null && !getExecutor().isShutdown()) {
+                    getExecutor().schedule(() -> {
+                        try {
+                            trigger.run();
+                        } finally {
+                            schedule(trigger);
+                        }
+                    }, next.getTime() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        };
+    }
+
+    abstract void schedule(Runnable trigger);
+
+    ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Starts to trigger the windows. A failing trigger is logged and does not cancel the following triggers.
+     */
+    public void start(Runnable trigger, Logger logger) {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-window-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule(() -> {
+            try {
+                trigger.run();
+            } catch (RuntimeException e) {
+                logger.error("Could not trigger the rate limit windows: " + e.getMessage());
+            }
+        });
+    }
+
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
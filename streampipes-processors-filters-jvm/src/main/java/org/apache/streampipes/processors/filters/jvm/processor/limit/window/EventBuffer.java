@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.filters.jvm.processor.limit.window;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+
+import java.util.Arrays;
+
+/**
+ * The events of a window with selection ALL, stored in an array which is reused for every window.
+ */
+class EventBuffer {
+
+    private Event[] events;
+    private final int capacity;
+    private int size = 0;
+
+    /**
+     * @param initialCapacity The number of preallocated slots
+     * @param capacity        The maximum number of events
+     */
+    EventBuffer(int initialCapacity, int capacity) {
+        this.events = new Event[Math.min(initialCapacity, capacity)];
+        this.capacity = capacity;
+    }
+
+    void add(Event event) {
+        if (size == events.length) {
+            events = Arrays.copyOf(events, Math.min(capacity, events.length * 2));
+        }
+        events[size++] = event;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Emits all events in the order they were added and clears the buffer
+     */
+    void emitAll(SpOutputCollector outputCollector) {
+        for (int i = 0; i < size; i++) {
+            outputCollector.collect(events[i]);
+        }
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(events, 0, size, null);
+        size = 0;
+    }
+}
@@ -21,14 +21,22 @@ import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.filters.jvm.processor.limit.util.EventSelection;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Emits the selected events of every {@code windowSize} events. FIRST and LAST only count the events of the window,
+ * ALL buffers them in a preallocated array.
+ */
 public class LengthWindow implements Window {
+
+    /**
+     * The maximum number of buffered events with selection ALL. Larger windows are emitted in chunks of this size.
+     */
+    static final int MAX_BUFFERED_EVENTS = 10000;
+
     private Integer windowSize;
     private EventSelection eventSelection;
     private SpOutputCollector outputCollector;
-    private List<Event> events;
+    private EventBuffer events;
+    private int count = 0;
 
     public LengthWindow(Integer windowSize,
                         EventSelection eventSelection,
@@ -36,7 +44,10 @@ public class LengthWindow implements Window {
         this.windowSize = windowSize;
         this.eventSelection = eventSelection;
         this.outputCollector = outputCollector;
-        this.events = new ArrayList<>();
+        if (eventSelection == EventSelection.ALL) {
+            int capacity = Math.min(windowSize, MAX_BUFFERED_EVENTS);
+            this.events = new EventBuffer(capacity, capacity);
+        }
     }
 
     @Override
@@ -46,28 +57,46 @@ public class LengthWindow implements Window {
 
     @Override
     public void onEvent(Event event) {
-        events.add(event);
+        count++;
+        switch (eventSelection) {
+            case FIRST:
+                if (count == 1) {
+                    emit(event);
+                }
+                break;
+            case LAST:
+                if (count == windowSize) {
+                    emit(event);
+                }
+                break;
+            case ALL:
+                events.add(event);
+                if (events.isFull() || count == windowSize) {
+                    events.emitAll(outputCollector);
+                }
+                break;
+        }
         onTrigger();
     }
 
+    @Override
+    public boolean isIdle() {
+        // length windows are not triggered by time
+        return false;
+    }
+
     @Override
     public void destroy() {
-        events.clear();
+        count = 0;
+        if (events != null) {
+            events.clear();
+        }
     }
 
     @Override
     public void onTrigger() {
-        if (events.size() == 1) {
-            if (eventSelection == EventSelection.FIRST) {
-                emit(events.get(0));
-            }
-        } else if (events.size() == windowSize) {
-            if (eventSelection == EventSelection.LAST) {
-                emit(events.get(windowSize - 1));
-            } else if (eventSelection == EventSelection.ALL) {
-                events.forEach(this::emit);
-            }
-            events.clear();
+        if (count >= windowSize) {
+            count = 0;
         }
     }
 
@@ -17,98 +17,118 @@
  */
 package org.apache.streampipes.processors.filters.jvm.processor.limit.window;
 
-import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.filters.jvm.processor.limit.util.EventSelection;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
-import org.quartz.JobDetail;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.impl.StdSchedulerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
 
-public abstract class ScheduleWindow implements Window {
+/**
+ * A window which is emitted by the {@link org.apache.streampipes.processors.filters.jvm.processor.limit.util.WindowScheduler}
+ * of the processor. Events arrive on the processing thread while the trigger runs on the scheduler thread, so both
+ * are synchronized.
+ * Only the state required by the event selection is kept: a single slot for FIRST and LAST, a buffer for ALL.
+ */
+public class ScheduleWindow implements Window {
+
+    /**
+     * The maximum number of buffered events with selection ALL. A full window is emitted before the trigger fires.
+     */
+    static final int MAX_BUFFERED_EVENTS = 10000;
+
+    /**
+     * The number of slots allocated up front with selection ALL
+     */
+    private static final int INITIAL_BUFFER_SIZE = 16;
+
+    /**
+     * The number of consecutive triggers without events after which the window is considered idle
+     */
+    static final int MAX_IDLE_TRIGGERS = 3;
+
     private EventSelection eventSelection;
     private SpOutputCollector outputCollector;
-    private List<Event> events;
-    private Scheduler scheduler;
-    private static int schedulerCount = 0;
+    private Event selectedEvent;
+    private EventBuffer events;
+    private int idleTriggers = 0;
 
-    ScheduleWindow(EventSelection eventSelection,
-                   SpOutputCollector outputCollector) {
+    public ScheduleWindow(EventSelection eventSelection,
+                          SpOutputCollector outputCollector) {
         this.eventSelection = eventSelection;
         this.outputCollector = outputCollector;
-        this.events = new ArrayList<>();
+        if (eventSelection == EventSelection.ALL) {
+            this.events = new EventBuffer(INITIAL_BUFFER_SIZE, MAX_BUFFERED_EVENTS);
+        }
     }
 
-    abstract JobDetail getJob();
-
-    abstract Trigger getTrigger();
-
     @Override
-    public void init() throws SpRuntimeException {
-        try {
-            scheduler = new StdSchedulerFactory(getSchedulerProps()).getScheduler();
-            scheduler.start();
-            scheduler.scheduleJob(getJob(), getTrigger());
-        } catch (SchedulerException e) {
-            throw new SpRuntimeException("Unable to initialize time window scheduler.", e);
-        }
+    public void init() {
+        // the window is triggered by the shared scheduler of the processor.
     }
 
     @Override
-    public void onEvent(Event event) {
-        events.add(event);
+    public synchronized void onEvent(Event event) {
+        idleTriggers = 0;
+        add(event);
     }
 
     @Override
-    public void onTrigger() {
-        if (!events.isEmpty()) {
-            switch (eventSelection) {
-                case FIRST:
-                    emit(events.get(0));
-                    break;
-                case LAST:
-                    emit(events.get(events.size() - 1));
-                    break;
-                case ALL:
-                    events.forEach(this::emit);
-                    break;
-            }
-            events.clear();
+    public synchronized void onEvents(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        idleTriggers = 0;
+        if (eventSelection == EventSelection.FIRST) {
+            add(events.get(0));
+        } else if (eventSelection == EventSelection.LAST) {
+            add(events.get(events.size() - 1));
+        } else {
+            events.forEach(this::add);
+        }
+    }
+
+    private void add(Event event) {
+        switch (eventSelection) {
+            case FIRST:
+                if (selectedEvent == null) {
+                    selectedEvent = event;
+                }
+                break;
+            case LAST:
+                selectedEvent = event;
+                break;
+            case ALL:
+                if (events.isFull()) {
+                    events.emitAll(outputCollector);
+                }
+                events.add(event);
+                break;
         }
     }
 
     @Override
-    public void destroy() throws SpRuntimeException {
-        events.clear();
-        if (scheduler != null) {
-            try {
-                scheduler.clear();
-                scheduler.shutdown();
-                scheduler = null;
-            } catch (SchedulerException e) {
-                throw new SpRuntimeException("Unable to shutdown time window scheduler.", e);
-            }
+    public synchronized void onTrigger() {
+        if (selectedEvent != null) {
+            outputCollector.collect(selectedEvent);
+            selectedEvent = null;
+        } else if (events != null && !events.isEmpty()) {
+            events.emitAll(outputCollector);
+        } else {
+            idleTriggers++;
         }
     }
 
-    private void emit(Event e) {
-        outputCollector.collect(e);
+    @Override
+    public synchronized boolean isIdle() {
+        return idleTriggers >= MAX_IDLE_TRIGGERS;
     }
 
-    private Properties getSchedulerProps() {
-        Properties properties = new Properties();
-        properties.setProperty("org.quartz.scheduler.instanceName", "WindowSchedulerName:" + (++schedulerCount));
-        properties.setProperty("org.quartz.scheduler.instanceId", "WindowSchedulerID:" + schedulerCount);
-        properties.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
-        properties.setProperty("org.quartz.threadPool.threadCount", "3");
-        properties.setProperty("org.quartz.threadPool.threadPriority", "5");
-        return properties;
+    @Override
+    public synchronized void destroy() {
+        selectedEvent = null;
+        if (events != null) {
+            events.clear();
+        }
     }
 
 }
@@ -17,17 +17,31 @@
  */
 package org.apache.streampipes.processors.filters.jvm.processor.limit.window;
 
-import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
 
+import java.util.List;
+
 public interface Window {
 
-    void init() throws SpRuntimeException;
+    void init();
+
+    void onEvent(Event event);
 
-    void onEvent(Event event) throws SpRuntimeException;
+    /**
+     * Adds several events at once, in the order of the list
+     */
+    default void onEvents(List<Event> events) {
+        events.forEach(this::onEvent);
+    }
 
     void onTrigger();
 
-    void destroy() throws SpRuntimeException;
+    /**
+     * @return true if the window has not received events for a while and can be removed until the next event of its
+     * group arrives
+     */
+    boolean isIdle();
+
+    void destroy();
 
 }
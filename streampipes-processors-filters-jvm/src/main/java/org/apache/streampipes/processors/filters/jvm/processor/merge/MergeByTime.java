@@ -54,46 +54,36 @@ public class MergeByTime implements EventProcessor<MergeByTimeParameters> {
   @Override
   public void onEvent(Event event, SpOutputCollector spOutputCollector) {
     String streamId = event.getSourceInfo().getSelectorPrefix();
-
-    // Decide to which buffer the event should be added
-    if ("s0".equals(streamId)) {
-      this.streamBufferS0.add(event);
+    boolean isStream0 = "s0".equals(streamId);
+
+    // Decide to which buffer the event belongs and which buffer holds the candidates
+    StreamBuffer ownBuffer = isStream0 ? this.streamBufferS0 : this.streamBufferS1;
+    StreamBuffer otherBuffer = isStream0 ? this.streamBufferS1 : this.streamBufferS0;
+    long timestamp = ownBuffer.getTimestamp(event);
+
+    // The first buffered event of the other stream within the time interval is the matching event
+    int candidate = otherBuffer.firstAfter(timestamp - timeInterval);
+    if (candidate < otherBuffer.getLength() && otherBuffer.getTimestampAt(candidate) < timestamp + timeInterval) {
+      Event match = otherBuffer.get(candidate);
+      long matchTimestamp = otherBuffer.getTimestampAt(candidate);
+
+      spOutputCollector.collect(isStream0 ? mergeEvents(event, match) : mergeEvents(match, event));
+      otherBuffer.removeOldEvents(matchTimestamp);
+      ownBuffer.removeOldEvents(timestamp);
     } else {
-      this.streamBufferS1.add(event);
+      ownBuffer.add(event, timestamp);
     }
 
-    // Calculate matching events between data streams
-    for (Event e0 : this.streamBufferS0.getList()) {
-      long time0 = e0.getFieldBySelector(timestampFieldStream0).getAsPrimitive().getAsLong();
-      for (Event e1 : this.streamBufferS1.getList()) {
-        long time1 = e1.getFieldBySelector(timestampFieldStream1).getAsPrimitive().getAsLong();
-
-        if (time0 + timeInterval > time1 && time1 > time0 - timeInterval) {
-          Event resultingEvent = mergeEvents(e0, e1);
-          spOutputCollector.collect(resultingEvent);
-          this.streamBufferS0.removeOldEvents(time0);
-          this.streamBufferS1.removeOldEvents(time1);
-        }
-      }
-    }
+    // Evict events which cannot match anymore since the other stream has passed them by more than the interval
+    evict(this.streamBufferS0, this.streamBufferS1);
+    evict(this.streamBufferS1, this.streamBufferS0);
+  }
 
-    // Clean up buffer if events do not match to avoid buffer overflow
-    if (this.streamBufferS0.getLength() > 0 && this.streamBufferS1.getLength() > 0) {
-      Event e0 = this.streamBufferS0.get(0);
-      Event e1 = this.streamBufferS1.get(0);
-
-      long time0 = e0.getFieldBySelector(this.timestampFieldStream0).getAsPrimitive().getAsLong();
-      long time1 = e1.getFieldBySelector(this.timestampFieldStream1).getAsPrimitive().getAsLong();
-
-      if (time0 > time1) {
-        this.streamBufferS0.removeOldEvents(time0);
-        this.streamBufferS1.removeOldEvents(time0);
-      } else {
-        this.streamBufferS0.removeOldEvents(time1);
-        this.streamBufferS1.removeOldEvents(time1);
-      }
+  private void evict(StreamBuffer buffer, StreamBuffer otherBuffer) {
+    long watermark = otherBuffer.getMaxTimestamp();
+    if (watermark != Long.MIN_VALUE && buffer.getLength() > 0) {
+      buffer.removeOldEvents(watermark - timeInterval);
     }
-
   }
 
   @Override
@@ -15,51 +15,134 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.processors.filters.jvm.processor.merge;
 
 import org.apache.streampipes.model.runtime.Event;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * Buffers the events of one stream ordered by their timestamp. The timestamps are extracted once when an event is
+ * added and kept in a primitive ring buffer next to the events, so that matching candidates are found with a binary
+ * search and old events are evicted from the head of the buffer without touching the events themselves.
+ */
 public class StreamBuffer {
-    private String timestampProperty;
-    private List<Event> buffer;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String timestampProperty;
+
+    private long[] timestamps;
+    private Event[] events;
+    private int head;
+    private int size;
+    private long maxTimestamp = Long.MIN_VALUE;
 
     public StreamBuffer(String timestampProperty) {
-        buffer = new LinkedList<>();
         this.timestampProperty = timestampProperty;
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.events = new Event[INITIAL_CAPACITY];
     }
 
-    public void add(Event event) {
-        buffer.add(event);
+    /**
+     * Extracts the timestamp of the event
+     */
+    public long getTimestamp(Event event) {
+        return event.getFieldBySelector(timestampProperty).getAsPrimitive().getAsLong();
     }
 
-    public int getLength(){
-        return buffer.size();
+    /**
+     * Inserts the event at the position of its timestamp. Since events mostly arrive in order, the position is
+     * searched from the tail of the buffer.
+     */
+    public void add(Event event, long timestamp) {
+        if (size == timestamps.length) {
+            grow();
+        }
+        int i = size;
+        while (i > 0 && timestamps[index(i - 1)] > timestamp) {
+            timestamps[index(i)] = timestamps[index(i - 1)];
+            events[index(i)] = events[index(i - 1)];
+            i--;
+        }
+        timestamps[index(i)] = timestamp;
+        events[index(i)] = event;
+        size++;
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
     }
 
-    public List<Event> getList() {
-        return this.buffer;
+    /**
+     * @return The position of the first event with a timestamp greater than the given timestamp
+     */
+    public int firstAfter(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[index(mid)] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
-    public Event get(int i) {
-        return this.buffer.get(i);
+    /**
+     * Removes all events with a timestamp less than or equal to the given timestamp
+     */
+    public void removeOldEvents(long timestamp) {
+        removeFirst(firstAfter(timestamp));
     }
 
-    public void removeOldEvents(long timestamp) {
-        Iterator itr = this.buffer.iterator();
-        while (itr.hasNext())
-        {
-            Event e = (Event) itr.next();
-            if (e.getFieldBySelector(timestampProperty).getAsPrimitive().getAsLong() <= timestamp)
-                itr.remove();
+    private void removeFirst(int count) {
+        for (int i = 0; i < count; i++) {
+            events[index(i)] = null;
         }
+        head = index(count);
+        size -= count;
+    }
+
+    private void grow() {
+        long[] newTimestamps = new long[timestamps.length * 2];
+        Event[] newEvents = new Event[events.length * 2];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestamps[index(i)];
+            newEvents[i] = events[index(i)];
+        }
+        timestamps = newTimestamps;
+        events = newEvents;
+        head = 0;
+    }
+
+    private int index(int position) {
+        // the capacity is always a power of two
+        return (head + position) & (timestamps.length - 1);
+    }
+
+    public int getLength() {
+        return size;
+    }
+
+    public Event get(int position) {
+        return events[index(position)];
+    }
+
+    public long getTimestampAt(int position) {
+        return timestamps[index(position)];
+    }
+
+    /**
+     * @return The largest timestamp added so far (the watermark of the stream)
+     */
+    public long getMaxTimestamp() {
+        return maxTimestamp;
     }
 
     public void reset() {
-        this.buffer = new LinkedList<>();
+        Arrays.fill(events, null);
+        head = 0;
+        size = 0;
+        maxTimestamp = Long.MIN_VALUE;
     }
 }
@@ -19,6 +19,7 @@
 package org.apache.streampipes.processors.filters.jvm.processor.numericalfilter;
 
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.processors.filters.jvm.predicate.NumericalOperator;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
 public class NumericalFilterParameters extends EventProcessorBindingParams {
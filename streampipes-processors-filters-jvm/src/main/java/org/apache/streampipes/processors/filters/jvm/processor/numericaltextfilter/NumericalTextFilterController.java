@@ -24,6 +24,9 @@ import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.schema.PropertyScope;
 import org.apache.streampipes.model.staticproperty.Option;
+import org.apache.streampipes.processors.filters.jvm.predicate.Conjunction;
+import org.apache.streampipes.processors.filters.jvm.predicate.NumericalOperator;
+import org.apache.streampipes.processors.filters.jvm.predicate.StringOperator;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
 import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
@@ -45,6 +48,8 @@ public class NumericalTextFilterController extends StandaloneEventProcessingDecl
   private static final String TEXT_MAPPING = "text-mapping";
   private static final String TEXT_OPERATION = "text-operation";
   private static final String TEXT_KEYWORD = "text-keyword";
+  // combination of both conditions
+  private static final String CONJUNCTION = "conjunction";
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -66,6 +71,7 @@ public class NumericalTextFilterController extends StandaloneEventProcessingDecl
             .requiredSingleValueSelection(Labels.withId(TEXT_OPERATION), Options.from("MATCHES",
                     "CONTAINS"))
             .requiredTextParameter(Labels.withId(TEXT_KEYWORD), "text")
+            .requiredSingleValueSelection(Labels.withId(CONJUNCTION), Options.from("AND", "OR"))
             .outputStrategy(OutputStrategies.keep())
             .build();
 
@@ -85,6 +91,8 @@ public class NumericalTextFilterController extends StandaloneEventProcessingDecl
     String textKeyword = extractor.singleValueParameter(TEXT_KEYWORD, String.class);
     String textOperation = extractor.selectedSingleValue(TEXT_OPERATION, String.class);
 
+    String conjunction = extractor.selectedSingleValue(CONJUNCTION, String.class);
+
     String numOperation = "GT";
 
     if (numberOperation.equals("<=")) {
@@ -107,7 +115,8 @@ public class NumericalTextFilterController extends StandaloneEventProcessingDecl
             numberProperty,
             textKeyword,
             StringOperator.valueOf(textOperation),
-            textProperty);
+            textProperty,
+            Conjunction.valueOf(conjunction));
 
     return new ConfiguredEventProcessor<>(staticParam, NumericalTextFilter::new);
   }
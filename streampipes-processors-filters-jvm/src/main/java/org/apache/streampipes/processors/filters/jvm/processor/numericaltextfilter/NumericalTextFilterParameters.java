@@ -19,6 +19,9 @@
 package org.apache.streampipes.processors.filters.jvm.processor.numericaltextfilter;
 
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.processors.filters.jvm.predicate.Conjunction;
+import org.apache.streampipes.processors.filters.jvm.predicate.NumericalOperator;
+import org.apache.streampipes.processors.filters.jvm.predicate.StringOperator;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
 public class NumericalTextFilterParameters extends EventProcessorBindingParams {
@@ -29,9 +32,11 @@ public class NumericalTextFilterParameters extends EventProcessorBindingParams {
   private String textKeyword;
   private StringOperator textOperator;
   private String textProperty;
+  private Conjunction conjunction;
 
   public NumericalTextFilterParameters(DataProcessorInvocation graph, Double numberThreshold, NumericalOperator
-          NumericalOperator, String numberProperty, String textKeyword, StringOperator textOperator, String textProperty) {
+          NumericalOperator, String numberProperty, String textKeyword, StringOperator textOperator, String textProperty,
+          Conjunction conjunction) {
     super(graph);
     this.numberThreshold = numberThreshold;
     this.numericalOperator = NumericalOperator;
@@ -39,6 +44,7 @@ public class NumericalTextFilterParameters extends EventProcessorBindingParams {
     this.textKeyword = textKeyword;
     this.textOperator = textOperator;
     this.textProperty = textProperty;
+    this.conjunction = conjunction;
   }
 
   public double getNumberThreshold() {
@@ -64,4 +70,8 @@ public class NumericalTextFilterParameters extends EventProcessorBindingParams {
   public String getTextProperty() {
     return textProperty;
   }
+
+  public Conjunction getConjunction() {
+    return conjunction;
+  }
 }
@@ -19,33 +19,26 @@
 package org.apache.streampipes.processors.filters.jvm.processor.textfilter;
 
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.filters.jvm.predicate.FilterPredicates;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
+import java.util.function.Predicate;
+
 public class TextFilter implements EventProcessor<TextFilterParameters> {
 
-  private TextFilterParameters params;
+  private Predicate<Event> filter;
 
   @Override
   public void onInvocation(TextFilterParameters textFilterParameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
-    this.params = textFilterParameters;
+    this.filter = FilterPredicates.textField(textFilterParameters.getFilterProperty(),
+            FilterPredicates.text(textFilterParameters.getStringOperator(), textFilterParameters.getKeyword()));
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector out) {
-    Boolean satisfiesFilter = false;
-    String value = event.getFieldBySelector(params.getFilterProperty())
-            .getAsPrimitive()
-            .getAsString();
-
-    if (params.getStringOperator() == StringOperator.MATCHES) {
-      satisfiesFilter = (value.equals(params.getKeyword()));
-    } else if (params.getStringOperator() == StringOperator.CONTAINS) {
-      satisfiesFilter = (value.contains(params.getKeyword()));
-    }
-
-    if (satisfiesFilter) {
+    if (filter.test(event)) {
       out.collect(event);
     }
   }
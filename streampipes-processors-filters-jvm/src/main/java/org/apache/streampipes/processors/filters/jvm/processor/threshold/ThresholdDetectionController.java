@@ -22,6 +22,7 @@ import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.processors.filters.jvm.predicate.NumericalOperator;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
 import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
@@ -84,7 +85,7 @@ public class ThresholdDetectionController extends StandaloneEventProcessingDecla
 
     ThresholdDetectionParameters staticParam = new ThresholdDetectionParameters(sepa,
             threshold,
-            ThresholdDetectionOperator.valueOf(operation),
+            NumericalOperator.valueOf(operation),
             filterProperty);
 
     return new ConfiguredEventProcessor<>(staticParam, ThresholdDetection::new);
@@ -19,15 +19,16 @@
 package org.apache.streampipes.processors.filters.jvm.processor.threshold;
 
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.processors.filters.jvm.predicate.NumericalOperator;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
 public class ThresholdDetectionParameters extends EventProcessorBindingParams {
 
   private double threshold;
-  private ThresholdDetectionOperator numericalOperator;
+  private NumericalOperator numericalOperator;
   private String filterProperty;
 
-  public ThresholdDetectionParameters(DataProcessorInvocation graph, Double threshold, ThresholdDetectionOperator
+  public ThresholdDetectionParameters(DataProcessorInvocation graph, Double threshold, NumericalOperator
           numericalOperator, String filterProperty) {
     super(graph);
     this.threshold = threshold;
@@ -39,7 +40,7 @@ public class ThresholdDetectionParameters extends EventProcessorBindingParams {
     return threshold;
   }
 
-  public ThresholdDetectionOperator getNumericalOperator() {
+  public NumericalOperator getNumericalOperator() {
     return numericalOperator;
   }
 
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.filters.jvm.predicate;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestFilterPredicates {
+
+  private static final Predicate<Event> TRUE = event -> true;
+  private static final Predicate<Event> FALSE = event -> false;
+
+  @Test
+  public void testNumericalOperators() {
+    assertTrue(FilterPredicates.numerical(NumericalOperator.GE, 5).test(5));
+    assertFalse(FilterPredicates.numerical(NumericalOperator.GT, 5).test(5));
+    assertTrue(FilterPredicates.numerical(NumericalOperator.LE, 5).test(5));
+    assertFalse(FilterPredicates.numerical(NumericalOperator.LT, 5).test(5));
+
+    DoublePredicate equal = FilterPredicates.numerical(NumericalOperator.EQ, 0.3);
+    assertTrue(equal.test(0.1 + 0.2));
+    assertFalse(equal.test(0.31));
+
+    DoublePredicate inequal = FilterPredicates.numerical(NumericalOperator.IE, 0.3);
+    assertFalse(inequal.test(0.1 + 0.2));
+    assertTrue(inequal.test(0.31));
+  }
+
+  @Test
+  public void testStringOperators() {
+    assertTrue(FilterPredicates.text(StringOperator.MATCHES, "temperature").test("temperature"));
+    assertFalse(FilterPredicates.text(StringOperator.MATCHES, "temperature").test("temperature-1"));
+    assertTrue(FilterPredicates.text(StringOperator.CONTAINS, "temp").test("temperature-1"));
+    assertFalse(FilterPredicates.text(StringOperator.CONTAINS, "pressure").test("temperature-1"));
+  }
+
+  @Test
+  public void testAllOf() {
+    assertTrue(FilterPredicates.allOf(Arrays.asList(TRUE, TRUE)).test(null));
+    assertFalse(FilterPredicates.allOf(Arrays.asList(TRUE, FALSE)).test(null));
+    assertTrue(FilterPredicates.allOf(Arrays.asList(TRUE, TRUE, TRUE)).test(null));
+    assertFalse(FilterPredicates.allOf(Arrays.asList(TRUE, TRUE, FALSE)).test(null));
+  }
+
+  @Test
+  public void testAnyOf() {
+    assertTrue(FilterPredicates.anyOf(Arrays.asList(FALSE, TRUE)).test(null));
+    assertFalse(FilterPredicates.anyOf(Arrays.asList(FALSE, FALSE)).test(null));
+    assertTrue(FilterPredicates.anyOf(Arrays.asList(FALSE, FALSE, TRUE)).test(null));
+    assertFalse(FilterPredicates.anyOf(Arrays.asList(FALSE, FALSE, FALSE)).test(null));
+  }
+
+  @Test
+  public void testCombine() {
+    assertFalse(FilterPredicates.combine(Conjunction.AND, Arrays.asList(TRUE, FALSE)).test(null));
+    assertTrue(FilterPredicates.combine(Conjunction.OR, Arrays.asList(TRUE, FALSE)).test(null));
+  }
+}
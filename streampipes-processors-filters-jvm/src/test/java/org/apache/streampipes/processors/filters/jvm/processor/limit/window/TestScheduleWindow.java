@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.filters.jvm.processor.limit.window;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.filters.jvm.processor.limit.util.EventSelection;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestScheduleWindow {
+
+    private final List<Event> collected = new ArrayList<>();
+
+    @Test
+    public void testAllFlushesAtMaxBufferedEvents() {
+        ScheduleWindow window = new ScheduleWindow(EventSelection.ALL, makeCollector());
+        List<Event> events = makeEvents(ScheduleWindow.MAX_BUFFERED_EVENTS * 2 + 5);
+
+        events.forEach(window::onEvent);
+
+        // two full buffers were emitted before the trigger, the remaining events are still buffered
+        assertEquals(ScheduleWindow.MAX_BUFFERED_EVENTS * 2, collected.size());
+
+        window.onTrigger();
+        assertEquals(events, collected);
+    }
+
+    @Test
+    public void testAllBufferNeverExceedsCapacity() {
+        EventBuffer buffer = new EventBuffer(16, 100);
+
+        for (Event event : makeEvents(100)) {
+            buffer.add(event);
+            assertTrue(buffer.size() <= 100);
+        }
+        assertTrue(buffer.isFull());
+
+        buffer.emitAll(makeCollector());
+        assertTrue(buffer.isEmpty());
+        assertEquals(100, collected.size());
+    }
+
+    @Test
+    public void testFirstKeepsSingleEvent() {
+        ScheduleWindow window = new ScheduleWindow(EventSelection.FIRST, makeCollector());
+        List<Event> events = makeEvents(ScheduleWindow.MAX_BUFFERED_EVENTS + 5);
+
+        events.forEach(window::onEvent);
+        assertEquals(0, collected.size());
+
+        window.onTrigger();
+        assertEquals(1, collected.size());
+        assertSame(events.get(0), collected.get(0));
+    }
+
+    @Test
+    public void testLastKeepsSingleEvent() {
+        ScheduleWindow window = new ScheduleWindow(EventSelection.LAST, makeCollector());
+        List<Event> events = makeEvents(ScheduleWindow.MAX_BUFFERED_EVENTS + 5);
+
+        events.forEach(window::onEvent);
+        assertEquals(0, collected.size());
+
+        window.onTrigger();
+        assertEquals(1, collected.size());
+        assertSame(events.get(events.size() - 1), collected.get(0));
+
+        // the slot is cleared after the trigger
+        window.onTrigger();
+        assertEquals(1, collected.size());
+    }
+
+    @Test
+    public void testLengthWindowEmitsLargeWindowsInChunks() {
+        int windowSize = LengthWindow.MAX_BUFFERED_EVENTS * 3;
+        LengthWindow window = new LengthWindow(windowSize, EventSelection.ALL, makeCollector());
+        List<Event> events = makeEvents(windowSize - 1);
+
+        events.forEach(window::onEvent);
+
+        assertEquals(LengthWindow.MAX_BUFFERED_EVENTS * 2, collected.size());
+
+        Event last = makeEvents(1).get(0);
+        window.onEvent(last);
+        assertEquals(windowSize, collected.size());
+        assertSame(last, collected.get(windowSize - 1));
+    }
+
+    private List<Event> makeEvents(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.addField("timestamp", i);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private SpOutputCollector makeCollector() {
+        return (SpOutputCollector) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SpOutputCollector.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("collect")) {
+                        collected.add((Event) args[0]);
+                    }
+                    return null;
+                });
+    }
+}
@@ -23,4 +23,7 @@ public class ConfigKeys {
     final static String PORT = "SP_PORT";
     final static String SERVICE_NAME_KEY = "SP_SERVICE_NAME";
     final static String GOOGLE_API_KEY = "SP_GOOGLE_API_KEY";
+    final static String GEOCODING_CACHE_FILE = "SP_GEOCODING_CACHE_FILE";
+    final static String GEOCODING_API_URL = "SP_GEOCODING_API_URL";
+    final static String REVERSE_GEOCODING_INDEX_FILE = "SP_REVERSE_GEOCODING_INDEX_FILE";
 }
@@ -22,6 +22,8 @@ package org.apache.streampipes.processors.geo.jvm.config;
 import org.apache.streampipes.config.SpConfig;
 import org.apache.streampipes.container.model.PeConfig;
 
+import java.nio.file.Paths;
+
 public enum GeoJvmConfig implements PeConfig {
   INSTANCE;
 
@@ -39,6 +41,12 @@ public enum GeoJvmConfig implements PeConfig {
     config.register(ConfigKeys.PORT, 8090, "Port for the pe esper");
 
     config.registerPassword(ConfigKeys.GOOGLE_API_KEY, "", "Google API Key for the routing service");
+    config.register(ConfigKeys.GEOCODING_CACHE_FILE, "", "File the geocoding cache is saved to (empty to keep it " +
+            "in memory only)");
+    config.register(ConfigKeys.GEOCODING_API_URL, "", "Base URL of the Google Maps API (empty for the default " +
+            "endpoint)");
+    config.register(ConfigKeys.REVERSE_GEOCODING_INDEX_FILE, Paths.get(System.getProperty("java.io.tmpdir"),
+            "streampipes", "cities1000.idx").toString(), "File the place index of the reverse geocoder is stored in");
 
     config.register(ConfigKeys.SERVICE_NAME_KEY, service_name, "The name of the service");
 
@@ -63,6 +71,18 @@ public enum GeoJvmConfig implements PeConfig {
     return config.getString(ConfigKeys.GOOGLE_API_KEY);
   }
 
+  public String getGeocodingCacheFile() {
+    return config.getString(ConfigKeys.GEOCODING_CACHE_FILE);
+  }
+
+  public String getGeocodingApiUrl() {
+    return config.getString(ConfigKeys.GEOCODING_API_URL);
+  }
+
+  public String getReverseGeocodingIndexFile() {
+    return config.getString(ConfigKeys.REVERSE_GEOCODING_INDEX_FILE);
+  }
+
   @Override
   public String getId() {
     return service_id;
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.geo.jvm.processor.geocoder;
+
+import com.google.maps.GeoApiContext;
+import com.google.maps.GeocodingApi;
+import com.google.maps.PendingResult;
+import com.google.maps.model.GeocodingResult;
+import com.google.maps.model.LatLng;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geocodes place names with the Google Maps Geocoding API without blocking the caller. Results are cached, requests
+ * for a place name which is already being looked up share the pending request, and requests are limited by a
+ * token bucket.
+ */
+public class Geocoder {
+
+  private final GeoApiContext context;
+  private final GeocodingCache cache;
+  private final TokenBucket rateLimiter;
+  private final ConcurrentHashMap<String, CompletableFuture<LatLng>> pending = new ConcurrentHashMap<>();
+
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong requests = new AtomicLong();
+
+  public Geocoder(GeoApiContext context, GeocodingCache cache, TokenBucket rateLimiter) {
+    this.context = context;
+    this.cache = cache;
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Looks up the location of a place name. When the place name is not cached, the calling thread waits for the rate
+   * limiter, but not for the response.
+   *
+   * @param placeName The place name
+   * @return The future of the location, which is already completed when the place name was cached
+   * @throws InterruptedException When the thread is interrupted while waiting for the rate limiter
+   */
+  public CompletableFuture<LatLng> geocode(String placeName) throws InterruptedException {
+    String address = GeocodingCache.normalize(placeName);
+    LatLng location = cache.get(address);
+    if (location != null) {
+      cacheHits.incrementAndGet();
+      return CompletableFuture.completedFuture(location);
+    }
+
+    CompletableFuture<LatLng> request = new CompletableFuture<>();
+    CompletableFuture<LatLng> existing = pending.putIfAbsent(address, request);
+    if (existing != null) {
+      cacheHits.incrementAndGet();
+      return existing;
+    }
+
+    try {
+      rateLimiter.acquire();
+    } catch (InterruptedException e) {
+      pending.remove(address, request);
+      request.completeExceptionally(e);
+      throw e;
+    }
+
+    requests.incrementAndGet();
+    GeocodingApi.geocode(context, placeName).setCallback(new PendingResult.Callback<GeocodingResult[]>() {
+      @Override
+      public void onResult(GeocodingResult[] results) {
+        if (results == null || results.length == 0) {
+          onFailure(new IllegalArgumentException("No geocoding result for '" + placeName + "'"));
+          return;
+        }
+        LatLng result = results[0].geometry.location;
+        cache.put(address, result);
+        pending.remove(address, request);
+        request.complete(result);
+      }
+
+      @Override
+      public void onFailure(Throwable e) {
+        pending.remove(address, request);
+        request.completeExceptionally(e);
+      }
+    });
+    return request;
+  }
+
+  public int getPendingRequests() {
+    return pending.size();
+  }
+
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+}
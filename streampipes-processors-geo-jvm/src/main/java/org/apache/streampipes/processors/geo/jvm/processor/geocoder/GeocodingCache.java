@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.geo.jvm.processor.geocoder;
+
+import com.google.maps.model.LatLng;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A bounded cache of geocoding results which expire after a fixed time. Addresses are normalized (case and
+ * whitespace), so that different spellings of the same place name share an entry. The cache can be saved to and
+ * loaded from a file to survive restarts, the file can be shared by several caches.
+ */
+public class GeocodingCache {
+
+  private static final char SEPARATOR = '\t';
+
+  /**
+   * Serializes the saves of all caches of the container, so that no save drops the entries of another one
+   */
+  private static final Object SAVE_LOCK = new Object();
+
+  private final int maxEntries;
+  private final long ttlMillis;
+  private final LinkedHashMap<String, CacheEntry> entries;
+
+  public GeocodingCache(int maxEntries, long ttlMillis) {
+    this.maxEntries = maxEntries;
+    this.ttlMillis = ttlMillis;
+    this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * @return The address in lower case with leading, trailing and repeated whitespace removed
+   */
+  public static String normalize(String address) {
+    StringBuilder normalized = new StringBuilder(address.length());
+    boolean whitespace = false;
+    for (int i = 0; i < address.length(); i++) {
+      char c = address.charAt(i);
+      if (Character.isWhitespace(c)) {
+        whitespace = normalized.length() > 0;
+      } else {
+        if (whitespace) {
+          normalized.append(' ');
+          whitespace = false;
+        }
+        normalized.append(c);
+      }
+    }
+    return normalized.toString().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * @param address The normalized address
+   * @return The cached location or null if the address is not cached or expired
+   */
+  public synchronized LatLng get(String address) {
+    CacheEntry entry = entries.get(address);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expires <= System.currentTimeMillis()) {
+      entries.remove(address);
+      return null;
+    }
+    return entry.location;
+  }
+
+  public synchronized void put(String address, LatLng location) {
+    entries.put(address, new CacheEntry(location, System.currentTimeMillis() + ttlMillis));
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Loads the entries of a file written by {@link GeocodingCache#save(Path)}, expired entries are skipped
+   */
+  public synchronized void load(Path file) throws IOException {
+    entries.putAll(read(file));
+  }
+
+  /**
+   * Merges the entries with those of the file and writes them to a temporary file which then replaces the file, so
+   * that a crash never leaves a partially written cache behind. Entries of the file which are not in this cache are
+   * kept as far as the size of the cache allows.
+   */
+  public void save(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    synchronized (SAVE_LOCK) {
+      Map<String, CacheEntry> saved = read(file);
+      Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      try {
+        synchronized (this) {
+          write(temporary, merge(saved));
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    }
+  }
+
+  /**
+   * @return The entries of the file which are not in this cache, followed by the entries of this cache, in the
+   * order in which they are evicted. Of two entries of the same address, the one which expires later is kept.
+   */
+  private List<Map.Entry<String, CacheEntry>> merge(Map<String, CacheEntry> saved) {
+    List<Map.Entry<String, CacheEntry>> merged = new ArrayList<>(maxEntries);
+    for (Map.Entry<String, CacheEntry> entry : saved.entrySet()) {
+      if (!entries.containsKey(entry.getKey())) {
+        merged.add(entry);
+      }
+    }
+    // keeps the most recently saved entries of the file
+    int surplus = merged.size() + entries.size() - maxEntries;
+    if (surplus > 0) {
+      merged.subList(0, Math.min(surplus, merged.size())).clear();
+    }
+    for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+      // another cache may have fetched the address again after this one
+      CacheEntry savedEntry = saved.get(entry.getKey());
+      if (savedEntry != null && savedEntry.expires > entry.getValue().expires) {
+        merged.add(new AbstractMap.SimpleEntry<>(entry.getKey(), savedEntry));
+      } else {
+        merged.add(entry);
+      }
+    }
+    return merged;
+  }
+
+  private Map<String, CacheEntry> read(Path file) throws IOException {
+    Map<String, CacheEntry> result = new LinkedHashMap<>();
+    if (!Files.exists(file)) {
+      return result;
+    }
+    long now = System.currentTimeMillis();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] columns = line.split(String.valueOf(SEPARATOR));
+        if (columns.length != 4) {
+          continue;
+        }
+        try {
+          long expires = Long.parseLong(columns[3]);
+          if (expires > now) {
+            LatLng location = new LatLng(Double.parseDouble(columns[1]), Double.parseDouble(columns[2]));
+            result.put(columns[0], new CacheEntry(location, expires));
+          }
+        } catch (NumberFormatException e) {
+          // skips corrupt lines
+        }
+      }
+    }
+    return result;
+  }
+
+  private void write(Path file, List<Map.Entry<String, CacheEntry>> entries) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, CacheEntry> entry : entries) {
+        // normalized addresses contain no tabs or line breaks
+        writer.write(entry.getKey());
+        writer.write(SEPARATOR);
+        writer.write(Double.toString(entry.getValue().location.lat));
+        writer.write(SEPARATOR);
+        writer.write(Double.toString(entry.getValue().location.lng));
+        writer.write(SEPARATOR);
+        writer.write(Long.toString(entry.getValue().expires));
+        writer.newLine();
+      }
+    }
+  }
+
+  private static class CacheEntry {
+    private final LatLng location;
+    private final long expires;
+
+    private CacheEntry(LatLng location, long expires) {
+      this.location = location;
+      this.expires = expires;
+    }
+  }
+}
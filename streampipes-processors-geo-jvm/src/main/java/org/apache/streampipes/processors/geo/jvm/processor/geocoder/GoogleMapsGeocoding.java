@@ -18,24 +18,32 @@
 package org.apache.streampipes.processors.geo.jvm.processor.geocoder;
 
 import com.google.maps.GeoApiContext;
-import com.google.maps.GeocodingApi;
-import com.google.maps.errors.ApiException;
-import com.google.maps.model.GeocodingResult;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class GoogleMapsGeocoding implements EventProcessor<GoogleMapsGeocodingParameters> {
 
+  private static final int MAX_CACHED_PLACES = 10000;
+  private static final long DETACH_TIMEOUT_MILLIS = 10000;
+
+  private Logger logger;
   private GeoApiContext context;
+  private Geocoder geocoder;
+  private Path cacheFile;
+  private GeocodingCache cache;
   private String placeField;
 
   @Override
   public void onInvocation(GoogleMapsGeocodingParameters parameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
+    this.logger = parameters.getGraph().getLogger(GoogleMapsGeocoding.class);
     this.placeField = parameters.getPlaceField();
     String googleMapsApiKey = parameters.getGoogleMapsApiKey();
 
@@ -44,9 +52,25 @@ public class GoogleMapsGeocoding implements EventProcessor<GoogleMapsGeocodingPa
               " API key?");
     }
 
-    this.context = new GeoApiContext.Builder()
-            .apiKey(googleMapsApiKey)
-            .build();
+    GeoApiContext.Builder contextBuilder = new GeoApiContext.Builder()
+            .apiKey(googleMapsApiKey);
+    if (parameters.getApiUrl() != null && !parameters.getApiUrl().equals("")) {
+      contextBuilder.baseUrlOverride(parameters.getApiUrl());
+    }
+    this.context = contextBuilder.build();
+
+    this.cache = new GeocodingCache(MAX_CACHED_PLACES, parameters.getCacheTtlMinutes() * 60 * 1000L);
+    if (parameters.getCacheFile() != null && !parameters.getCacheFile().equals("")) {
+      this.cacheFile = Paths.get(parameters.getCacheFile());
+      try {
+        cache.load(cacheFile);
+      } catch (IOException e) {
+        logger.warn("Could not load geocoding cache from " + cacheFile + ": " + e.getMessage());
+      }
+    }
+
+    this.geocoder = new Geocoder(context, cache,
+            new TokenBucket(parameters.getRequestsPerSecond(), parameters.getRequestsPerSecond()));
   }
 
   @Override
@@ -54,28 +78,45 @@ public class GoogleMapsGeocoding implements EventProcessor<GoogleMapsGeocodingPa
     String placename = event.getFieldBySelector(placeField).getAsPrimitive().getAsString();
 
     try {
-      GeocodingResult[] results =  GeocodingApi.geocode(context,
-              placename).await();
-
-      Double latitude = results[0].geometry.location.lat;
-      Double longitude = results[0].geometry.location.lng;
-
-      event.addField("latitude", latitude);
-      event.addField("longitude", longitude);
-
-      collector.collect(event);
-
-    } catch (ApiException | InterruptedException | IOException e) {
-      e.printStackTrace();
-      throw new SpRuntimeException("Could not fetch geocoding result");
+      // cached place names are emitted immediately, others when their result arrives
+      geocoder.geocode(placename).whenComplete((location, e) -> {
+        if (e != null) {
+          logger.error("Could not fetch geocoding result for '" + placename + "': " + e.getMessage());
+          return;
+        }
+        event.addField("latitude", location.lat);
+        event.addField("longitude", location.lng);
+
+        synchronized (collector) {
+          collector.collect(event);
+        }
+      });
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for the geocoding rate limit");
     }
-
-
-
   }
 
   @Override
   public void onDetach() throws SpRuntimeException {
-
+    long deadline = System.currentTimeMillis() + DETACH_TIMEOUT_MILLIS;
+    try {
+      while (geocoder.getPendingRequests() > 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    logger.info("Geocoding: " + geocoder.getRequests() + " requests, " + geocoder.getCacheHits() + " cache hits, "
+            + geocoder.getPendingRequests() + " unfinished requests");
+
+    if (cacheFile != null) {
+      try {
+        cache.save(cacheFile);
+      } catch (IOException e) {
+        logger.warn("Could not save geocoding cache to " + cacheFile + ": " + e.getMessage());
+      }
+    }
+    context.shutdown();
   }
 }
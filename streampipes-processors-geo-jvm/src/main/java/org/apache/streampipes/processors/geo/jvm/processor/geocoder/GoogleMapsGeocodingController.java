@@ -38,6 +38,8 @@ import org.apache.streampipes.wrapper.standalone.declarer.StandaloneEventProcess
 public class GoogleMapsGeocodingController extends StandaloneEventProcessingDeclarer<GoogleMapsGeocodingParameters> {
 
   private static final String PLACE_MAPPING = "place-mapping";
+  private static final String RATE_LIMIT = "rate-limit";
+  private static final String CACHE_TTL = "cache-ttl";
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -55,6 +57,8 @@ public class GoogleMapsGeocodingController extends StandaloneEventProcessingDecl
                     EpProperties.doubleEp(Labels.empty(), "latitude", Geo.lat),
                     EpProperties.stringEp(Labels.empty(), "longitude", Geo.lng)
             ))
+            .requiredIntegerParameter(Labels.withId(RATE_LIMIT), 10)
+            .requiredIntegerParameter(Labels.withId(CACHE_TTL), 1440)
             .build();
   }
 
@@ -62,9 +66,12 @@ public class GoogleMapsGeocodingController extends StandaloneEventProcessingDecl
   public ConfiguredEventProcessor<GoogleMapsGeocodingParameters> onInvocation(DataProcessorInvocation graph, ProcessingElementParameterExtractor extractor) {
     String placeField = extractor.mappingPropertyValue(PLACE_MAPPING);
     String googleMapsApiKey = GeoJvmConfig.INSTANCE.getGoogleApiKey();
+    Integer rateLimit = extractor.singleValueParameter(RATE_LIMIT, Integer.class);
+    Integer cacheTtl = extractor.singleValueParameter(CACHE_TTL, Integer.class);
 
     GoogleMapsGeocodingParameters params = new GoogleMapsGeocodingParameters(graph, placeField,
-            googleMapsApiKey);
+            googleMapsApiKey, GeoJvmConfig.INSTANCE.getGeocodingApiUrl(),
+            GeoJvmConfig.INSTANCE.getGeocodingCacheFile(), Math.max(1, rateLimit), Math.max(0, cacheTtl));
 
     return new ConfiguredEventProcessor<>(params, GoogleMapsGeocoding::new);
   }
@@ -24,12 +24,21 @@ public class GoogleMapsGeocodingParameters extends EventProcessorBindingParams {
 
   private String placeField;
   private String googleMapsApiKey;
+  private String apiUrl;
+  private String cacheFile;
+  private Integer requestsPerSecond;
+  private Integer cacheTtlMinutes;
 
   public GoogleMapsGeocodingParameters(DataProcessorInvocation graph, String placeField,
-                                       String googleMapsApiKey) {
+                                       String googleMapsApiKey, String apiUrl, String cacheFile,
+                                       Integer requestsPerSecond, Integer cacheTtlMinutes) {
     super(graph);
     this.placeField = placeField;
     this.googleMapsApiKey = googleMapsApiKey;
+    this.apiUrl = apiUrl;
+    this.cacheFile = cacheFile;
+    this.requestsPerSecond = requestsPerSecond;
+    this.cacheTtlMinutes = cacheTtlMinutes;
   }
 
   public String getPlaceField() {
@@ -39,4 +48,20 @@ public class GoogleMapsGeocodingParameters extends EventProcessorBindingParams {
   public String getGoogleMapsApiKey() {
     return googleMapsApiKey;
   }
+
+  public String getApiUrl() {
+    return apiUrl;
+  }
+
+  public String getCacheFile() {
+    return cacheFile;
+  }
+
+  public Integer getRequestsPerSecond() {
+    return requestsPerSecond;
+  }
+
+  public Integer getCacheTtlMinutes() {
+    return cacheTtlMinutes;
+  }
 }
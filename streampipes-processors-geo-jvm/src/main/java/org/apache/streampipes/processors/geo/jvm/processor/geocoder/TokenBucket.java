@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.geo.jvm.processor.geocoder;
+
+/**
+ * A token bucket which limits the rate of requests: tokens are refilled continuously up to the capacity of the
+ * bucket, so that short bursts are allowed while the average rate is bounded.
+ */
+public class TokenBucket {
+
+  private final long nanosPerToken;
+  private final double capacity;
+
+  private double tokens;
+  private long lastRefill;
+
+  /**
+   * @param permitsPerSecond The average number of permits per second
+   * @param capacity         The maximum number of permits available at once
+   */
+  public TokenBucket(double permitsPerSecond, int capacity) {
+    this.nanosPerToken = (long) (1_000_000_000L / permitsPerSecond);
+    this.capacity = capacity;
+    this.tokens = capacity;
+    this.lastRefill = System.nanoTime();
+  }
+
+  /**
+   * Takes a permit, waiting until one is available
+   *
+   * @throws InterruptedException When the thread is interrupted while waiting
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos;
+    while ((waitNanos = tryAcquire()) > 0) {
+      Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+    }
+  }
+
+  /**
+   * @return 0 if a permit was taken, otherwise the time in nanoseconds until the next permit is available
+   */
+  private synchronized long tryAcquire() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / nanosPerToken);
+    lastRefill = now;
+    if (tokens >= 1) {
+      tokens -= 1;
+      return 0;
+    }
+    return (long) ((1 - tokens) * nanosPerToken);
+  }
+}
@@ -19,16 +19,19 @@ package org.apache.streampipes.processors.geo.jvm.processor.revgeocoder;
 
 import org.apache.http.client.fluent.Request;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.processors.geo.jvm.processor.revgeocoder.geocode.GeoName;
-import org.apache.streampipes.processors.geo.jvm.processor.revgeocoder.geocode.ReverseGeoCode;
+import org.apache.streampipes.processors.geo.jvm.processor.revgeocoder.index.GeoNameIndex;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 public class ReverseGeocoding implements EventProcessor<ReverseGeocodingParameters> {
@@ -36,36 +39,42 @@ public class ReverseGeocoding implements EventProcessor<ReverseGeocodingParamete
   private static final String CITIES_DATASET_URL = "http://download.geonames" +
           ".org/export/dump/cities1000.zip";
 
+  /**
+   * Serializes building the index file when several processors are started at the same time
+   */
+  private static final Object INDEX_LOCK = new Object();
+
   private String latitudeField;
   private String longitudeField;
 
-  private ReverseGeoCode reverseGeoCode;
+  private GeoNameIndex index;
 
   @Override
   public void onInvocation(ReverseGeocodingParameters parameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
     this.latitudeField = parameters.getLatitudeField();
     this.longitudeField = parameters.getLongitudeField();
 
-    try {
-      InputStream stream = downloadCitiesDataSet();
-      if (stream != null) {
-        ZipInputStream zipInputStream = null;
-        zipInputStream = new ZipInputStream(stream);
-          this.reverseGeoCode = new ReverseGeoCode(zipInputStream, false);
+    Logger logger = parameters.getGraph().getLogger(ReverseGeocoding.class);
+    Path indexFile = Paths.get(parameters.getIndexFile());
+    synchronized (INDEX_LOCK) {
+      try {
+        if (!Files.exists(indexFile)) {
+          logger.info("Building place index " + indexFile + " from " + CITIES_DATASET_URL);
+          buildIndex().save(indexFile);
+        }
+        this.index = GeoNameIndex.load(indexFile);
+      } catch (IOException e) {
+        throw new SpRuntimeException("Could not load place index " + indexFile + ": " + e.getMessage());
       }
-    } catch (IOException e) {
-      throw new SpRuntimeException("Could not download cities file...");
     }
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector collector) throws SpRuntimeException {
-    Double latitude = event.getFieldBySelector(latitudeField).getAsPrimitive().getAsDouble();
-    Double longitude = event.getFieldBySelector(longitudeField).getAsPrimitive().getAsDouble();
-
-    GeoName geoName = this.reverseGeoCode.nearestPlace(latitude, longitude);
+    double latitude = event.getFieldBySelector(latitudeField).getAsPrimitive().getAsDouble();
+    double longitude = event.getFieldBySelector(longitudeField).getAsPrimitive().getAsDouble();
 
-    event.addField("place", geoName.name + ", " + geoName.country);
+    event.addField("place", index.getLabel(index.nearest(latitude, longitude)));
     collector.collect(event);
   }
 
@@ -74,9 +83,19 @@ public class ReverseGeocoding implements EventProcessor<ReverseGeocodingParamete
 
   }
 
-  private InputStream downloadCitiesDataSet() throws IOException {
-    byte[] citiesDataset = Request.Get(CITIES_DATASET_URL).execute().returnContent().asBytes();
-    return new ByteArrayInputStream(citiesDataset);
+  private GeoNameIndex buildIndex() throws IOException {
+    try (InputStream stream = Request.Get(CITIES_DATASET_URL).execute().returnContent().asStream();
+         ZipInputStream zipInputStream = new ZipInputStream(stream)) {
+      // country specific zip files contain a readme file which is skipped
+      ZipEntry entry;
+      do {
+        entry = zipInputStream.getNextEntry();
+      } while (entry != null && entry.getName().equals("readme.txt"));
+      if (entry == null) {
+        throw new IOException("No places found in " + CITIES_DATASET_URL);
+      }
+      return GeoNameIndex.build(zipInputStream, false);
+    }
   }
 
 }
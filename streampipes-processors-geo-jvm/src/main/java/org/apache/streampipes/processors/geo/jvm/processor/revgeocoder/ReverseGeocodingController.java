@@ -21,6 +21,7 @@ import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.processors.geo.jvm.config.GeoJvmConfig;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
 import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
@@ -66,7 +67,7 @@ public class ReverseGeocodingController extends StandaloneEventProcessingDeclare
     String longitudeField = extractor.mappingPropertyValue(LONGITUDE_MAPPING);
 
     ReverseGeocodingParameters params = new ReverseGeocodingParameters(graph, latitudeField,
-            longitudeField);
+            longitudeField, GeoJvmConfig.INSTANCE.getReverseGeocodingIndexFile());
 
     return new ConfiguredEventProcessor<>(params, ReverseGeocoding::new);
   }
@@ -24,12 +24,14 @@ public class ReverseGeocodingParameters extends EventProcessorBindingParams {
 
   private String latitudeField;
   private String longitudeField;
+  private String indexFile;
 
   public ReverseGeocodingParameters(DataProcessorInvocation graph, String latitudeField,
-                                    String longitudeField) {
+                                    String longitudeField, String indexFile) {
     super(graph);
     this.latitudeField = latitudeField;
     this.longitudeField = longitudeField;
+    this.indexFile = indexFile;
   }
 
   public String getLatitudeField() {
@@ -39,4 +41,8 @@ public class ReverseGeocodingParameters extends EventProcessorBindingParams {
   public String getLongitudeField() {
     return longitudeField;
   }
+
+  public String getIndexFile() {
+    return indexFile;
+  }
 }
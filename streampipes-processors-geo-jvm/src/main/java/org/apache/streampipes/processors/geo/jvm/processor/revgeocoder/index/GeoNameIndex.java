@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.geo.jvm.processor.revgeocoder.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A nearest neighbour index of places from a GeoNames dump (http://download.geonames.org/export/dump/).
+ * <p>
+ * Places are stored as points on the unit sphere in a flat, implicit KD-tree: the node of a range of the arrays is
+ * its middle element, the left subtree the lower half and the right subtree the upper half of the range, split by
+ * x, y and z alternately. The index is written to a compact binary file, which is memory-mapped when it is loaded,
+ * so that it is built only once and loaded without parsing.
+ * <p>
+ * File layout (big endian): magic, version, number of places n, size of the label pool, 3 * n doubles (x, y, z of
+ * each node), n + 1 label offsets, the UTF-8 encoded labels ("name, country").
+ */
+public class GeoNameIndex {
+
+  private static final int MAGIC = 0x53504749;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+  /**
+   * The maximum depth of the tree is log2(n), so 64 entries are enough for any index
+   */
+  private static final int MAX_STACK = 64;
+
+  private final int size;
+  private final DoubleBuffer points;
+  private final IntBuffer labelOffsets;
+  private final ByteBuffer labelPool;
+  private final String[] labels;
+
+  // the stack of the iterative search, reused for each query (an index is queried by a single thread)
+  private final int[] stackFrom = new int[MAX_STACK];
+  private final int[] stackTo = new int[MAX_STACK];
+  private final int[] stackAxis = new int[MAX_STACK];
+  private final double[] stackPlaneDistance = new double[MAX_STACK];
+
+  private GeoNameIndex(ByteBuffer buffer) throws IOException {
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("Not a place index file (or an index of an older version)");
+    }
+    this.size = buffer.getInt(8);
+    int poolBytes = buffer.getInt(12);
+
+    int pointsStart = HEADER_BYTES;
+    int offsetsStart = pointsStart + 3 * size * Double.BYTES;
+    int poolStart = offsetsStart + (size + 1) * Integer.BYTES;
+    if (buffer.limit() < poolStart + poolBytes) {
+      throw new IOException("Place index file is truncated");
+    }
+
+    this.points = slice(buffer, pointsStart, offsetsStart).asDoubleBuffer();
+    this.labelOffsets = slice(buffer, offsetsStart, poolStart).asIntBuffer();
+    this.labelPool = slice(buffer, poolStart, poolStart + poolBytes);
+    this.labels = new String[size];
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int from, int to) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(from);
+    duplicate.limit(to);
+    return duplicate.slice();
+  }
+
+  /**
+   * Builds the index from the places of a GeoNames dump
+   *
+   * @param geoNames  The (unzipped) tab separated GeoNames file
+   * @param majorOnly Only include places of feature class P (populated places)
+   * @return The index, held in memory
+   * @throws IOException When the file cannot be read or contains no places
+   */
+  public static GeoNameIndex build(InputStream geoNames, boolean majorOnly) throws IOException {
+    List<String> labelList = new ArrayList<>();
+    double[] x = new double[1024];
+    double[] y = new double[1024];
+    double[] z = new double[1024];
+    int n = 0;
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(geoNames, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String[] columns = line.split("\t");
+      if (columns.length < 9 || (majorOnly && !columns[6].equals("P"))) {
+        continue;
+      }
+      double latitude;
+      double longitude;
+      try {
+        latitude = Math.toRadians(Double.parseDouble(columns[4]));
+        longitude = Math.toRadians(Double.parseDouble(columns[5]));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      if (n == x.length) {
+        x = Arrays.copyOf(x, n * 2);
+        y = Arrays.copyOf(y, n * 2);
+        z = Arrays.copyOf(z, n * 2);
+      }
+      x[n] = Math.cos(latitude) * Math.cos(longitude);
+      y[n] = Math.cos(latitude) * Math.sin(longitude);
+      z[n] = Math.sin(latitude);
+      labelList.add(columns[1] + ", " + columns[8]);
+      n++;
+    }
+    if (n == 0) {
+      throw new IOException("No places found in GeoNames file");
+    }
+
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    double[][] coordinates = {x, y, z};
+    buildTree(order, coordinates, 0, n, 0);
+
+    byte[][] encodedLabels = new byte[n][];
+    int poolBytes = 0;
+    for (int i = 0; i < n; i++) {
+      encodedLabels[i] = labelList.get(order[i]).getBytes(StandardCharsets.UTF_8);
+      poolBytes += encodedLabels[i].length;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 3 * n * Double.BYTES + (n + 1) * Integer.BYTES
+            + poolBytes);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(poolBytes);
+    for (int i = 0; i < n; i++) {
+      buffer.putDouble(x[order[i]]).putDouble(y[order[i]]).putDouble(z[order[i]]);
+    }
+    int offset = 0;
+    for (int i = 0; i < n; i++) {
+      buffer.putInt(offset);
+      offset += encodedLabels[i].length;
+    }
+    buffer.putInt(offset);
+    for (byte[] label : encodedLabels) {
+      buffer.put(label);
+    }
+    buffer.flip();
+    return new GeoNameIndex(buffer);
+  }
+
+  /**
+   * Arranges order[from, to) such that the median by the coordinate of the axis is in the middle, all smaller
+   * elements before and all larger elements after it, and recursively continues with both halves
+   */
+  private static void buildTree(int[] order, double[][] coordinates, int from, int to, int axis) {
+    while (to - from > 1) {
+      int middle = (from + to) >>> 1;
+      select(order, coordinates[axis], from, to - 1, middle);
+      int nextAxis = (axis + 1) % 3;
+      buildTree(order, coordinates, from, middle, nextAxis);
+      from = middle + 1;
+      axis = nextAxis;
+    }
+  }
+
+  /**
+   * Moves the k-th smallest element of order[left, right] to position k (quickselect)
+   */
+  private static void select(int[] order, double[] values, int left, int right, int k) {
+    while (right > left) {
+      double pivot = values[order[(left + right) >>> 1]];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (values[order[i]] < pivot) {
+          i++;
+        }
+        while (values[order[j]] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          int swap = order[i];
+          order[i] = order[j];
+          order[j] = swap;
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Loads an index file by memory-mapping it
+   */
+  public static GeoNameIndex load(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new GeoNameIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Writes the index to a temporary file which then replaces the file, so that an interrupted write never leaves a
+   * corrupt index behind
+   */
+  public void save(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(labelPool.capacity()).flip();
+
+    ByteBuffer pointBytes = ByteBuffer.allocate(3 * size * Double.BYTES);
+    pointBytes.asDoubleBuffer().put(points.duplicate());
+    ByteBuffer offsetBytes = ByteBuffer.allocate((size + 1) * Integer.BYTES);
+    offsetBytes.asIntBuffer().put(labelOffsets.duplicate());
+
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (ByteBuffer part : new ByteBuffer[]{header, pointBytes, offsetBytes, labelPool.duplicate()}) {
+        while (part.hasRemaining()) {
+          channel.write(part);
+        }
+      }
+    }
+    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Finds the place closest to the given coordinates
+   *
+   * @return The node of the place (see {@link GeoNameIndex#getLabel(int)})
+   */
+  public int nearest(double latitude, double longitude) {
+    double lat = Math.toRadians(latitude);
+    double lng = Math.toRadians(longitude);
+    double qx = Math.cos(lat) * Math.cos(lng);
+    double qy = Math.cos(lat) * Math.sin(lng);
+    double qz = Math.sin(lat);
+
+    int best = -1;
+    double bestDistance = Double.POSITIVE_INFINITY;
+
+    int top = 0;
+    stackFrom[0] = 0;
+    stackTo[0] = size;
+    stackAxis[0] = 0;
+    stackPlaneDistance[0] = 0;
+
+    while (top >= 0) {
+      int from = stackFrom[top];
+      int to = stackTo[top];
+      int axis = stackAxis[top];
+      double planeDistance = stackPlaneDistance[top];
+      top--;
+      if (planeDistance >= bestDistance) {
+        continue;
+      }
+
+      // descends towards the query point, remembering the far side of each split
+      while (from < to) {
+        int node = (from + to) >>> 1;
+        int base = 3 * node;
+        double dx = points.get(base) - qx;
+        double dy = points.get(base + 1) - qy;
+        double dz = points.get(base + 2) - qz;
+        double distance = dx * dx + dy * dy + dz * dz;
+        if (distance < bestDistance) {
+          bestDistance = distance;
+          best = node;
+        }
+
+        double diff = axis == 0 ? -dx : (axis == 1 ? -dy : -dz);
+        int nextAxis = axis == 2 ? 0 : axis + 1;
+        int farFrom;
+        int farTo;
+        if (diff < 0) {
+          farFrom = node + 1;
+          farTo = to;
+          to = node;
+        } else {
+          farFrom = from;
+          farTo = node;
+          from = node + 1;
+        }
+        double farDistance = diff * diff;
+        if (farFrom < farTo && farDistance < bestDistance) {
+          top++;
+          stackFrom[top] = farFrom;
+          stackTo[top] = farTo;
+          stackAxis[top] = nextAxis;
+          stackPlaneDistance[top] = farDistance;
+        }
+        axis = nextAxis;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * @return The label of the place ("name, country"), decoded once per place
+   */
+  public String getLabel(int node) {
+    String label = labels[node];
+    if (label == null) {
+      int start = labelOffsets.get(node);
+      int end = labelOffsets.get(node + 1);
+      byte[] bytes = new byte[end - start];
+      ByteBuffer pool = labelPool.duplicate();
+      pool.position(start);
+      pool.get(bytes);
+      label = new String(bytes, StandardCharsets.UTF_8);
+      labels[node] = label;
+    }
+    return label;
+  }
+
+  public int size() {
+    return size;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.geo.jvm.processor.revgeocoder.index;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestGeoNameIndex {
+
+  private static final double DELTA = 1e-12;
+
+  @Test
+  public void testNearestMatchesLinearScan() throws IOException {
+    Random random = new Random(1);
+    List<double[]> places = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      places.add(new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180});
+    }
+    GeoNameIndex index = build(places);
+
+    for (int i = 0; i < 2000; i++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+      assertNearest(index, places, latitude, longitude);
+    }
+  }
+
+  @Test
+  public void testNearestWithDuplicateCoordinates() throws IOException {
+    Random random = new Random(2);
+    List<double[]> places = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      // few distinct coordinates, many places share a coordinate or one of its axes
+      places.add(new double[]{random.nextInt(5) * 10.0, random.nextInt(5) * 10.0});
+    }
+    GeoNameIndex index = build(places);
+
+    for (double[] place : places) {
+      int node = index.nearest(place[0], place[1]);
+      assertEquals(0.0, distance(place, places.get(getPlace(index, node))), DELTA);
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertNearest(index, places, random.nextDouble() * 60 - 10, random.nextDouble() * 60 - 10);
+    }
+  }
+
+  @Test
+  public void testSingleAndIdenticalPlaces() throws IOException {
+    List<double[]> places = new ArrayList<>();
+    places.add(new double[]{48.0, 8.0});
+    GeoNameIndex index = build(places);
+    assertEquals("place0, DE", index.getLabel(index.nearest(-30.0, 100.0)));
+
+    for (int i = 0; i < 100; i++) {
+      places.add(new double[]{48.0, 8.0});
+    }
+    index = build(places);
+    assertNearest(index, places, -30.0, 100.0);
+    assertNearest(index, places, 48.0, 8.0);
+  }
+
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    Random random = new Random(3);
+    List<double[]> places = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      places.add(new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180});
+    }
+    GeoNameIndex index = build(places);
+    Path directory = Files.createTempDirectory("geonames");
+    Path file = directory.resolve("index.bin");
+
+    try {
+      index.save(file);
+      GeoNameIndex loaded = GeoNameIndex.load(file);
+
+      assertEquals(index.size(), loaded.size());
+      for (int i = 0; i < index.size(); i++) {
+        assertEquals(index.getLabel(i), loaded.getLabel(i));
+      }
+      for (int i = 0; i < 1000; i++) {
+        double latitude = random.nextDouble() * 180 - 90;
+        double longitude = random.nextDouble() * 360 - 180;
+        assertEquals(index.nearest(latitude, longitude), loaded.nearest(latitude, longitude));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  public void testMajorOnlySkipsOtherFeatureClasses() throws IOException {
+    String geoNames = line(0, 10.0, 10.0, "P") + line(1, 20.0, 20.0, "A") + "not a place\n";
+
+    assertEquals(2, GeoNameIndex.build(stream(geoNames), false).size());
+    GeoNameIndex index = GeoNameIndex.build(stream(geoNames), true);
+    assertEquals(1, index.size());
+    assertEquals("place0, DE", index.getLabel(index.nearest(20.0, 20.0)));
+  }
+
+  private void assertNearest(GeoNameIndex index, List<double[]> places, double latitude, double longitude) {
+    double[] query = {latitude, longitude};
+    double expected = Double.POSITIVE_INFINITY;
+    for (double[] place : places) {
+      expected = Math.min(expected, distance(query, place));
+    }
+    int node = index.nearest(latitude, longitude);
+
+    // several places may be equally close, so the distances are compared instead of the places
+    assertEquals(expected, distance(query, places.get(getPlace(index, node))), DELTA);
+  }
+
+  /**
+   * @return The position of the place in the list the index was built from
+   */
+  private int getPlace(GeoNameIndex index, int node) {
+    String label = index.getLabel(node);
+    return Integer.parseInt(label.substring("place".length(), label.indexOf(',')));
+  }
+
+  /**
+   * @return The squared chord distance of two coordinates on the unit sphere, as compared by the index
+   */
+  private double distance(double[] a, double[] b) {
+    double[] pa = toPoint(a);
+    double[] pb = toPoint(b);
+    double dx = pa[0] - pb[0];
+    double dy = pa[1] - pb[1];
+    double dz = pa[2] - pb[2];
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  private double[] toPoint(double[] coordinates) {
+    double latitude = Math.toRadians(coordinates[0]);
+    double longitude = Math.toRadians(coordinates[1]);
+    return new double[]{Math.cos(latitude) * Math.cos(longitude), Math.cos(latitude) * Math.sin(longitude),
+            Math.sin(latitude)};
+  }
+
+  private GeoNameIndex build(List<double[]> places) throws IOException {
+    StringBuilder geoNames = new StringBuilder();
+    for (int i = 0; i < places.size(); i++) {
+      geoNames.append(line(i, places.get(i)[0], places.get(i)[1], "P"));
+    }
+    return GeoNameIndex.build(stream(geoNames.toString()), false);
+  }
+
+  private String line(int id, double latitude, double longitude, String featureClass) {
+    return id + "\tplace" + id + "\tplace" + id + "\t\t" + latitude + "\t" + longitude + "\t" + featureClass
+            + "\tPPL\tDE\n";
+  }
+
+  private ByteArrayInputStream stream(String geoNames) {
+    return new ByteArrayInputStream(geoNames.getBytes(StandardCharsets.UTF_8));
+  }
+}
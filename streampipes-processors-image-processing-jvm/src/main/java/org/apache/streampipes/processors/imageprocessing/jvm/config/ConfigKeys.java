@@ -22,4 +22,7 @@ public class ConfigKeys {
     final static String HOST = "SP_HOST";
     final static String PORT = "SP_PORT";
     final static String SERVICE_NAME_KEY = "SP_SERVICE_NAME";
+    final static String IMAGE_WORKERS = "SP_IMAGE_WORKERS";
+    final static String JPEG_QUALITY = "SP_IMAGE_JPEG_QUALITY";
+    final static String MODEL_DIRECTORY = "SP_IMAGE_MODEL_DIRECTORY";
 }
@@ -41,6 +41,9 @@ public enum ImageProcessingJvmConfig implements PeConfig {
 		config.register(ConfigKeys.PORT, 8090, "Port for the pe image processing");
 
 		config.register(ConfigKeys.SERVICE_NAME_KEY, service_name, "The name of the service");
+		config.register(ConfigKeys.IMAGE_WORKERS, 2, "The number of threads processing the images of a pipeline element (1 processes images on the event thread)");
+		config.register(ConfigKeys.JPEG_QUALITY, 75, "The quality (1-100) of JPEG images created by the pipeline elements");
+		config.register(ConfigKeys.MODEL_DIRECTORY, "download_data", "The directory of the image classification models (downloaded once if missing)");
 
 	}
 	
@@ -68,6 +71,18 @@ public enum ImageProcessingJvmConfig implements PeConfig {
 		return config.getString(SERVICE_NAME_KEY);
 	}
 
+	public int getImageWorkers() {
+		return config.getInteger(ConfigKeys.IMAGE_WORKERS);
+	}
+
+	public int getJpegQuality() {
+		return config.getInteger(ConfigKeys.JPEG_QUALITY);
+	}
+
+	public String getModelDirectory() {
+		return config.getString(ConfigKeys.MODEL_DIRECTORY);
+	}
+
 
 
 
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.commons;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Decodes and encodes the Base64 images of events. Image readers, the JPEG writer, the output buffer and the decoded
+ * image are kept per thread and reused, and streams are cached in memory instead of temporary files (the default of
+ * ImageIO).
+ *
+ * <p>A decoded image is the destination of the next decode of an image with the same size on the same thread, so it
+ * must not be used after the next call of {@link #decode(String)} on that thread.
+ */
+public class ImageCodec {
+
+  public static final int DEFAULT_JPEG_QUALITY = 75;
+
+  private static final ThreadLocal<ImageCodec> CODECS = ThreadLocal.withInitial(ImageCodec::new);
+
+  private static volatile float jpegQuality = DEFAULT_JPEG_QUALITY / 100f;
+
+  private final Map<String, ImageReader> readers = new HashMap<>();
+  private final ReusableOutputStream output = new ReusableOutputStream();
+  private ImageWriter jpegWriter;
+  private BufferedImage destination;
+
+  /**
+   * @return The codec of the current thread
+   */
+  public static ImageCodec get() {
+    return CODECS.get();
+  }
+
+  /**
+   * Sets the quality of encoded JPEG images
+   *
+   * @param quality The quality in percent (1-100)
+   */
+  public static void setJpegQuality(int quality) {
+    jpegQuality = Math.max(1, Math.min(100, quality)) / 100f;
+  }
+
+  /**
+   * Decodes a Base64 encoded image
+   *
+   * @param imageBase64 The Base64 encoded image (JPEG, PNG or any other format supported by ImageIO)
+   * @return The image, which is reused by the next decode on this thread
+   * @throws IOException When the image cannot be decoded
+   */
+  public BufferedImage decode(String imageBase64) throws IOException {
+    byte[] bytes;
+    try {
+      bytes = Base64.getDecoder().decode(imageBase64);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Image is not Base64 encoded", e);
+    }
+
+    try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(bytes))) {
+      ImageReader reader = getReader(input);
+      reader.setInput(input, true, true);
+      try {
+        ImageReadParam param = reader.getDefaultReadParam();
+        if (destination != null && destination.getWidth() == reader.getWidth(0)
+                && destination.getHeight() == reader.getHeight(0)
+                && isDestinationType(reader)) {
+          param.setDestination(destination);
+        }
+        destination = reader.read(0, param);
+        return destination;
+      } finally {
+        reader.setInput(null);
+      }
+    }
+  }
+
+  private ImageReader getReader(ImageInputStream input) throws IOException {
+    Iterator<ImageReader> candidates = ImageIO.getImageReaders(input);
+    if (!candidates.hasNext()) {
+      throw new IOException("Unsupported image format");
+    }
+    ImageReader candidate = candidates.next();
+    String format = candidate.getFormatName().toLowerCase();
+    ImageReader reader = readers.get(format);
+    if (reader == null) {
+      reader = candidate;
+      readers.put(format, reader);
+    } else {
+      candidate.dispose();
+    }
+    return reader;
+  }
+
+  private boolean isDestinationType(ImageReader reader) throws IOException {
+    int type = reader.getRawImageType(0) != null ? reader.getRawImageType(0).getBufferedImageType() : -1;
+    return type != BufferedImage.TYPE_CUSTOM && type == destination.getType();
+  }
+
+  /**
+   * Encodes an image as Base64 encoded JPEG
+   *
+   * @param image The image (without alpha channel)
+   * @return The Base64 encoded JPEG
+   * @throws IOException When the image cannot be encoded
+   */
+  public String encodeJpeg(BufferedImage image) throws IOException {
+    if (jpegWriter == null) {
+      jpegWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+    }
+    ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+    param.setCompressionQuality(jpegQuality);
+
+    output.reset();
+    try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+      jpegWriter.setOutput(stream);
+      jpegWriter.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      jpegWriter.setOutput(null);
+    }
+    return output.toBase64();
+  }
+
+  private static class ReusableOutputStream extends ByteArrayOutputStream {
+
+    String toBase64() {
+      // encodes the buffer without copying it first
+      ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buf, 0, count));
+      return new String(encoded.array(), 0, encoded.limit(), StandardCharsets.ISO_8859_1);
+    }
+  }
+}
@@ -23,7 +23,6 @@ import org.apache.streampipes.processors.imageprocessing.jvm.processor.imageenri
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.imageenrichment.ImageEnrichmentParameters;
 
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -31,8 +30,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import javax.imageio.ImageIO;
-
 public class ImageTransformer extends PlainImageTransformer<ImageEnrichmentParameters> {
 
   public ImageTransformer(Event in, ImageEnrichmentParameters params) {
@@ -89,19 +86,15 @@ public class ImageTransformer extends PlainImageTransformer<ImageEnrichmentParam
   }
 
 
-  public Optional<byte[]> makeImage(BufferedImage image) {
-
+  /**
+   * @return The image as Base64 encoded JPEG
+   */
+  public Optional<String> makeImage(BufferedImage image) {
     try {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      ImageIO.write(image, "jpg", baos);
-      baos.flush();
-      byte[] finalImage = baos.toByteArray();
-      baos.close();
-      return Optional.of(finalImage);
+      return Optional.of(ImageCodec.get().encodeJpeg(image));
     } catch (IOException e) {
       e.printStackTrace();
       return Optional.empty();
     }
-
   }
 }
@@ -21,14 +21,9 @@ import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Base64;
 import java.util.Optional;
 
-import javax.imageio.ImageIO;
-
 public class PlainImageTransformer<T extends EventProcessorBindingParams> {
 
   protected Event in;
@@ -39,12 +34,14 @@ public class PlainImageTransformer<T extends EventProcessorBindingParams> {
     this.params = params;
   }
 
+  /**
+   * Decodes the image with the codec of the current thread. The image is reused by the next decode on this thread.
+   */
   public Optional<BufferedImage> getImage(String imagePropertyName) {
     String imageBase64 = in.getFieldBySelector(imagePropertyName).getAsPrimitive().getAsString();
 
-    InputStream img = new ByteArrayInputStream(Base64.getDecoder().decode(imageBase64));
     try {
-      return Optional.of(ImageIO.read(img));
+      return Optional.of(ImageCodec.get().decode(imageBase64));
     } catch (IOException e) {
       e.printStackTrace();
       return Optional.empty();
@@ -18,85 +18,172 @@
 package org.apache.streampipes.processors.imageprocessing.jvm.processor.genericclassification;
 
 import boofcv.abst.scene.ImageClassifier;
-import boofcv.factory.scene.ClassifierAndSource;
-import boofcv.factory.scene.FactoryImageClassifier;
 import boofcv.io.image.ConvertBufferedImage;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.Planar;
-import deepboof.io.DeepBoofDataBaseOps;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.imageprocessing.jvm.config.ImageProcessingJvmConfig;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.commons.PlainImageTransformer;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class GenericImageClassification implements EventProcessor<GenericImageClassificationParameters> {
 
-  private GenericImageClassificationParameters params;
-  private ClassifierAndSource cs;
+  private static final ThreadLocal<Planar<GrayF32>> PLANAR_IMAGE =
+          ThreadLocal.withInitial(() -> new Planar<>(GrayF32.class, 1, 1, 3));
 
-  private ImageClassifier<Planar<GrayF32>> classifier;
+  private GenericImageClassificationParameters params;
+  private Logger logger;
+  private ClassifierPool classifiers;
   private List<String> categories;
+  private OrderedWorkerPool<List<Event>> workers;
+
+  private int topK;
+  private int batchSize;
+  private long maxLatency;
+  private ScheduledExecutorService batchTimer;
+  private List<Event> batch = new ArrayList<>();
+  private long batchStart;
 
   @Override
-  public void onInvocation(GenericImageClassificationParameters genericImageClassificationParameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
+  public void onInvocation(GenericImageClassificationParameters genericImageClassificationParameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
     this.params = genericImageClassificationParameters;
-    //this.cs = FactoryImageClassifier.vgg_cifar10();  // Test set 89.9% for 10 categories
-		ClassifierAndSource cs = FactoryImageClassifier.nin_imagenet(); // Test set 62.6% for 1000 categories
+    this.logger = params.getGraph().getLogger(GenericImageClassification.class);
+    // the best category is always emitted, as before top-k was configurable
+    this.topK = Math.max(1, params.getTopK());
+    this.batchSize = Math.max(1, params.getBatchSize());
+    this.maxLatency = Math.max(1, params.getMaxLatency());
+    int workerCount = ImageProcessingJvmConfig.INSTANCE.getImageWorkers();
 
-    File path = DeepBoofDataBaseOps.downloadModel(cs.getSource(), new File("download_data"));
-
-    this.classifier = cs.getClassifier();
+    this.classifiers = ClassifierPool.get(ImageProcessingJvmConfig.INSTANCE.getModelDirectory(), workerCount);
     try {
-      this.classifier.loadModel(path);
-    } catch (IOException e) {
-      e.printStackTrace();
+      // loads the first classifier now, so that a missing model fails the invocation instead of the first event
+      classifiers.release(classifiers.borrow());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while loading the classifier");
+    }
+    this.categories = classifiers.getCategories();
+
+    this.workers = new OrderedWorkerPool<>("image-classification", workerCount, 2 * workerCount,
+            events -> events.forEach(spOutputCollector::collect),
+            e -> logger.error("Could not classify image: " + e.getMessage()));
+
+    if (batchSize > 1) {
+      this.batchTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "image-classification-batch-timer");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long period = Math.max(1, maxLatency / 2);
+      batchTimer.scheduleAtFixedRate(this::flushIfDue, period, period, TimeUnit.MILLISECONDS);
     }
-    this.categories = classifier.getCategories();
   }
 
   @Override
-  public void onEvent(Event in, SpOutputCollector out) {
+  public void onEvent(Event in, SpOutputCollector out) throws SpRuntimeException {
+    synchronized (this) {
+      if (batch.isEmpty()) {
+        batchStart = System.currentTimeMillis();
+      }
+      batch.add(in);
+      if (batch.size() >= batchSize) {
+        flush();
+      }
+    }
+  }
+
+  private synchronized void flushIfDue() {
+    if (!batch.isEmpty() && System.currentTimeMillis() - batchStart >= maxLatency) {
+      try {
+        flush();
+      } catch (SpRuntimeException e) {
+        logger.error(e.getMessage());
+      }
+    }
+  }
+
+  private void flush() throws SpRuntimeException {
+    List<Event> frames = batch;
+    batch = new ArrayList<>(batchSize);
+    try {
+      workers.submit(() -> classify(frames));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for an image worker");
+    }
+  }
+
+  /**
+   * Classifies the frames of a batch with one classifier instance
+   */
+  private List<Event> classify(List<Event> frames) throws SpRuntimeException, InterruptedException {
+    List<Event> results = new ArrayList<>(frames.size());
+    ImageClassifier<Planar<GrayF32>> classifier = classifiers.borrow();
+    try {
+      for (Event in : frames) {
+        classify(classifier, in).ifPresent(results::add);
+      }
+    } finally {
+      classifiers.release(classifier);
+    }
+    return results;
+  }
+
+  private Optional<Event> classify(ImageClassifier<Planar<GrayF32>> classifier, Event in) {
     PlainImageTransformer<GenericImageClassificationParameters> imageTransformer = new
             PlainImageTransformer<>(in,
             params);
 
-
     Optional<BufferedImage> imageOpt = imageTransformer.getImage(params.getImagePropertyName());
     if (imageOpt.isPresent()) {
       BufferedImage buffered = imageOpt.get();
-      Planar<GrayF32> image = new Planar<>(GrayF32.class, buffered.getWidth(), buffered.getHeight(), 3);
+      Planar<GrayF32> image = PLANAR_IMAGE.get();
+      image.reshape(buffered.getWidth(), buffered.getHeight());
       ConvertBufferedImage.convertFromPlanar(buffered, image, true, GrayF32.class);
 
       classifier.classify(image);
-      List<ImageClassifier.Score> scores = classifier.getAllResults();
-      scores.sort(new Comparator<ImageClassifier.Score>() {
-        @Override
-        public int compare(ImageClassifier.Score o1, ImageClassifier.Score o2) {
-          return (o1.score - o2.score) >= 0 ? -1 : 1;
-        }
-      });
-      //Collections.reverse(scores);
+      TopScores scores = new TopScores(classifier.getAllResults(), topK);
 
       if (scores.size() > 0) {
-        System.out.println(scores.get(0).score +":" +categories.get(scores.get(0).category));
-        //scores.forEach(score -> System.out.println(score.category +":" +categories.get(score.category) +":" +score));
-        in.addField("score", scores.get(0).score);
-        in.addField("category", categories.get(scores.get(0).category));
-        out.collect(in);
+        List<String> topCategories = new ArrayList<>(scores.size());
+        List<Double> topScores = new ArrayList<>(scores.size());
+        for (int i = 0; i < scores.size(); i++) {
+          topCategories.add(categories.get(scores.getCategory(i)));
+          topScores.add(scores.getScore(i));
+        }
+        in.addField("score", scores.getScore(0));
+        in.addField("category", topCategories.get(0));
+        in.addField("topCategories", topCategories);
+        in.addField("topScores", topScores);
+        return Optional.of(in);
       }
     }
+    return Optional.empty();
   }
 
   @Override
-  public void onDetach() {
-
+  public void onDetach() throws SpRuntimeException {
+    if (batchTimer != null) {
+      batchTimer.shutdownNow();
+    }
+    synchronized (this) {
+      if (!batch.isEmpty()) {
+        flush();
+      }
+    }
+    workers.stop();
   }
 }
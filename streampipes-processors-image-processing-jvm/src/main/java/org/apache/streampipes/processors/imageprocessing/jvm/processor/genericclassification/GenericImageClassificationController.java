@@ -32,6 +32,9 @@ import org.apache.streampipes.wrapper.standalone.declarer.StandaloneEventProcess
 public class GenericImageClassificationController extends StandaloneEventProcessingDeclarer<GenericImageClassificationParameters> {
 
   private static final String IMAGE = "image-mapping";
+  private static final String TOP_K = "top-k";
+  private static final String BATCH_SIZE = "batch-size";
+  private static final String MAX_LATENCY = "max-latency";
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -45,10 +48,14 @@ public class GenericImageClassificationController extends StandaloneEventProcess
                                     .domainPropertyReq("https://image.com"), Labels.withId(IMAGE),
                             PropertyScope.NONE)
                     .build())
+            .requiredIntegerParameter(Labels.withId(TOP_K), 5)
+            .requiredIntegerParameter(Labels.withId(BATCH_SIZE), 1)
+            .requiredIntegerParameter(Labels.withId(MAX_LATENCY), 100)
             .outputStrategy(OutputStrategies.append(
                     EpProperties.doubleEp(Labels.empty(), "score", "https://schema.org/score"),
-                    EpProperties.stringEp(Labels.empty(), "category", "https://schema.org/category")
-
+                    EpProperties.stringEp(Labels.empty(), "category", "https://schema.org/category"),
+                    EpProperties.listStringEp(Labels.empty(), "topCategories", "http://schema.org/ItemList"),
+                    EpProperties.listDoubleEp(Labels.empty(), "topScores", "http://schema.org/ItemList")
             ))
             .build();
   }
@@ -57,8 +64,12 @@ public class GenericImageClassificationController extends StandaloneEventProcess
   public ConfiguredEventProcessor<GenericImageClassificationParameters> onInvocation(DataProcessorInvocation graph, ProcessingElementParameterExtractor extractor) {
 
     String imageProperty = extractor.mappingPropertyValue(IMAGE);
+    Integer topK = extractor.singleValueParameter(TOP_K, Integer.class);
+    Integer batchSize = extractor.singleValueParameter(BATCH_SIZE, Integer.class);
+    Integer maxLatency = extractor.singleValueParameter(MAX_LATENCY, Integer.class);
 
-    GenericImageClassificationParameters staticParam = new GenericImageClassificationParameters(graph, imageProperty);
+    GenericImageClassificationParameters staticParam = new GenericImageClassificationParameters(graph, imageProperty,
+            topK, batchSize, maxLatency);
 
     return new ConfiguredEventProcessor<>(staticParam, GenericImageClassification::new);
   }
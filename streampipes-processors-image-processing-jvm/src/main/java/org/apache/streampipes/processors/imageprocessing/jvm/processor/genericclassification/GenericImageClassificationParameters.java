@@ -23,13 +23,32 @@ import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams
 public class GenericImageClassificationParameters extends EventProcessorBindingParams {
 
   private String imagePropertyName;
+  private Integer topK;
+  private Integer batchSize;
+  private Integer maxLatency;
 
-  public GenericImageClassificationParameters(DataProcessorInvocation graph, String imagePropertyName) {
+  public GenericImageClassificationParameters(DataProcessorInvocation graph, String imagePropertyName, Integer topK,
+                                              Integer batchSize, Integer maxLatency) {
     super(graph);
     this.imagePropertyName = imagePropertyName;
+    this.topK = topK;
+    this.batchSize = batchSize;
+    this.maxLatency = maxLatency;
   }
 
   public String getImagePropertyName() {
     return imagePropertyName;
   }
+
+  public Integer getTopK() {
+    return topK;
+  }
+
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public Integer getMaxLatency() {
+    return maxLatency;
+  }
 }
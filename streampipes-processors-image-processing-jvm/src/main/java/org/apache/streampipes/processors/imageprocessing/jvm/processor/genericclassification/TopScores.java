@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.genericclassification;
+
+import boofcv.abst.scene.ImageClassifier;
+
+import java.util.List;
+
+/**
+ * Selects the best scores of a classification without sorting all scores (O(n log k) instead of O(n log n)).
+ */
+public class TopScores {
+
+  private final int[] categories;
+  private final double[] scores;
+  private int size;
+
+  /**
+   * @param scores The scores of all categories
+   * @param k      The number of scores to select
+   */
+  public TopScores(List<ImageClassifier.Score> scores, int k) {
+    int capacity = Math.max(0, Math.min(k, scores.size()));
+    this.categories = new int[capacity];
+    this.scores = new double[capacity];
+    if (capacity > 0) {
+      for (ImageClassifier.Score score : scores) {
+        offer(score.category, score.score);
+      }
+      sortDescending();
+    }
+  }
+
+  private void offer(int category, double score) {
+    if (size < scores.length) {
+      scores[size] = score;
+      categories[size] = category;
+      siftUp(size++);
+    } else if (score > scores[0]) {
+      // replaces the smallest of the selected scores
+      scores[0] = score;
+      categories[0] = category;
+      siftDown(0, size);
+    }
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) / 2;
+      if (scores[parent] <= scores[i]) {
+        return;
+      }
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i, int n) {
+    while (true) {
+      int smallest = i;
+      int left = 2 * i + 1;
+      int right = left + 1;
+      if (left < n && scores[left] < scores[smallest]) {
+        smallest = left;
+      }
+      if (right < n && scores[right] < scores[smallest]) {
+        smallest = right;
+      }
+      if (smallest == i) {
+        return;
+      }
+      swap(i, smallest);
+      i = smallest;
+    }
+  }
+
+  private void sortDescending() {
+    // heap sort of the min-heap moves the smallest scores to the end
+    for (int n = size - 1; n > 0; n--) {
+      swap(0, n);
+      siftDown(0, n);
+    }
+  }
+
+  private void swap(int i, int j) {
+    double score = scores[i];
+    scores[i] = scores[j];
+    scores[j] = score;
+    int category = categories[i];
+    categories[i] = categories[j];
+    categories[j] = category;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return The category with the i-th best score (0 is the best)
+   */
+  public int getCategory(int i) {
+    return categories[i];
+  }
+
+  public double getScore(int i) {
+    return scores[i];
+  }
+}
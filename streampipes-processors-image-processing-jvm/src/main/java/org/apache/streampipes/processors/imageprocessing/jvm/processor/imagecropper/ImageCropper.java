@@ -17,7 +17,12 @@
  */
 package org.apache.streampipes.processors.imageprocessing.jvm.processor.imagecropper;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.imageprocessing.jvm.config.ImageProcessingJvmConfig;
+import org.apache.streampipes.processors.imageprocessing.jvm.processor.commons.ImageCodec;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.commons.ImageTransformer;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.imageenrichment.BoxCoordinates;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
@@ -25,7 +30,7 @@ import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
 import java.awt.image.BufferedImage;
-import java.util.Base64;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,14 +38,32 @@ import java.util.Optional;
 public class ImageCropper implements EventProcessor<ImageCropperParameters> {
 
   private ImageCropperParameters params;
+  private OrderedWorkerPool<List<Event>> workers;
 
   @Override
   public void onInvocation(ImageCropperParameters imageCropperParameters, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
     this.params = imageCropperParameters;
+    Logger logger = params.getGraph().getLogger(ImageCropper.class);
+    int workerCount = ImageProcessingJvmConfig.INSTANCE.getImageWorkers();
+
+    ImageCodec.setJpegQuality(ImageProcessingJvmConfig.INSTANCE.getJpegQuality());
+    this.workers = new OrderedWorkerPool<>("image-cropper", workerCount, 2 * workerCount,
+            events -> events.forEach(spOutputCollector::collect),
+            e -> logger.error("Could not crop image: " + e.getMessage()));
   }
 
   @Override
-  public void onEvent(Event in, SpOutputCollector out) {
+  public void onEvent(Event in, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> crop(in));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for an image worker");
+    }
+  }
+
+  private List<Event> crop(Event in) {
+    List<Event> outEvents = new ArrayList<>();
     ImageTransformer imageTransformer = new ImageTransformer(in, params);
     Optional<BufferedImage> imageOpt = imageTransformer.getImage();
 
@@ -54,22 +77,23 @@ public class ImageCropper implements EventProcessor<ImageCropperParameters> {
         BufferedImage dest = image.getSubimage(boxCoordinates.getX(), boxCoordinates.getY(), boxCoordinates.getWidth(),
                 boxCoordinates.getHeight());
 
-        Optional<byte[]> finalImage = imageTransformer.makeImage(dest);
+        Optional<String> finalImage = imageTransformer.makeImage(dest);
 
         if (finalImage.isPresent()) {
           Event outEvent = new Event();
           outEvent.addField("timestamp", in.getFieldByRuntimeName("timestamp").getAsPrimitive().getAsLong());
-          outEvent.addField("image", Base64.getEncoder().encodeToString(finalImage.get()));
+          outEvent.addField("image", finalImage.get());
           outEvent.addField("classname", box.get("classname"));
           outEvent.addField("score", box.get("score"));
-          out.collect(outEvent);
+          outEvents.add(outEvent);
         }
       }
     }
+    return outEvents;
   }
 
   @Override
   public void onDetach() {
-
+    workers.stop();
   }
 }
@@ -17,6 +17,11 @@
  */
 package org.apache.streampipes.processors.imageprocessing.jvm.processor.imageenrichment;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.imageprocessing.jvm.config.ImageProcessingJvmConfig;
+import org.apache.streampipes.processors.imageprocessing.jvm.processor.commons.ImageCodec;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.commons.ImageTransformer;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
@@ -25,7 +30,6 @@ import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,14 +37,31 @@ import java.util.Optional;
 public class ImageEnricher implements EventProcessor<ImageEnrichmentParameters> {
 
   private ImageEnrichmentParameters params;
+  private OrderedWorkerPool<org.apache.streampipes.model.runtime.Event> workers;
 
   @Override
   public void onInvocation(ImageEnrichmentParameters params, SpOutputCollector spOutputCollector, EventProcessorRuntimeContext runtimeContext) {
     this.params = params;
+    Logger logger = params.getGraph().getLogger(ImageEnricher.class);
+    int workerCount = ImageProcessingJvmConfig.INSTANCE.getImageWorkers();
+
+    ImageCodec.setJpegQuality(ImageProcessingJvmConfig.INSTANCE.getJpegQuality());
+    this.workers = new OrderedWorkerPool<>("image-enricher", workerCount, 2 * workerCount,
+            spOutputCollector::collect,
+            e -> logger.error("Could not enrich image: " + e.getMessage()));
   }
 
   @Override
-  public void onEvent(org.apache.streampipes.model.runtime.Event in, SpOutputCollector out) {
+  public void onEvent(org.apache.streampipes.model.runtime.Event in, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> enrich(in));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for an image worker");
+    }
+  }
+
+  private org.apache.streampipes.model.runtime.Event enrich(org.apache.streampipes.model.runtime.Event in) {
     ImageTransformer imageTransformer = new ImageTransformer(in, params);
 
     Optional<BufferedImage> imageOpt =
@@ -84,19 +105,19 @@ public class ImageEnricher implements EventProcessor<ImageEnrichmentParameters>
 
       }
 
-      Optional<byte[]> finalImage = imageTransformer.makeImage(image);
+      Optional<String> finalImage = imageTransformer.makeImage(image);
 
       if (finalImage.isPresent()) {
         org.apache.streampipes.model.runtime.Event event = new org.apache.streampipes.model.runtime.Event();
-        event.addField("image", Base64.getEncoder().encodeToString(finalImage.get()));
-        out.collect(event);
+        event.addField("image", finalImage.get());
+        return event;
       }
     }
-
+    return null;
   }
 
   @Override
   public void onDetach() {
-
+    workers.stop();
   }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.qrreader;
+
+import boofcv.struct.image.GrayU8;
+
+/**
+ * A coarse fingerprint of a gray scale image: the mean brightness of a grid of blocks. Two frames are similar if no
+ * block mean differs by more than a small tolerance, which ignores sensor noise but not a moved or changed QR code.
+ */
+public class FrameSignature {
+
+  private static final int GRID = 16;
+  private static final int TOLERANCE = 4;
+
+  private final int width;
+  private final int height;
+  private final int[] means = new int[GRID * GRID];
+
+  public FrameSignature(GrayU8 image) {
+    this.width = image.width;
+    this.height = image.height;
+
+    long[] sums = new long[GRID * GRID];
+    int[] counts = new int[GRID * GRID];
+    for (int y = 0; y < image.height; y++) {
+      int row = (int) ((long) y * GRID / image.height) * GRID;
+      int index = image.startIndex + y * image.stride;
+      for (int x = 0; x < image.width; x++) {
+        int block = row + (int) ((long) x * GRID / image.width);
+        sums[block] += image.data[index + x] & 0xFF;
+        counts[block]++;
+      }
+    }
+    for (int i = 0; i < means.length; i++) {
+      means[i] = counts[i] > 0 ? (int) (sums[i] / counts[i]) : 0;
+    }
+  }
+
+  public boolean isSimilar(FrameSignature other) {
+    if (other == null || other.width != width || other.height != height) {
+      return false;
+    }
+    for (int i = 0; i < means.length; i++) {
+      if (Math.abs(means[i] - other.means[i]) > TOLERANCE) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
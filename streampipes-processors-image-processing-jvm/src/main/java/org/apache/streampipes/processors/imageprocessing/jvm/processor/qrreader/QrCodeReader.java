@@ -17,28 +17,36 @@
  */
 package org.apache.streampipes.processors.imageprocessing.jvm.processor.qrreader;
 
-import boofcv.abst.fiducial.QrCodeDetector;
-import boofcv.alg.fiducial.qrcode.QrCode;
-import boofcv.factory.fiducial.FactoryFiducial;
-import boofcv.io.image.ConvertBufferedImage;
 import boofcv.struct.image.GrayU8;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.imageprocessing.jvm.config.ImageProcessingJvmConfig;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.commons.PlainImageTransformer;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
 import java.awt.image.BufferedImage;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class QrCodeReader implements EventProcessor<QrCodeReaderParameters> {
 
   private QrCodeReaderParameters params;
   private Boolean sendIfNoResult;
   private String placeholderValue;
+  private RegionOfInterest region;
+  private int downscale;
+  private boolean skipUnchanged;
+  private OrderedWorkerPool<Event> workers;
+
+  // the signature and result of the previously submitted frame, only accessed by the event thread
+  private CompletableFuture<FrameSignature> lastSignature;
+  private CompletableFuture<Optional<String>> lastResult;
+
   private static final Logger LOG = LoggerFactory.getLogger(QrCodeReader.class);
 
   @Override
@@ -46,39 +54,89 @@ public class QrCodeReader implements EventProcessor<QrCodeReaderParameters> {
     this.params = qrCodeReaderParameters;
     this.sendIfNoResult = qrCodeReaderParameters.getSendIfNoResult();
     this.placeholderValue = qrCodeReaderParameters.getPlaceholderValue();
+    this.region = qrCodeReaderParameters.getRegionOfInterest();
+    this.downscale = Math.max(1, qrCodeReaderParameters.getDownscale());
+    this.skipUnchanged = qrCodeReaderParameters.getSkipUnchanged();
+
+    int workerCount = ImageProcessingJvmConfig.INSTANCE.getImageWorkers();
+    this.workers = new OrderedWorkerPool<>("qr-code-reader", workerCount, 2 * workerCount,
+            spOutputCollector::collect,
+            e -> LOG.error("Could not read QR code", e));
   }
 
   @Override
-  public void onEvent(Event in, SpOutputCollector out) {
+  public void onEvent(Event in, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      if (skipUnchanged) {
+        CompletableFuture<FrameSignature> previousSignature = lastSignature;
+        CompletableFuture<Optional<String>> previousResult = lastResult;
+        CompletableFuture<FrameSignature> signature = new CompletableFuture<>();
+        CompletableFuture<Optional<String>> result = new CompletableFuture<>();
+        lastSignature = signature;
+        lastResult = result;
+        workers.submit(() -> read(in, new FrameComparison(previousSignature, previousResult, signature, result)));
+      } else {
+        workers.submit(() -> read(in, null));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for an image worker");
+    }
+  }
+
+  private Event read(Event in, FrameComparison comparison) {
+    try {
+      return read(in, comparison, QrCodeScanner.get());
+    } finally {
+      if (comparison != null) {
+        // does nothing if the frame was read, so that the next frame never waits for a failed one
+        comparison.signature.complete(null);
+        comparison.result.complete(Optional.empty());
+      }
+    }
+  }
+
+  private Event read(Event in, FrameComparison comparison, QrCodeScanner scanner) {
     PlainImageTransformer<QrCodeReaderParameters> imageTransformer = new PlainImageTransformer<>
             (in, params);
     Optional<BufferedImage> imageOpt = imageTransformer.getImage(params.getImagePropertyName());
 
     if (imageOpt.isPresent()) {
-      BufferedImage input = imageOpt.get();
-
-      GrayU8 gray = ConvertBufferedImage.convertFrom(input, (GrayU8) null);
-
-      QrCodeDetector<GrayU8> detector = FactoryFiducial.qrcode(null, GrayU8.class);
+      GrayU8 gray = scanner.prepare(imageOpt.get(), region, downscale);
+      Optional<String> result = comparison != null ? detectIfChanged(scanner, gray, comparison) : scanner.detect(gray);
 
-      detector.process(gray);
-      List<QrCode> detections = detector.getDetections();
-      List<QrCode> failures = detector.getFailures();
-
-      if (detections.size() > 0) {
-        LOG.info(detections.get(0).message);
-        Event event = makeEvent(detections.get(0).message);
-        out.collect(event);
+      if (result.isPresent()) {
+        LOG.debug(result.get());
+        return makeEvent(result.get());
       } else {
-        LOG.info("Could not find any QR code");
+        LOG.debug("Could not find any QR code");
         if (sendIfNoResult) {
-          Event event = makeEvent(placeholderValue);
-          out.collect(event);
+          return makeEvent(placeholderValue);
         }
       }
+    }
+    return null;
+  }
 
-
+  /**
+   * Reuses the result of the previously submitted frame if this frame looks like the frame the result was detected
+   * in. The workers take the frames in submission order, so the previous frame is being read or done.
+   */
+  private Optional<String> detectIfChanged(QrCodeScanner scanner, GrayU8 gray, FrameComparison comparison) {
+    FrameSignature signature = new FrameSignature(gray);
+    FrameSignature previousSignature = comparison.previousSignature != null
+            ? comparison.previousSignature.join() : null;
+    if (signature.isSimilar(previousSignature)) {
+      // keeps comparing against the frame of the result, so that slow changes are not missed
+      comparison.signature.complete(previousSignature);
+      Optional<String> result = comparison.previousResult.join();
+      comparison.result.complete(result);
+      return result;
     }
+    comparison.signature.complete(signature);
+    Optional<String> result = scanner.detect(gray);
+    comparison.result.complete(result);
+    return result;
   }
 
   private Event makeEvent(String qrCodeValue) {
@@ -91,6 +149,24 @@ public class QrCodeReader implements EventProcessor<QrCodeReaderParameters> {
 
   @Override
   public void onDetach() {
+    workers.stop();
+  }
 
+  private static class FrameComparison {
+
+    private final CompletableFuture<FrameSignature> previousSignature;
+    private final CompletableFuture<Optional<String>> previousResult;
+    private final CompletableFuture<FrameSignature> signature;
+    private final CompletableFuture<Optional<String>> result;
+
+    private FrameComparison(CompletableFuture<FrameSignature> previousSignature,
+                            CompletableFuture<Optional<String>> previousResult,
+                            CompletableFuture<FrameSignature> signature,
+                            CompletableFuture<Optional<String>> result) {
+      this.previousSignature = previousSignature;
+      this.previousResult = previousResult;
+      this.signature = signature;
+      this.result = result;
+    }
   }
 }
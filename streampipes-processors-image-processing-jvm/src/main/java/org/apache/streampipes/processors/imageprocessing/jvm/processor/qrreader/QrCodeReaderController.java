@@ -41,6 +41,12 @@ public class QrCodeReaderController extends StandaloneEventProcessingDeclarer<Qr
   private static final String PLACEHOLDER_VALUE = "placeholder-value";
   private static final String SEND_IF_NO_RESULT = "send-if-no-result";
   private static final String QR_VALUE = "qr-value";
+  private static final String ROI_X = "roi-x";
+  private static final String ROI_Y = "roi-y";
+  private static final String ROI_WIDTH = "roi-width";
+  private static final String ROI_HEIGHT = "roi-height";
+  private static final String DOWNSCALE = "downscale";
+  private static final String SKIP_UNCHANGED = "skip-unchanged";
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -54,6 +60,12 @@ public class QrCodeReaderController extends StandaloneEventProcessingDeclarer<Qr
                     PropertyScope.NONE).build())
             .requiredSingleValueSelection(Labels.withId(SEND_IF_NO_RESULT), Options.from("Yes", "No"))
             .requiredTextParameter(Labels.withId(PLACEHOLDER_VALUE))
+            .requiredIntegerParameter(Labels.withId(ROI_X), 0)
+            .requiredIntegerParameter(Labels.withId(ROI_Y), 0)
+            .requiredIntegerParameter(Labels.withId(ROI_WIDTH), 0)
+            .requiredIntegerParameter(Labels.withId(ROI_HEIGHT), 0)
+            .requiredIntegerParameter(Labels.withId(DOWNSCALE), 1)
+            .requiredSingleValueSelection(Labels.withId(SKIP_UNCHANGED), Options.from("No", "Yes"))
             .outputStrategy(OutputStrategies.fixed(EpProperties.timestampProperty("timestamp"),
                     EpProperties.stringEp(Labels.withId(QR_VALUE),
                             "qrvalue", "http://schema.org/text")))
@@ -66,9 +78,17 @@ public class QrCodeReaderController extends StandaloneEventProcessingDeclarer<Qr
     String placeholderValue = extractor.singleValueParameter(PLACEHOLDER_VALUE, String.class);
     Boolean sendIfNoResult = extractor.selectedSingleValue(SEND_IF_NO_RESULT, String.class)
             .equals("Yes");
+    RegionOfInterest regionOfInterest = new RegionOfInterest(
+            extractor.singleValueParameter(ROI_X, Integer.class),
+            extractor.singleValueParameter(ROI_Y, Integer.class),
+            extractor.singleValueParameter(ROI_WIDTH, Integer.class),
+            extractor.singleValueParameter(ROI_HEIGHT, Integer.class));
+    Integer downscale = extractor.singleValueParameter(DOWNSCALE, Integer.class);
+    Boolean skipUnchanged = extractor.selectedSingleValue(SKIP_UNCHANGED, String.class)
+            .equals("Yes");
 
     QrCodeReaderParameters params = new QrCodeReaderParameters(dataProcessorInvocation,
-            imagePropertyName, placeholderValue, sendIfNoResult);
+            imagePropertyName, placeholderValue, sendIfNoResult, regionOfInterest, downscale, skipUnchanged);
 
     return new ConfiguredEventProcessor<>(params, QrCodeReader::new);
   }
@@ -25,13 +25,20 @@ public class QrCodeReaderParameters extends EventProcessorBindingParams {
   private String imagePropertyName;
   private String placeholderValue;
   private Boolean sendIfNoResult;
+  private RegionOfInterest regionOfInterest;
+  private Integer downscale;
+  private Boolean skipUnchanged;
 
   public QrCodeReaderParameters(DataProcessorInvocation graph, String imagePropertyName, String
-          placeholderValue, Boolean sendIfNoResult) {
+          placeholderValue, Boolean sendIfNoResult, RegionOfInterest regionOfInterest, Integer downscale,
+                                Boolean skipUnchanged) {
     super(graph);
     this.imagePropertyName = imagePropertyName;
     this.placeholderValue = placeholderValue;
     this.sendIfNoResult = sendIfNoResult;
+    this.regionOfInterest = regionOfInterest;
+    this.downscale = downscale;
+    this.skipUnchanged = skipUnchanged;
   }
 
   public String getImagePropertyName() {
@@ -45,4 +52,16 @@ public class QrCodeReaderParameters extends EventProcessorBindingParams {
   public Boolean getSendIfNoResult() {
     return sendIfNoResult;
   }
+
+  public RegionOfInterest getRegionOfInterest() {
+    return regionOfInterest;
+  }
+
+  public Integer getDownscale() {
+    return downscale;
+  }
+
+  public Boolean getSkipUnchanged() {
+    return skipUnchanged;
+  }
 }
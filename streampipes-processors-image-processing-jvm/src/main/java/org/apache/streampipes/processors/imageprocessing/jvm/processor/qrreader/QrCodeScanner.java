@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.qrreader;
+
+import boofcv.abst.fiducial.QrCodeDetector;
+import boofcv.alg.fiducial.qrcode.QrCode;
+import boofcv.factory.fiducial.FactoryFiducial;
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.struct.image.GrayU8;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The QR code detector of a thread together with its gray scale buffers, which are reused for all images of the
+ * same size instead of being allocated for each image.
+ */
+public class QrCodeScanner {
+
+  private static final ThreadLocal<QrCodeScanner> SCANNERS = ThreadLocal.withInitial(QrCodeScanner::new);
+
+  private final QrCodeDetector<GrayU8> detector = FactoryFiducial.qrcode(null, GrayU8.class);
+  private final GrayU8 gray = new GrayU8(1, 1);
+  private final GrayU8 scaled = new GrayU8(1, 1);
+
+  /**
+   * @return The scanner of the current thread
+   */
+  public static QrCodeScanner get() {
+    return SCANNERS.get();
+  }
+
+  /**
+   * Converts the image to gray scale, restricted to the region of interest and downscaled. The returned image is
+   * reused by the next call on this thread.
+   *
+   * @param input     The image
+   * @param region    The region of interest
+   * @param downscale The factor the image is downscaled by (1 keeps the resolution)
+   * @return The gray scale image
+   */
+  public GrayU8 prepare(BufferedImage input, RegionOfInterest region, int downscale) {
+    gray.reshape(input.getWidth(), input.getHeight());
+    ConvertBufferedImage.convertFrom(input, gray);
+
+    GrayU8 image = region.isFullImage() ? gray : region.apply(gray);
+    if (downscale > 1 && image.width >= downscale && image.height >= downscale) {
+      downscale(image, scaled, downscale);
+      image = scaled;
+    }
+    return image;
+  }
+
+  /**
+   * @return The message of the first detected QR code
+   */
+  public Optional<String> detect(GrayU8 image) {
+    detector.process(image);
+    List<QrCode> detections = detector.getDetections();
+    return detections.isEmpty() ? Optional.empty() : Optional.of(detections.get(0).message);
+  }
+
+  /**
+   * Averages blocks of factor x factor pixels
+   */
+  private static void downscale(GrayU8 input, GrayU8 output, int factor) {
+    int width = input.width / factor;
+    int height = input.height / factor;
+    int area = factor * factor;
+    output.reshape(width, height);
+
+    for (int y = 0; y < height; y++) {
+      int outIndex = output.startIndex + y * output.stride;
+      int rowIndex = input.startIndex + y * factor * input.stride;
+      for (int x = 0; x < width; x++) {
+        int sum = 0;
+        int blockIndex = rowIndex + x * factor;
+        for (int j = 0; j < factor; j++) {
+          int index = blockIndex + j * input.stride;
+          for (int i = 0; i < factor; i++) {
+            sum += input.data[index + i] & 0xFF;
+          }
+        }
+        output.data[outIndex + x] = (byte) ((sum + area / 2) / area);
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.qrreader;
+
+import boofcv.struct.image.GrayU8;
+
+/**
+ * The part of an image the QR code is searched in. A width or height of 0 extends the region to the border of the
+ * image.
+ */
+public class RegionOfInterest {
+
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+
+  public RegionOfInterest(int x, int y, int width, int height) {
+    this.x = Math.max(0, x);
+    this.y = Math.max(0, y);
+    this.width = Math.max(0, width);
+    this.height = Math.max(0, height);
+  }
+
+  public boolean isFullImage() {
+    return x == 0 && y == 0 && width == 0 && height == 0;
+  }
+
+  /**
+   * @return A view on the region of the image (without copying the pixels), or the image if the region is empty
+   */
+  public GrayU8 apply(GrayU8 image) {
+    int x0 = Math.min(x, image.width);
+    int y0 = Math.min(y, image.height);
+    int x1 = width > 0 ? Math.min(image.width, x0 + width) : image.width;
+    int y1 = height > 0 ? Math.min(image.height, y0 + height) : image.height;
+    if (x1 <= x0 || y1 <= y0) {
+      return image;
+    }
+    return image.subimage(x0, y0, x1, y1);
+  }
+}
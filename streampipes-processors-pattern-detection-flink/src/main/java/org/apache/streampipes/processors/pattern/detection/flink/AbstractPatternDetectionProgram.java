@@ -43,7 +43,6 @@ public abstract class AbstractPatternDetectionProgram<B extends EventProcessorBi
   @Override
   public void appendEnvironmentConfig(StreamExecutionEnvironment env) {
     env.setStreamTimeCharacteristic(TimeCharacteristic.EventTime);
-    env.setParallelism(1);
   }
 
 }
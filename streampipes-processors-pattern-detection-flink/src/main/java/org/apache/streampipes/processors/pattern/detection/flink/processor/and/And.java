@@ -17,5 +17,20 @@
  */
 package org.apache.streampipes.processors.pattern.detection.flink.processor.and;
 
-public class And {
+import org.apache.flink.streaming.api.functions.co.ProcessJoinFunction;
+import org.apache.flink.util.Collector;
+import org.apache.streampipes.model.runtime.Event;
+
+/**
+ * Merges a pair of events of both streams with the same key whose event times lie within the time window.
+ */
+public class And extends ProcessJoinFunction<Event, Event, Event> {
+
+  @Override
+  public void processElement(Event left, Event right, Context ctx, Collector<Event> out) {
+    Event map = new Event();
+    left.getFields().forEach((key, value) -> map.addField(value));
+    right.getFields().forEach((key, value) -> map.addField(value));
+    out.collect(map);
+  }
 }
@@ -17,17 +17,11 @@
  */
 package org.apache.streampipes.processors.pattern.detection.flink.processor.and;
 
-import org.apache.flink.api.common.functions.JoinFunction;
-import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
-import org.apache.flink.streaming.api.windowing.assigners.TumblingEventTimeWindows;
 import org.apache.flink.streaming.api.windowing.time.Time;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.pattern.detection.flink.AbstractPatternDetectionProgram;
 
-import java.util.List;
-
-
 public class AndProgram extends AbstractPatternDetectionProgram<AndParameters> {
 
   public AndProgram(AndParameters params, boolean debug) {
@@ -36,39 +30,15 @@ public class AndProgram extends AbstractPatternDetectionProgram<AndParameters> {
 
   @Override
   public DataStream<Event> getApplicationLogic(DataStream<Event>... messageStream) {
-    // A AND B within x minutes
-    List<String> leftMappings = params.getLeftMappings();
-    List<String> rightMappings = params.getRightMappings();
-    Time time = TimeUnitConverter.toTime(params.getTimeUnit(), params.getTimeWindow());
+    // A AND B within x minutes, in any order
+    long windowInMillis = TimeUnitConverter.toTime(params.getTimeUnit(), params.getTimeWindow()).toMilliseconds();
 
-    return messageStream[0].join(messageStream[1])
-            .where(new KeySelector<Event, String>() {
-              @Override
-              public String getKey(Event stringObjectMap) throws Exception {
-                StringBuilder builder = new StringBuilder();
-                for (String key : leftMappings) {
-                  builder.append(key);
-                }
-                return builder.toString();
-              }
-            }).equalTo(new KeySelector<Event, String>() {
-              @Override
-              public String getKey(Event stringObjectMap) throws Exception {
-                StringBuilder builder = new StringBuilder();
-                for (String key : rightMappings) {
-                  builder.append(key);
-                }
-                return builder.toString();
-              }
-            }).window(TumblingEventTimeWindows.of(time))
-            .apply(new JoinFunction<Event, Event, Event>() {
-              @Override
-              public Event join(Event e1, Event e2) throws Exception {
-                Event map = new Event();
-                e1.getFields().forEach((key, value) -> map.addField(value));
-                e2.getFields().forEach((key, value) -> map.addField(value));
-                return map;
-              }
-            });
+    // the interval join keeps the events of each key in keyed state until the watermark has passed their
+    // window, so out-of-order events still match and the state is bounded by the window size
+    return messageStream[0]
+            .keyBy(new FieldValueKeySelector(params.getLeftMappings()))
+            .intervalJoin(messageStream[1].keyBy(new FieldValueKeySelector(params.getRightMappings())))
+            .between(Time.milliseconds(-windowInMillis), Time.milliseconds(windowInMillis))
+            .process(new And());
   }
 }
@@ -15,19 +15,27 @@
  * limitations under the License.
  *
  */
-package org.apache.streampipes.processors.filters.jvm.processor.limit.util;
+package org.apache.streampipes.processors.pattern.detection.flink.processor.and;
 
-import org.apache.streampipes.processors.filters.jvm.processor.limit.window.Window;
-import org.quartz.Job;
-import org.quartz.JobDataMap;
-import org.quartz.JobExecutionContext;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.CompositeKey;
 
-public class ProcessJob implements Job {
+import java.util.List;
 
-    public void execute(JobExecutionContext context) {
-        JobDataMap dataMap = context.getJobDetail().getJobDataMap();
-        Window window = (Window) dataMap.get(SchedulerUtil.WINDOW_KEY);
-        window.onTrigger();
-    }
+/**
+ * Keys an event by the values of the mapped fields, see {@link CompositeKey}.
+ */
+public class FieldValueKeySelector implements KeySelector<Event, String> {
+
+  private final String[] selectors;
+
+  public FieldValueKeySelector(List<String> selectors) {
+    this.selectors = selectors.toArray(new String[0]);
+  }
 
+  @Override
+  public String getKey(Event event) throws Exception {
+    return CompositeKey.of(selectors, field -> event.getFieldBySelector(field).getAsPrimitive().getAsString());
+  }
 }
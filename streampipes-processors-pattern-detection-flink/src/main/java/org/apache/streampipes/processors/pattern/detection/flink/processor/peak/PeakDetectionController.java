@@ -41,7 +41,6 @@ public class PeakDetectionController extends FlinkDataProcessorDeclarer<PeakDete
   private static final String TIMESTAMP_MAPPING = "timestamp-mapping";
   private static final String LAG_KEY = "sp-lag";
   private static final String THRESHOLD_KEY = "sp-threshold";
-  private static final String COUNT_WINDOW_SIZE = "sp-count-window";
   private static final String INFLUENCE_KEY = "sp-influence";
 
   @Override
@@ -58,7 +57,6 @@ public class PeakDetectionController extends FlinkDataProcessorDeclarer<PeakDete
                     .requiredPropertyWithUnaryMapping(EpRequirements.stringReq(),
                             Labels.withId(PARTITION_BY), PropertyScope
                                     .DIMENSION_PROPERTY).build())
-            .requiredIntegerParameter(Labels.withId(COUNT_WINDOW_SIZE), 60)
             .requiredIntegerParameter(Labels.withId(LAG_KEY), 5)
             .requiredFloatParameter(Labels.withId(THRESHOLD_KEY), 2.0f)
             .requiredFloatParameter(Labels.withId(INFLUENCE_KEY), 0.5f)
@@ -76,15 +74,13 @@ public class PeakDetectionController extends FlinkDataProcessorDeclarer<PeakDete
     String timestampMapping = extractor.mappingPropertyValue(TIMESTAMP_MAPPING);
     String groupBy = extractor.mappingPropertyValue(PARTITION_BY);
 
-    Integer countWindowSize = extractor.singleValueParameter(COUNT_WINDOW_SIZE, Integer.class);
-
     Integer lag = extractor.singleValueParameter(LAG_KEY, Integer.class);
     Double threshold = extractor.singleValueParameter(THRESHOLD_KEY, Double.class);
     Double influence = extractor.singleValueParameter(INFLUENCE_KEY, Double.class);
 
 
     PeakDetectionParameters params = new PeakDetectionParameters(sepa,
-            valueToObserve, timestampMapping, groupBy, countWindowSize, lag, threshold, influence);
+            valueToObserve, timestampMapping, groupBy, lag, threshold, influence);
 
     return new PeakDetectionProgram(params, PatternDetectionFlinkConfig.INSTANCE.getDebug());
   }
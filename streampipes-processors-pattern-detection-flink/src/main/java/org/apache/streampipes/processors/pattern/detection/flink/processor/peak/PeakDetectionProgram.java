@@ -18,15 +18,10 @@
 
 package org.apache.streampipes.processors.pattern.detection.flink.processor.peak;
 
-import org.apache.flink.api.common.typeinfo.TypeHint;
-import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.pattern.detection.flink.AbstractPatternDetectionProgram;
-import org.apache.streampipes.processors.pattern.detection.flink.processor.peak.utils.SlidingBatchWindow;
-
-import java.util.List;
 
 /**
  * Created by riemer on 20.04.2017.
@@ -45,15 +40,10 @@ public class PeakDetectionProgram extends AbstractPatternDetectionProgram<PeakDe
     String valueToObserve = params.getValueToObserve();
     Double threshold = params.getThreshold();
     Double influence = params.getInfluence();
-    Integer countWindowSize = params.getCountWindowSize();
 
     return messageStream[0]
             .keyBy(getKeySelector())
-            .transform
-                    ("sliding-batch-window-shift",
-                            TypeInformation.of(new TypeHint<List<Event>>() {
-                            }), new SlidingBatchWindow<>(countWindowSize))
-            .flatMap(new PeakDetectionCalculator(groupBy,
+            .process(new PeakDetectionCalculator(groupBy,
                     valueToObserve,
                     lag,
                     threshold,
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.pattern.detection.flink.processor.peak.utils;
+
+import java.io.Serializable;
+
+/**
+ * The state of the smoothed z-score algorithm for one key. The lag filtered values the mean and the standard
+ * deviation are computed from are kept in a primitive ring buffer. Mean and variance are updated when the oldest
+ * value is replaced, so that a value is processed in O(1) (amortized) instead of O(lag).
+ */
+public class PeakDetectionState implements Serializable {
+
+  private final double[] filtered;
+  private int next;
+
+  /**
+   * The number of values seen so far
+   */
+  private long count;
+
+  /**
+   * The filtered value of the previous event, which enters the ring buffer after the next event was evaluated
+   */
+  private double previousFiltered;
+
+  private double mean;
+  private double m2;
+  private int replacementsSinceRecompute;
+
+  public PeakDetectionState(int lag) {
+    this.filtered = new double[lag];
+  }
+
+  /**
+   * Evaluates the next value and updates the filter
+   *
+   * @param value     The observed value
+   * @param threshold The number of standard deviations a value needs to differ from the mean to be a peak
+   * @param influence The influence of a peak on the filtered values (between 0 and 1)
+   * @return The signal of the value: 1 (positive peak), -1 (negative peak) or 0
+   */
+  public int update(double value, double threshold, double influence) {
+    int lag = filtered.length;
+    int signal = 0;
+
+    if (count < lag) {
+      // the first lag values initialize the filter
+      filtered[next] = value;
+      next = (next + 1) % lag;
+      double delta = value - mean;
+      mean += delta / (count + 1);
+      m2 += delta * (value - mean);
+    } else if (count == lag) {
+      previousFiltered = value;
+    } else {
+      double filteredValue = value;
+      if (Math.abs(value - mean) > threshold * getStandardDeviation()) {
+        signal = value > mean ? 1 : -1;
+        filteredValue = influence * value + (1 - influence) * previousFiltered;
+      }
+      replaceOldest(previousFiltered);
+      previousFiltered = filteredValue;
+    }
+
+    count++;
+    return signal;
+  }
+
+  /**
+   * @return true if enough values were seen to emit signals
+   */
+  public boolean isInitialized() {
+    return count > filtered.length;
+  }
+
+  private void replaceOldest(double value) {
+    int lag = filtered.length;
+    double old = filtered[next];
+    filtered[next] = value;
+    next = (next + 1) % lag;
+
+    if (++replacementsSinceRecompute >= lag) {
+      // limits the rounding errors accumulated by the incremental updates
+      recompute();
+    } else {
+      double oldMean = mean;
+      mean += (value - old) / lag;
+      m2 += (value - old) * (value - mean + old - oldMean);
+    }
+  }
+
+  private void recompute() {
+    mean = 0;
+    m2 = 0;
+    for (int i = 0; i < filtered.length; i++) {
+      double delta = filtered[i] - mean;
+      mean += delta / (i + 1);
+      m2 += delta * (filtered[i] - mean);
+    }
+    replacementsSinceRecompute = 0;
+  }
+
+  /**
+   * @return The sample standard deviation of the filtered values (as computed by SummaryStatistics)
+   */
+  private double getStandardDeviation() {
+    int lag = filtered.length;
+    return lag > 1 ? Math.sqrt(Math.max(0.0, m2) / (lag - 1)) : 0.0;
+  }
+}
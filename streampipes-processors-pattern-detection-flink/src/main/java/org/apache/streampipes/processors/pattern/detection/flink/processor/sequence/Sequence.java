@@ -18,68 +18,136 @@
 
 package org.apache.streampipes.processors.pattern.detection.flink.processor.sequence;
 
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.ValueState;
-import org.apache.flink.streaming.api.functions.co.CoProcessFunction;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeinfo.TypeHint;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.TimeDomain;
+import org.apache.flink.streaming.api.functions.co.KeyedCoProcessFunction;
 import org.apache.flink.util.Collector;
 import org.apache.streampipes.model.runtime.Event;
 
-public class Sequence extends CoProcessFunction<Event, Event, Event> {
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detects an event of the second stream which follows an event of the first stream with the same key within the
+ * time window. The events of the first stream are kept in keyed state by their timestamp and removed by a timer
+ * once the window has passed, so the state is part of every checkpoint and bounded by the window size.
+ *
+ * Only the timestamp of the latest event of the first stream is needed to match an event of the second stream. With
+ * event time, both streams are therefore processed in timestamp order: an event of the first stream becomes the
+ * latest start and an event of the second stream is matched once the watermark has passed its timestamp. Events
+ * which arrive after the watermark has passed their window are not matched.
+ */
+public class Sequence extends KeyedCoProcessFunction<String, Event, Event, Event> {
 
   private String timeUnit;
-  private Integer timeWindow;
+  private long timeWindowInMillis;
 
-  private ValueState<EventStorage> state;
+  private transient MapState<Long, Event> firstStreamEvents;
+  private transient MapState<Long, List<Event>> pendingSecondStreamEvents;
+  private transient ValueState<Long> latestStartTime;
 
   public Sequence(String timeUnit, Integer timeWindow) {
     this.timeUnit = timeUnit;
-    this.timeWindow = timeWindow;
+    this.timeWindowInMillis = getMultiplier() * timeWindow;
   }
 
-  //@Override
-  //public void open(Configuration parameters) throws Exception {
-    // TODO: add RuntimeContext
-    //state = getRuntimeContext().getState(new ValueStateDescriptor<>("sequence-event-storage",
-    //        EventStorage.class));
-  //}
-
+  @Override
+  public void open(Configuration parameters) throws Exception {
+    firstStreamEvents = getRuntimeContext().getMapState(new MapStateDescriptor<>("sequence-first-stream-events",
+            TypeInformation.of(Long.class), TypeInformation.of(Event.class)));
+    pendingSecondStreamEvents = getRuntimeContext().getMapState(new MapStateDescriptor<>(
+            "sequence-pending-second-stream-events", TypeInformation.of(Long.class),
+            TypeInformation.of(new TypeHint<List<Event>>() {
+            })));
+    latestStartTime = getRuntimeContext().getState(new ValueStateDescriptor<>("sequence-latest-start-time",
+            TypeInformation.of(Long.class)));
+  }
 
   @Override
   public void processElement1(Event value, Context ctx, Collector<Event> out) throws Exception {
-    state.update(new EventStorage(System.currentTimeMillis(), value));
+    long timestamp = getTimestamp(ctx);
+    firstStreamEvents.put(timestamp, value);
+    if (ctx.timestamp() != null) {
+      // the event becomes the latest start once the watermark has passed it, the timer also removes it after the
+      // window has passed
+      ctx.timerService().registerEventTimeTimer(timestamp);
+      ctx.timerService().registerEventTimeTimer(timestamp + timeWindowInMillis);
+    } else {
+      // processing time only increases, so the event is the latest start right away
+      latestStartTime.update(timestamp);
+      ctx.timerService().registerProcessingTimeTimer(timestamp + timeWindowInMillis);
+    }
   }
 
   @Override
   public void processElement2(Event value, Context ctx, Collector<Event> out) throws Exception {
-    EventStorage previousElementStream1 = state.value();
-    if (previousElementStream1 != null && isSequence(previousElementStream1, value)) {
-      previousElementStream1.getEvent().getFields().forEach((key, v) -> value.addField(v));
-      out.collect(value);
+    if (ctx.timestamp() != null) {
+      // all events of the first stream up to the timestamp are known once the watermark has passed it
+      List<Event> pendingEvents = pendingSecondStreamEvents.get(ctx.timestamp());
+      if (pendingEvents == null) {
+        pendingEvents = new ArrayList<>();
+      }
+      pendingEvents.add(value);
+      pendingSecondStreamEvents.put(ctx.timestamp(), pendingEvents);
+      ctx.timerService().registerEventTimeTimer(ctx.timestamp());
+    } else {
+      match(value, ctx.timerService().currentProcessingTime(), out);
     }
   }
 
-  private Boolean isSequence(EventStorage previousElementStream1, Event value) {
-    Long currentTime = System.currentTimeMillis();
-    Long earliestAllowedStartTime = getEarliestStartTime(currentTime);
+  @Override
+  public void onTimer(long timestamp, OnTimerContext ctx, Collector<Event> out) throws Exception {
+    // timers fire in timestamp order, so the latest start only moves forward and all earlier events of the first
+    // stream have been removed when the latest start is removed
+    Long latest = latestStartTime.value();
+    if (ctx.timeDomain() == TimeDomain.EVENT_TIME) {
+      if ((latest == null || timestamp > latest) && firstStreamEvents.contains(timestamp)) {
+        latestStartTime.update(timestamp);
+        latest = timestamp;
+      }
+      List<Event> pendingEvents = pendingSecondStreamEvents.get(timestamp);
+      if (pendingEvents != null) {
+        for (Event pendingEvent : pendingEvents) {
+          match(pendingEvent, timestamp, out);
+        }
+        pendingSecondStreamEvents.remove(timestamp);
+      }
+    }
 
-    return previousElementStream1.getTimestamp() >= earliestAllowedStartTime;
+    // the window of an event of the first stream has passed, events with the same timestamp share one timer
+    long startTime = timestamp - timeWindowInMillis;
+    firstStreamEvents.remove(startTime);
+    if (latest != null && latest == startTime) {
+      latestStartTime.clear();
+    }
+  }
+
+  private void match(Event value, long timestamp, Collector<Event> out) throws Exception {
+    Long latest = latestStartTime.value();
+    if (latest != null && latest <= timestamp && latest >= timestamp - timeWindowInMillis) {
+      firstStreamEvents.get(latest).getFields().forEach((key, v) -> value.addField(v));
+      out.collect(value);
+    }
   }
 
-  private Long getEarliestStartTime(Long currentTime) {
-    Integer multiplier;
+  private long getTimestamp(Context ctx) {
+    // falls back to processing time if the stream has no event time timestamps
+    return ctx.timestamp() != null ? ctx.timestamp() : ctx.timerService().currentProcessingTime();
+  }
 
+  private long getMultiplier() {
     if (timeUnit.equals("sec")) {
-      multiplier = 1000;
+      return 1000L;
     } else if (timeUnit.equals("min")) {
-      multiplier = 1000 * 60;
+      return 1000L * 60;
     } else {
-      multiplier = 1000 * 60 * 60;
+      return 1000L * 60 * 60;
     }
-
-    return currentTime - (multiplier * timeWindow);
-  }
-
-  @Override
-  public void onTimer(long timestamp, OnTimerContext ctx, Collector<Event> out) throws Exception {
-
   }
 }
@@ -21,6 +21,7 @@ package org.apache.streampipes.processors.pattern.detection.flink.processor.sequ
 import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.schema.PropertyScope;
 import org.apache.streampipes.processors.pattern.detection.flink.config.PatternDetectionFlinkConfig;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
@@ -30,10 +31,14 @@ import org.apache.streampipes.sdk.utils.Assets;
 import org.apache.streampipes.wrapper.flink.FlinkDataProcessorDeclarer;
 import org.apache.streampipes.wrapper.flink.FlinkDataProcessorRuntime;
 
+import java.util.List;
+
 public class SequenceController extends FlinkDataProcessorDeclarer<SequenceParameters> {
 
   private static final String TIME_WINDOW = "timeWindow";
   private static final String TIME_UNIT = "timeUnit";
+  private static final String FIRST_MAPPING = "first-mapping";
+  private static final String SECOND_MAPPING = "second-mapping";
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -41,8 +46,18 @@ public class SequenceController extends FlinkDataProcessorDeclarer<SequenceParam
             .withLocales(Locales.EN)
             .withAssets(Assets.DOCUMENTATION, Assets.ICON)
             .category(DataProcessorType.PATTERN_DETECT)
-            .requiredStream(StreamRequirementsBuilder.create().requiredProperty(EpRequirements.anyProperty()).build())
-            .requiredStream(StreamRequirementsBuilder.create().requiredProperty(EpRequirements.anyProperty()).build())
+            .requiredStream(StreamRequirementsBuilder
+                    .create()
+                    .requiredPropertyWithNaryMapping(EpRequirements.anyProperty(),
+                            Labels.withId(FIRST_MAPPING)
+                            , PropertyScope.DIMENSION_PROPERTY)
+                    .build())
+            .requiredStream(StreamRequirementsBuilder
+                    .create()
+                    .requiredPropertyWithNaryMapping(EpRequirements.anyProperty(),
+                            Labels.withId(SECOND_MAPPING)
+                            , PropertyScope.DIMENSION_PROPERTY)
+                    .build())
             .requiredIntegerParameter(Labels.withId(TIME_WINDOW))
             .requiredSingleValueSelection(Labels.withId(TIME_UNIT), Options.from("sec", "min",
                     "hrs"))
@@ -56,8 +71,11 @@ public class SequenceController extends FlinkDataProcessorDeclarer<SequenceParam
 
     Integer timeWindowSize = extractor.singleValueParameter(TIME_WINDOW, Integer.class);
     String timeUnit = extractor.selectedSingleValue(TIME_UNIT, String.class);
+    List<String> firstMappings = extractor.mappingPropertyValues(FIRST_MAPPING);
+    List<String> secondMappings = extractor.mappingPropertyValues(SECOND_MAPPING);
 
-    SequenceParameters params = new SequenceParameters(graph, timeWindowSize, timeUnit);
+    SequenceParameters params = new SequenceParameters(graph, timeWindowSize, timeUnit, firstMappings,
+            secondMappings);
 
     return new SequenceProgram(params, PatternDetectionFlinkConfig.INSTANCE.getDebug());
 
@@ -21,15 +21,23 @@ package org.apache.streampipes.processors.pattern.detection.flink.processor.sequ
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
+import java.util.List;
+
 public class SequenceParameters extends EventProcessorBindingParams {
 
   private Integer timeWindow;
   private String timeUnit;
 
-  public SequenceParameters(DataProcessorInvocation graph, Integer timeWindow, String timeUnit) {
+  private List<String> firstMappings;
+  private List<String> secondMappings;
+
+  public SequenceParameters(DataProcessorInvocation graph, Integer timeWindow, String timeUnit,
+                            List<String> firstMappings, List<String> secondMappings) {
     super(graph);
     this.timeWindow = timeWindow;
     this.timeUnit = timeUnit;
+    this.firstMappings = firstMappings;
+    this.secondMappings = secondMappings;
   }
 
   public Integer getTimeWindow() {
@@ -39,4 +47,12 @@ public class SequenceParameters extends EventProcessorBindingParams {
   public String getTimeUnit() {
     return timeUnit;
   }
+
+  public List<String> getFirstMappings() {
+    return firstMappings;
+  }
+
+  public List<String> getSecondMappings() {
+    return secondMappings;
+  }
 }
@@ -18,10 +18,10 @@
 
 package org.apache.streampipes.processors.pattern.detection.flink.processor.sequence;
 
-import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.pattern.detection.flink.AbstractPatternDetectionProgram;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.FieldValueKeySelector;
 
 public class SequenceProgram extends AbstractPatternDetectionProgram<SequenceParameters> {
 
@@ -30,20 +30,11 @@ public class SequenceProgram extends AbstractPatternDetectionProgram<SequencePar
   }
 
   @Override
-  protected DataStream<Event> getApplicationLogic(DataStream<Event>... dataStreams) {
-    return dataStreams[0].keyBy(getKeySelector()).connect(dataStreams[1].keyBy(getKeySelector())).process(new Sequence(params
-            .getTimeUnit(),
-            params
-            .getTimeWindow
-            ()));
-  }
-
-  private KeySelector<Event, String> getKeySelector() {
-    return new KeySelector<Event, String>() {
-      @Override
-      public String getKey(Event value) throws Exception {
-        return "dummy-key";
-      }
-    };
+  public DataStream<Event> getApplicationLogic(DataStream<Event>... dataStreams) {
+    // both streams are keyed by the values of the mapped properties, so sequences are detected per key
+    return dataStreams[0]
+            .keyBy(new FieldValueKeySelector(params.getFirstMappings()))
+            .connect(dataStreams[1].keyBy(new FieldValueKeySelector(params.getSecondMappings())))
+            .process(new Sequence(params.getTimeUnit(), params.getTimeWindow()));
   }
 }
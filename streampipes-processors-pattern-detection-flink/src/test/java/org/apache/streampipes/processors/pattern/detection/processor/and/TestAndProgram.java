@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.pattern.detection.processor.and;
+
+import io.flinkspector.core.collection.ExpectedRecords;
+import io.flinkspector.datastream.DataStreamTestBase;
+import io.flinkspector.datastream.input.EventTimeInputBuilder;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.AndController;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.AndParameters;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.AndProgram;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.TimeUnit;
+import org.apache.streampipes.test.generator.InvocationGraphGenerator;
+import org.apache.streampipes.test.generator.grounding.EventGroundingGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestAndProgram extends DataStreamTestBase {
+
+  private static final Integer TIME_WINDOW = 2;
+  private static final long TIME_WINDOW_IN_MILLIS = 2000L;
+  private static final String[] KEYS = {"a", "b", "c"};
+
+  @Test
+  public void testAndProgramMatchesReference() {
+    Random random = new Random(42);
+    List<Event> leftStream = makeStream(random, "left", 50);
+    List<Event> rightStream = makeStream(random, "right", 50);
+
+    DataStream<Event> stream = makeProgram().getApplicationLogic(createTestStream(makeInputData(leftStream, "left")),
+            createTestStream(makeInputData(rightStream, "right")));
+
+    ExpectedRecords<Event> expected = new ExpectedRecords<Event>().expectAll(reference(leftStream, rightStream));
+    expected.refine().only().sameFrequency();
+
+    assertStream(stream, expected);
+  }
+
+  @Test
+  public void testWindowBoundsAreInclusive() {
+    List<Event> leftStream = Collections.singletonList(makeEvent("a", "left", 10000));
+    List<Event> rightStream = new ArrayList<>();
+    rightStream.add(makeEvent("a", "right", 10000 - TIME_WINDOW_IN_MILLIS - 1));
+    rightStream.add(makeEvent("a", "right", 10000 - TIME_WINDOW_IN_MILLIS));
+    rightStream.add(makeEvent("a", "right", 10000 + TIME_WINDOW_IN_MILLIS));
+    rightStream.add(makeEvent("a", "right", 10000 + TIME_WINDOW_IN_MILLIS + 1));
+
+    DataStream<Event> stream = makeProgram().getApplicationLogic(createTestStream(makeInputData(leftStream, "left")),
+            createTestStream(makeInputData(rightStream, "right")));
+
+    ExpectedRecords<Event> expected = new ExpectedRecords<Event>().expectAll(reference(leftStream, rightStream));
+    expected.refine().only().sameFrequency();
+
+    assertStream(stream, expected);
+  }
+
+  private AndProgram makeProgram() {
+    DataProcessorDescription description = new AndController().declareModel();
+    description.setSupportedGrounding(EventGroundingGenerator.makeDummyGrounding());
+    AndParameters params = new AndParameters(InvocationGraphGenerator.makeEmptyInvocation(description),
+            TimeUnit.Seconds, TIME_WINDOW, Collections.singletonList("id"), Collections.singletonList("id"));
+
+    return new AndProgram(params, true);
+  }
+
+  /**
+   * Merges each pair of events with the same key whose timestamps differ by at most one time window
+   */
+  private List<Event> reference(List<Event> leftStream, List<Event> rightStream) {
+    List<Event> matches = new ArrayList<>();
+    for (Event left : leftStream) {
+      for (Event right : rightStream) {
+        long leftTimestamp = getTimestamp(left, "left");
+        long rightTimestamp = getTimestamp(right, "right");
+        if (getKey(left).equals(getKey(right)) && Math.abs(leftTimestamp - rightTimestamp) <= TIME_WINDOW_IN_MILLIS) {
+          Event match = makeEvent(getKey(left), "left", leftTimestamp);
+          match.addField("right", rightTimestamp);
+          matches.add(match);
+        }
+      }
+    }
+    return matches;
+  }
+
+  private EventTimeInputBuilder<Event> makeInputData(List<Event> events, String timestampField) {
+    EventTimeInputBuilder<Event> builder = EventTimeInputBuilder.startWith(events.get(0),
+            getTimestamp(events.get(0), timestampField));
+    for (int i = 1; i < events.size(); i++) {
+      builder.emit(events.get(i), getTimestamp(events.get(i), timestampField));
+    }
+    return builder;
+  }
+
+  /**
+   * Creates events with increasing timestamps, of which every fifth is swapped with its predecessor
+   */
+  private List<Event> makeStream(Random random, String timestampField, int count) {
+    List<Event> events = new ArrayList<>();
+    long timestamp = 0;
+    for (int i = 0; i < count; i++) {
+      timestamp += 1 + random.nextInt(1500);
+      events.add(makeEvent(KEYS[random.nextInt(KEYS.length)], timestampField, timestamp));
+      if (i % 5 == 4) {
+        Collections.swap(events, i, i - 1);
+      }
+    }
+    return events;
+  }
+
+  private Event makeEvent(String key, String timestampField, long timestamp) {
+    Event event = new Event();
+    event.addField("id", key);
+    event.addField(timestampField, timestamp);
+    return event;
+  }
+
+  private String getKey(Event event) {
+    return event.getFieldBySelector("id").getAsPrimitive().getAsString();
+  }
+
+  private long getTimestamp(Event event, String timestampField) {
+    return event.getFieldBySelector(timestampField).getAsPrimitive().getAsLong();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.pattern.detection.processor.and;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.FieldValueKeySelector;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestFieldValueKeySelector {
+
+  @Test
+  public void testKeyIsFieldValue() throws Exception {
+    FieldValueKeySelector selector = new FieldValueKeySelector(Collections.singletonList("id"));
+
+    assertEquals("a", selector.getKey(makeEvent("a", "x")));
+  }
+
+  @Test
+  public void testEventsWithDifferentValuesGetDifferentKeys() throws Exception {
+    FieldValueKeySelector selector = new FieldValueKeySelector(Collections.singletonList("id"));
+    Set<String> keys = new HashSet<>();
+    for (int i = 0; i < 10000; i++) {
+      keys.add(selector.getKey(makeEvent("sensor" + i, "x")));
+    }
+
+    assertEquals(10000, keys.size());
+  }
+
+  @Test
+  public void testCompositeKeysDoNotCollide() throws Exception {
+    FieldValueKeySelector selector = new FieldValueKeySelector(Arrays.asList("id", "location"));
+
+    assertNotEquals(selector.getKey(makeEvent("ab", "c")), selector.getKey(makeEvent("a", "bc")));
+  }
+
+  private Event makeEvent(String id, String location) {
+    Event event = new Event();
+    event.addField("id", id);
+    event.addField("location", location);
+    return event;
+  }
+}
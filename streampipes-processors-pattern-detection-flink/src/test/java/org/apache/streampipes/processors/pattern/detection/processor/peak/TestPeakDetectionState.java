@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.pattern.detection.processor.peak;
+
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.peak.utils.PeakDetectionState;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestPeakDetectionState {
+
+  @Test
+  public void testPeaksAreDetected() {
+    PeakDetectionState state = new PeakDetectionState(5);
+    double[] values = {1.0, 1.1, 0.9, 1.0, 1.1, 1.0, 0.9, 10.0, 1.0, -10.0};
+    int[] signals = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      signals[i] = state.update(values[i], 3.0, 0.0);
+    }
+
+    assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0, 0, 1, 0, -1}, signals);
+  }
+
+  @Test
+  public void testSignalsAreEmittedAfterLag() {
+    PeakDetectionState state = new PeakDetectionState(3);
+    for (int i = 0; i < 3; i++) {
+      state.update(i, 1.0, 0.5);
+      assertFalse(state.isInitialized());
+    }
+    state.update(3, 1.0, 0.5);
+
+    assertTrue(state.isInitialized());
+  }
+
+  @Test
+  public void testIncrementalStateMatchesRecomputation() {
+    for (int lag : new int[]{1, 2, 30, 300}) {
+      Random random = new Random(lag);
+      double[] values = new double[5000];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = Math.sin(i / 50.0) + random.nextGaussian() * 0.1 + (random.nextInt(100) == 0 ? 5 : 0);
+      }
+
+      PeakDetectionState state = new PeakDetectionState(lag);
+      int[] expected = recompute(values, lag, 2.5, 0.3);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals("lag " + lag + ", index " + i, expected[i], state.update(values[i], 2.5, 0.3));
+      }
+    }
+  }
+
+  /**
+   * Computes the signals by recomputing mean and standard deviation of the previous lag filtered values for each
+   * value
+   */
+  private int[] recompute(double[] y, int lag, double threshold, double influence) {
+    int[] signals = new int[y.length];
+    double[] filteredY = new double[y.length];
+    for (int i = 0; i <= lag && i < y.length; i++) {
+      filteredY[i] = y[i];
+    }
+    for (int i = lag + 1; i < y.length; i++) {
+      SummaryStatistics stats = new SummaryStatistics();
+      for (int j = i - lag - 1; j < i - 1; j++) {
+        stats.addValue(filteredY[j]);
+      }
+      double mean = stats.getMean();
+      double std = lag > 1 ? stats.getStandardDeviation() : 0.0;
+      if (Math.abs(y[i] - mean) > threshold * std) {
+        signals[i] = y[i] > mean ? 1 : -1;
+        filteredY[i] = influence * y[i] + (1 - influence) * filteredY[i - 1];
+      } else {
+        filteredY[i] = y[i];
+      }
+    }
+    return signals;
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.pattern.detection.processor.sequence;
+
+import io.flinkspector.core.collection.ExpectedRecords;
+import io.flinkspector.datastream.DataStreamTestBase;
+import io.flinkspector.datastream.input.EventTimeInputBuilder;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.operators.co.KeyedCoProcessOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.and.FieldValueKeySelector;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.sequence.Sequence;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.sequence.SequenceController;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.sequence.SequenceParameters;
+import org.apache.streampipes.processors.pattern.detection.flink.processor.sequence.SequenceProgram;
+import org.apache.streampipes.test.generator.InvocationGraphGenerator;
+import org.apache.streampipes.test.generator.grounding.EventGroundingGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSequence extends DataStreamTestBase {
+
+  private static final Integer TIME_WINDOW = 2;
+  private static final long TIME_WINDOW_IN_MILLIS = 2000L;
+  private static final String[] KEYS = {"a", "b", "c"};
+
+  @Test
+  public void testSequenceProgramMatchesReference() {
+    Random random = new Random(42);
+    List<Event> firstStream = makeStream(random, "start", 60);
+    List<Event> secondStream = makeStream(random, "end", 60);
+
+    DataStream<Event> stream = makeProgram().getApplicationLogic(createTestStream(makeInputData(firstStream,
+            "start")), createTestStream(makeInputData(secondStream, "end")));
+
+    ExpectedRecords<Event> expected = new ExpectedRecords<Event>().expectAll(reference(firstStream, secondStream));
+    expected.refine().only();
+
+    assertStream(stream, expected);
+  }
+
+  @Test
+  public void testSequenceWithoutEventTime() throws Exception {
+    KeyedTwoInputStreamOperatorTestHarness<String, Event, Event, Event> harness =
+            new KeyedTwoInputStreamOperatorTestHarness<>(new KeyedCoProcessOperator<>(new Sequence("sec",
+                    TIME_WINDOW)), new FieldValueKeySelector(Collections.singletonList("id")),
+                    new FieldValueKeySelector(Collections.singletonList("id")), BasicTypeInfo.STRING_TYPE_INFO);
+    harness.open();
+
+    harness.setProcessingTime(1000);
+    harness.processElement1(new StreamRecord<>(makeEvent("a", "start", 1)));
+    harness.setProcessingTime(1500);
+    harness.processElement1(new StreamRecord<>(makeEvent("a", "start", 2)));
+    harness.setProcessingTime(2500);
+    harness.processElement2(new StreamRecord<>(makeEvent("a", "end", 1)));
+    harness.processElement2(new StreamRecord<>(makeEvent("b", "end", 2)));
+    // the window of both events of the first stream has passed
+    harness.setProcessingTime(3500);
+    harness.processElement2(new StreamRecord<>(makeEvent("a", "end", 3)));
+
+    List<Event> output = harness.extractOutputValues();
+    assertEquals(1, output.size());
+    assertEquals(1L, getTimestamp(output.get(0), "end"));
+    assertEquals(2L, getTimestamp(output.get(0), "start"));
+    assertEquals(0, harness.numProcessingTimeTimers());
+    assertEquals(0, harness.numKeyedStateEntries());
+
+    harness.close();
+  }
+
+  private SequenceProgram makeProgram() {
+    DataProcessorDescription description = new SequenceController().declareModel();
+    description.setSupportedGrounding(EventGroundingGenerator.makeDummyGrounding());
+    SequenceParameters params = new SequenceParameters(InvocationGraphGenerator.makeEmptyInvocation(description),
+            TIME_WINDOW, "sec", Collections.singletonList("id"), Collections.singletonList("id"));
+
+    return new SequenceProgram(params, true);
+  }
+
+  /**
+   * Matches each event of the second stream with the latest event of the first stream with the same key which
+   * happened at most one time window before
+   */
+  private List<Event> reference(List<Event> firstStream, List<Event> secondStream) {
+    List<Event> matches = new ArrayList<>();
+    for (Event second : secondStream) {
+      long end = getTimestamp(second, "end");
+      Event latestStart = null;
+      for (Event first : firstStream) {
+        long start = getTimestamp(first, "start");
+        if (getKey(first).equals(getKey(second)) && start >= end - TIME_WINDOW_IN_MILLIS && start <= end
+                && (latestStart == null || start > getTimestamp(latestStart, "start"))) {
+          latestStart = first;
+        }
+      }
+      if (latestStart != null) {
+        Event match = makeEvent(getKey(second), "end", end);
+        match.addField("start", getTimestamp(latestStart, "start"));
+        matches.add(match);
+      }
+    }
+    return matches;
+  }
+
+  private EventTimeInputBuilder<Event> makeInputData(List<Event> events, String timestampField) {
+    EventTimeInputBuilder<Event> builder = EventTimeInputBuilder.startWith(events.get(0),
+            getTimestamp(events.get(0), timestampField));
+    for (int i = 1; i < events.size(); i++) {
+      builder.emit(events.get(i), getTimestamp(events.get(i), timestampField));
+    }
+    return builder;
+  }
+
+  private List<Event> makeStream(Random random, String timestampField, int count) {
+    List<Event> events = new ArrayList<>();
+    long timestamp = 0;
+    for (int i = 0; i < count; i++) {
+      timestamp += 1 + random.nextInt(1500);
+      events.add(makeEvent(KEYS[random.nextInt(KEYS.length)], timestampField, timestamp));
+    }
+    return events;
+  }
+
+  private Event makeEvent(String key, String timestampField, long timestamp) {
+    Event event = new Event();
+    event.addField("id", key);
+    event.addField(timestampField, timestamp);
+    return event;
+  }
+
+  private String getKey(Event event) {
+    return event.getFieldBySelector("id").getAsPrimitive().getAsString();
+  }
+
+  private long getTimestamp(Event event, String timestampField) {
+    return event.getFieldBySelector(timestampField).getAsPrimitive().getAsLong();
+  }
+}
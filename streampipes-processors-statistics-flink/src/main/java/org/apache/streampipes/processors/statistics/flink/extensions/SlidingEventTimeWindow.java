@@ -18,61 +18,37 @@
 
 package org.apache.streampipes.processors.statistics.flink.extensions;
 
-import org.apache.flink.streaming.api.operators.AbstractUdfStreamOperator;
-import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
-import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
-
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-public class SlidingEventTimeWindow<IN> extends AbstractUdfStreamOperator<List<IN>,
-        TimestampMappingFunction<IN>>
-        implements
-        OneInputStreamOperator<IN, List<IN>>, Serializable {
+/**
+ * A sliding window containing the values of all events of a key whose timestamp is at most the window size older
+ * than the timestamp of the latest event.
+ */
+public abstract class SlidingEventTimeWindow<IN, OUT> extends SlidingWindow<IN, OUT> {
 
-  private Long timeWindowSizeInMillis;
-  private List<IN> currentEvents;
+  private final long timeWindowSizeInMillis;
+  private final TimestampMappingFunction<IN> timestampMappingFunction;
 
   public SlidingEventTimeWindow(Long time, TimeUnit timeUnit, TimestampMappingFunction<IN>
-          timestampMappingFunction) {
-    super(timestampMappingFunction);
-    this.timeWindowSizeInMillis = toMilliseconds(time, timeUnit);
-    this.currentEvents = new ArrayList<>();
-
-  }
-
-  private Long toMilliseconds(Long time, TimeUnit timeUnit) {
-    return timeUnit.toMillis(time);
+          timestampMappingFunction, ValueMappingFunction<IN> valueMappingFunction) {
+    super(valueMappingFunction);
+    this.timeWindowSizeInMillis = timeUnit.toMillis(time);
+    this.timestampMappingFunction = timestampMappingFunction;
   }
 
   @Override
-  public void processElement(StreamRecord<IN> in) throws Exception {
-    Long currentTimestamp = userFunction.getTimestamp(in.getValue());
-
-    checkForRemoval(currentTimestamp);
-    currentEvents.add(in.getValue());
-
-    output.collect(new StreamRecord<>(currentEvents, System.currentTimeMillis()));
-
+  protected long getTimestamp(IN in) {
+    return timestampMappingFunction.getTimestamp(in);
   }
 
-  private void checkForRemoval(Long currentTimestamp) {
-    Iterator<IN> it = currentEvents.iterator();
-
-    while(it.hasNext()) {
-      IN next = it.next();
-      if (removalRequired(userFunction.getTimestamp(next), currentTimestamp)) {
-        it.remove();
-      } else {
-        break;
-      }
+  @Override
+  protected void evict(SlidingStatistics window, long currentTimestamp) throws Exception {
+    while (!window.isEmpty() && removalRequired(window.getFirstTimestamp(), currentTimestamp)) {
+      removeFirst(window);
     }
   }
 
-  private boolean removalRequired(Long oldTimestamp, Long currentTimestamp) {
+  private boolean removalRequired(long oldTimestamp, long currentTimestamp) {
     return (currentTimestamp - oldTimestamp > timeWindowSizeInMillis);
   }
 
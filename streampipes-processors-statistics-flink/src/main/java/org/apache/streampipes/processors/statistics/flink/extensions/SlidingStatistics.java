@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.statistics.flink.extensions;
+
+import org.apache.flink.api.java.tuple.Tuple2;
+
+import java.io.Serializable;
+
+/**
+ * The statistics of the sliding window of one key, which are updated incrementally when a value enters or leaves the
+ * window. The values themselves are kept in {@link SlidingWindowSlots} and leave the window in the order they entered
+ * it. Minimum and maximum are tracked with monotonic deques, mean and variance with Welford's algorithm, so that
+ * adding and removing a value is O(1) amortized. This object only holds a fixed number of scalars, independent of the
+ * size of the window.
+ */
+public class SlidingStatistics implements Serializable {
+
+  /**
+   * The minimum number of removals between two recomputations of mean and variance
+   */
+  private static final int MIN_RECOMPUTE_INTERVAL = 16;
+
+  /**
+   * The sequence number of the oldest value, each value gets the next number when it is added
+   */
+  private long firstSequence;
+  private int size;
+  private long firstTimestamp;
+
+  /**
+   * Positions of the first and after the last entry of the deques in {@link SlidingWindowSlots}, and the sequence
+   * number of the first entry (the current minimum or maximum)
+   */
+  private long minHead;
+  private long minTail;
+  private long minHeadSequence;
+  private long maxHead;
+  private long maxTail;
+  private long maxHeadSequence;
+
+  private double min = Double.NaN;
+  private double max = Double.NaN;
+  private double mean;
+  private double m2;
+  private double sum;
+
+  /**
+   * Removals since the statistics were last recomputed from the values, to bound the floating point error of the
+   * incremental updates
+   */
+  private int removalsSinceRecompute;
+
+  public void add(SlidingWindowSlots slots, long timestamp, double value) throws Exception {
+    long sequence = firstSequence + size;
+    slots.values.put(sequence, Tuple2.of(timestamp, value));
+    if (size == 0) {
+      firstTimestamp = timestamp;
+    }
+    size++;
+
+    while (minTail > minHead && slots.minCandidates.get(minTail - 1).f1 >= value) {
+      slots.minCandidates.remove(--minTail);
+    }
+    slots.minCandidates.put(minTail++, Tuple2.of(sequence, value));
+    if (minTail - minHead == 1) {
+      min = value;
+      minHeadSequence = sequence;
+    }
+
+    while (maxTail > maxHead && slots.maxCandidates.get(maxTail - 1).f1 <= value) {
+      slots.maxCandidates.remove(--maxTail);
+    }
+    slots.maxCandidates.put(maxTail++, Tuple2.of(sequence, value));
+    if (maxTail - maxHead == 1) {
+      max = value;
+      maxHeadSequence = sequence;
+    }
+
+    double delta = value - mean;
+    mean += delta / size;
+    m2 += delta * (value - mean);
+    sum += value;
+  }
+
+  /**
+   * Removes the oldest value of the window
+   */
+  public void removeFirst(SlidingWindowSlots slots) throws Exception {
+    if (size == 0) {
+      return;
+    }
+    long sequence = firstSequence;
+    double value = slots.values.get(sequence).f1;
+    slots.values.remove(sequence);
+    size--;
+    firstSequence++;
+
+    if (minHeadSequence == sequence) {
+      slots.minCandidates.remove(minHead++);
+      if (minTail > minHead) {
+        Tuple2<Long, Double> next = slots.minCandidates.get(minHead);
+        minHeadSequence = next.f0;
+        min = next.f1;
+      } else {
+        min = Double.NaN;
+      }
+    }
+    if (maxHeadSequence == sequence) {
+      slots.maxCandidates.remove(maxHead++);
+      if (maxTail > maxHead) {
+        Tuple2<Long, Double> next = slots.maxCandidates.get(maxHead);
+        maxHeadSequence = next.f0;
+        max = next.f1;
+      } else {
+        max = Double.NaN;
+      }
+    }
+
+    if (size == 0) {
+      mean = 0;
+      m2 = 0;
+      sum = 0;
+      removalsSinceRecompute = 0;
+      return;
+    }
+    firstTimestamp = slots.values.get(firstSequence).f0;
+    if (++removalsSinceRecompute >= Math.max(size, MIN_RECOMPUTE_INTERVAL)) {
+      recompute(slots);
+    } else {
+      double delta = value - mean;
+      mean -= delta / size;
+      m2 -= delta * (value - mean);
+      sum -= value;
+    }
+  }
+
+  private void recompute(SlidingWindowSlots slots) throws Exception {
+    mean = 0;
+    m2 = 0;
+    sum = 0;
+    for (int i = 0; i < size; i++) {
+      double value = slots.values.get(firstSequence + i).f1;
+      double delta = value - mean;
+      mean += delta / (i + 1);
+      m2 += delta * (value - mean);
+      sum += value;
+    }
+    removalsSinceRecompute = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public long getFirstTimestamp() {
+    return firstTimestamp;
+  }
+
+  public long getN() {
+    return size;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return size == 0 ? Double.NaN : mean;
+  }
+
+  public double getSum() {
+    return sum;
+  }
+
+  /**
+   * @return The bias-corrected sample variance (0 for a single value), like
+   * {@link org.apache.commons.math3.stat.descriptive.SummaryStatistics#getVariance()}
+   */
+  public double getVariance() {
+    if (size == 0) {
+      return Double.NaN;
+    }
+    return size == 1 ? 0.0 : Math.max(0.0, m2) / (size - 1);
+  }
+
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+}
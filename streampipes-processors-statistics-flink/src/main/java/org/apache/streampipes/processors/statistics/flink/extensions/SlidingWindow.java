@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.statistics.flink.extensions;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
+import org.apache.flink.util.Collector;
+
+/**
+ * A sliding window over the values of each key of a keyed stream. The window of a key is kept in Flink's keyed
+ * managed state, so it is part of every checkpoint and is restored after a failure: the values in map states indexed
+ * by their position ({@link SlidingWindowSlots}), the statistics in a value state of constant size. For each event,
+ * the window is updated incrementally and {@link SlidingWindow#onWindowUpdate(Object, SlidingStatistics)} is called
+ * with the statistics of the current window.
+ */
+public abstract class SlidingWindow<IN, OUT> extends KeyedProcessFunction<String, IN, OUT> {
+
+  private final ValueMappingFunction<IN> valueMappingFunction;
+
+  private transient ValueState<SlidingStatistics> windowState;
+  private transient SlidingWindowSlots slots;
+
+  protected SlidingWindow(ValueMappingFunction<IN> valueMappingFunction) {
+    this.valueMappingFunction = valueMappingFunction;
+  }
+
+  @Override
+  public void open(Configuration parameters) {
+    windowState = getRuntimeContext().getState(new ValueStateDescriptor<>("sliding-window-statistics",
+            SlidingStatistics.class));
+    slots = new SlidingWindowSlots(getRuntimeContext());
+  }
+
+  @Override
+  public void processElement(IN in, Context ctx, Collector<OUT> out) throws Exception {
+    SlidingStatistics window = windowState.value();
+    if (window == null) {
+      window = new SlidingStatistics();
+    }
+    long timestamp = getTimestamp(in);
+    evict(window, timestamp);
+    window.add(slots, timestamp, valueMappingFunction.getValue(in));
+    windowState.update(window);
+
+    out.collect(onWindowUpdate(in, window));
+  }
+
+  /**
+   * @return The timestamp of the event, which is stored in the window
+   */
+  protected abstract long getTimestamp(IN in);
+
+  /**
+   * Removes the values which leave the window before the value of the event with the given timestamp is added
+   */
+  protected abstract void evict(SlidingStatistics window, long currentTimestamp) throws Exception;
+
+  /**
+   * Removes the oldest value of the window
+   */
+  protected void removeFirst(SlidingStatistics window) throws Exception {
+    window.removeFirst(slots);
+  }
+
+  /**
+   * @param in     The latest event of the window
+   * @param window The statistics of the window including the latest event
+   */
+  protected abstract OUT onWindowUpdate(IN in, SlidingStatistics window);
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.statistics.flink.extensions;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeHint;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.tuple.Tuple2;
+
+/**
+ * The keyed map states which hold the values of the sliding windows. Each entry is stored under its own key, so that
+ * adding or removing a value only (de)serializes the entries which change, also with a serializing state backend
+ * like RocksDB.
+ */
+public class SlidingWindowSlots {
+
+  private static final TypeInformation<Tuple2<Long, Double>> ENTRY_TYPE =
+          TypeInformation.of(new TypeHint<Tuple2<Long, Double>>() {
+          });
+
+  /**
+   * sequence number -> (timestamp, value)
+   */
+  final MapState<Long, Tuple2<Long, Double>> values;
+
+  /**
+   * position in the deque -> (sequence number, value) of the values which can still become the minimum
+   */
+  final MapState<Long, Tuple2<Long, Double>> minCandidates;
+
+  /**
+   * position in the deque -> (sequence number, value) of the values which can still become the maximum
+   */
+  final MapState<Long, Tuple2<Long, Double>> maxCandidates;
+
+  public SlidingWindowSlots(RuntimeContext runtimeContext) {
+    this.values = runtimeContext.getMapState(makeDescriptor("sliding-window-values"));
+    this.minCandidates = runtimeContext.getMapState(makeDescriptor("sliding-window-min-candidates"));
+    this.maxCandidates = runtimeContext.getMapState(makeDescriptor("sliding-window-max-candidates"));
+  }
+
+  private static MapStateDescriptor<Long, Tuple2<Long, Double>> makeDescriptor(String name) {
+    return new MapStateDescriptor<>(name, BasicTypeInfo.LONG_TYPE_INFO, ENTRY_TYPE);
+  }
+}
@@ -16,9 +16,13 @@
  *
  */
 
-package org.apache.streampipes.processors.filters.jvm.processor.numericalfilter;
+package org.apache.streampipes.processors.statistics.flink.extensions;
 
-public enum NumericalOperator {
-  // Greater/Equal, Greater than, Less/Equal, Less than, Equal, Inequal
-  GE, GT, LE, LT, EQ, IE
+import org.apache.flink.api.common.functions.Function;
+
+import java.io.Serializable;
+
+public interface ValueMappingFunction<IN> extends Function, Serializable {
+
+  double getValue(IN in);
 }
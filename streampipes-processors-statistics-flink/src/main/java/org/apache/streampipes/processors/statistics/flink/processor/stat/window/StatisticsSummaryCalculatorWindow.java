@@ -18,42 +18,35 @@
 
 package org.apache.streampipes.processors.statistics.flink.processor.stat.window;
 
-import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
-import org.apache.flink.api.common.functions.FlatMapFunction;
-import org.apache.flink.util.Collector;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.statistics.flink.extensions.SlidingEventTimeWindow;
+import org.apache.streampipes.processors.statistics.flink.extensions.SlidingStatistics;
+import org.apache.streampipes.processors.statistics.flink.extensions.TimestampMappingFunction;
+import org.apache.streampipes.processors.statistics.flink.extensions.ValueMappingFunction;
 import org.apache.streampipes.processors.statistics.flink.processor.stat.summary.StatisticsSummaryController;
 
-import java.io.Serializable;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
-public class StatisticsSummaryCalculatorWindow implements FlatMapFunction<List<Event>, Event>,
-        Serializable {
+public class StatisticsSummaryCalculatorWindow extends SlidingEventTimeWindow<Event, Event> {
 
   private String partitionMapping;
-  private String valueToObserveMapping;
 
-  public StatisticsSummaryCalculatorWindow(String partitionMapping, String valueToObserveMapping) {
+  public StatisticsSummaryCalculatorWindow(String partitionMapping, String valueToObserveMapping,
+                                           String timestampMapping, Long timeWindowSize, TimeUnit timeUnit) {
+    super(timeWindowSize, timeUnit,
+            (TimestampMappingFunction<Event>) in -> in.getFieldBySelector(timestampMapping)
+                    .getAsPrimitive().getAsLong(),
+            (ValueMappingFunction<Event>) in -> in.getFieldBySelector(valueToObserveMapping)
+                    .getAsPrimitive().getAsDouble());
     this.partitionMapping = partitionMapping;
-    this.valueToObserveMapping = valueToObserveMapping;
   }
 
   @Override
-  public void flatMap(List<Event> in, Collector<Event> out)
-          throws Exception {
-    List<Double> listValues = (in.stream().map(m -> m.getFieldBySelector(valueToObserveMapping)
-            .getAsPrimitive().getAsDouble())
-            .collect(Collectors.toList()));
-
-    SummaryStatistics stats = new SummaryStatistics();
-
-    listValues.forEach(lv -> stats.addValue(lv));
-
+  protected Event onWindowUpdate(Event in, SlidingStatistics stats) {
     Event outMap = new Event();
 
     outMap.addField("timestamp", System.currentTimeMillis());
-    outMap.addField("id", in.get(in.size() - 1).getFieldBySelector(partitionMapping).getRawValue());
+    outMap.addField("id", in.getFieldBySelector(partitionMapping).getRawValue());
     outMap.addField(StatisticsSummaryController.MIN, stats.getMin());
     outMap.addField(StatisticsSummaryController.MAX, stats.getMax());
     outMap.addField(StatisticsSummaryController.MEAN, stats.getMean());
@@ -62,7 +55,7 @@ public class StatisticsSummaryCalculatorWindow implements FlatMapFunction<List<E
     outMap.addField(StatisticsSummaryController.STDDEV, stats.getStandardDeviation());
     outMap.addField(StatisticsSummaryController.VARIANCE, stats.getVariance());
 
-    out.collect(outMap);
+    return outMap;
   }
 
 }
@@ -18,17 +18,11 @@
 
 package org.apache.streampipes.processors.statistics.flink.processor.stat.window;
 
-import org.apache.flink.api.common.typeinfo.TypeHint;
-import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.statistics.flink.AbstractStatisticsProgram;
 import org.apache.streampipes.processors.statistics.flink.extensions.MapKeySelector;
-import org.apache.streampipes.processors.statistics.flink.extensions.SlidingEventTimeWindow;
-import org.apache.streampipes.processors.statistics.flink.extensions.TimestampMappingFunction;
-
-import java.util.List;
 
 public class StatisticsSummaryProgramWindow extends
         AbstractStatisticsProgram<StatisticsSummaryParametersWindow> {
@@ -56,14 +50,8 @@ public class StatisticsSummaryProgramWindow extends
             serializableParams.getTimeWindowSize(), serializableParams.getTimeUnit());
     DataStream<Event> output = messageStream[0]
             .keyBy(new MapKeySelector(sp.getGroupBy()).getKeySelector())
-            .transform
-                    ("sliding-window-event-shift",
-                            TypeInformation.of(new TypeHint<List<Event>>() {
-                            }), new SlidingEventTimeWindow<>(sp.getTimeWindowSize(), sp.getTimeUnit(),
-                                    (TimestampMappingFunction<Event>) in ->
-                                            in.getFieldBySelector(sp.getTimestampMapping())
-                                                    .getAsPrimitive().getAsLong()))
-            .flatMap(new StatisticsSummaryCalculatorWindow(sp.getGroupBy(), sp.getValueToObserve()));
+            .process(new StatisticsSummaryCalculatorWindow(sp.getGroupBy(), sp.getValueToObserve(),
+                    sp.getTimestampMapping(), sp.getTimeWindowSize(), sp.getTimeUnit()));
 
     return output;
   }
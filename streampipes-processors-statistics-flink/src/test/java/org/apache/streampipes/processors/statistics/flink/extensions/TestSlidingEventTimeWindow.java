@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.statistics.flink.extensions;
+
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.api.operators.KeyedProcessOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestSlidingEventTimeWindow {
+
+  private static final long WINDOW_SIZE = 50;
+  private static final double DELTA = 0.000001;
+
+  /**
+   * (key, timestamp, value)
+   */
+  private static class StatisticsWindow extends SlidingEventTimeWindow<Tuple3<String, Long, Double>, double[]> {
+
+    StatisticsWindow() {
+      super(WINDOW_SIZE, TimeUnit.MILLISECONDS, in -> in.f1, in -> in.f2);
+    }
+
+    @Override
+    protected double[] onWindowUpdate(Tuple3<String, Long, Double> in, SlidingStatistics window) {
+      return new double[]{window.getN(), window.getMin(), window.getMax(), window.getMean(), window.getSum(),
+              window.getVariance()};
+    }
+  }
+
+  @Test
+  public void testStatisticsMatchReference() throws Exception {
+    List<Tuple3<String, Long, Double>> input = makeInput(2000);
+
+    List<double[]> output = process(input, 0, input.size(), null).f1;
+
+    Map<String, List<Tuple3<String, Long, Double>>> windows = new HashMap<>();
+    for (int i = 0; i < input.size(); i++) {
+      Tuple3<String, Long, Double> event = input.get(i);
+      List<Tuple3<String, Long, Double>> window = windows.computeIfAbsent(event.f0, key -> new ArrayList<>());
+      window.removeIf(old -> event.f1 - old.f1 > WINDOW_SIZE);
+      window.add(event);
+      assertArrayEquals(reference(window), output.get(i), DELTA);
+    }
+  }
+
+  @Test
+  public void testRestoreFromCheckpoint() throws Exception {
+    List<Tuple3<String, Long, Double>> input = makeInput(2000);
+    int checkpointAt = 1234;
+
+    List<double[]> expected = process(input, 0, input.size(), null).f1;
+
+    Tuple2<OperatorSubtaskState, List<double[]>> beforeCheckpoint = process(input, 0, checkpointAt, null);
+    List<double[]> afterRestore = process(input, checkpointAt, input.size(), beforeCheckpoint.f0).f1;
+
+    assertEquals(input.size() - checkpointAt, afterRestore.size());
+    for (int i = 0; i < afterRestore.size(); i++) {
+      assertArrayEquals(expected.get(checkpointAt + i), afterRestore.get(i), 0.0);
+    }
+  }
+
+  /**
+   * Processes the events [from, to) of the input in a new operator, which is restored from the given state
+   *
+   * @return The state of the operator after the last event and the output
+   */
+  private Tuple2<OperatorSubtaskState, List<double[]>> process(List<Tuple3<String, Long, Double>> input,
+                                                              int from, int to,
+                                                              OperatorSubtaskState state) throws Exception {
+    KeySelector<Tuple3<String, Long, Double>, String> keySelector = in -> in.f0;
+    KeyedOneInputStreamOperatorTestHarness<String, Tuple3<String, Long, Double>, double[]> harness =
+            new KeyedOneInputStreamOperatorTestHarness<>(new KeyedProcessOperator<>(new StatisticsWindow()),
+                    keySelector, BasicTypeInfo.STRING_TYPE_INFO);
+    try {
+      if (state != null) {
+        harness.initializeState(state);
+      }
+      harness.open();
+      for (int i = from; i < to; i++) {
+        harness.processElement(new StreamRecord<>(input.get(i), input.get(i).f1));
+      }
+      return Tuple2.of(harness.snapshot(1L, 1L), harness.extractOutputValues());
+    } finally {
+      harness.close();
+    }
+  }
+
+  private static List<Tuple3<String, Long, Double>> makeInput(int count) {
+    Random random = new Random(42);
+    List<Tuple3<String, Long, Double>> input = new ArrayList<>();
+    long timestamp = 0;
+    for (int i = 0; i < count; i++) {
+      timestamp += random.nextInt(10);
+      input.add(Tuple3.of("key-" + random.nextInt(3), timestamp, (double) random.nextInt(100)));
+    }
+    return input;
+  }
+
+  private static double[] reference(List<Tuple3<String, Long, Double>> window) {
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+    double sum = 0;
+    for (Tuple3<String, Long, Double> event : window) {
+      min = Math.min(min, event.f2);
+      max = Math.max(max, event.f2);
+      sum += event.f2;
+    }
+    double mean = sum / window.size();
+    double squares = 0;
+    for (Tuple3<String, Long, Double> event : window) {
+      squares += (event.f2 - mean) * (event.f2 - mean);
+    }
+    double variance = window.size() > 1 ? squares / (window.size() - 1) : 0.0;
+    return new double[]{window.size(), min, max, mean, sum, variance};
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import java.io.Serializable;
+
+/**
+ * A Count-Min Sketch: approximate counts of words in a fixed size table of depth rows with width counters each.
+ * The estimate of a word is never lower than its real count and exceeds it by at most 2 * total / width with a
+ * probability of 1 - (1/2)^depth.
+ */
+public class CountMinSketch implements Serializable {
+
+  private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646C,
+          0xFD7046C5, 0xB55A4F09};
+
+  private int width;
+  private int depth;
+  private int[] table;
+
+  public CountMinSketch() {
+  }
+
+  public CountMinSketch(int width, int depth) {
+    if (depth > SEEDS.length) {
+      throw new IllegalArgumentException("Depth must not be larger than " + SEEDS.length);
+    }
+    this.width = width;
+    this.depth = depth;
+    this.table = new int[width * depth];
+  }
+
+  /**
+   * Adds the count to the word
+   *
+   * @return The new estimate of the word
+   */
+  public int add(String word, int count) {
+    int hash = word.hashCode();
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int index = row * width + indexOf(hash, row);
+      table[index] += count;
+      estimate = Math.min(estimate, table[index]);
+    }
+    return estimate;
+  }
+
+  public int estimate(String word) {
+    int hash = word.hashCode();
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, table[row * width + indexOf(hash, row)]);
+    }
+    return estimate;
+  }
+
+  /**
+   * Adds the counts of a sketch with the same dimensions
+   */
+  public void merge(CountMinSketch other) {
+    for (int i = 0; i < table.length; i++) {
+      table[i] += other.table[i];
+    }
+  }
+
+  private int indexOf(int hash, int row) {
+    int h = hash * SEEDS[row];
+    h ^= h >>> 16;
+    h *= 0x7FEB352D;
+    h ^= h >>> 15;
+    return (h & Integer.MAX_VALUE) % width;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public void setWidth(int width) {
+    this.width = width;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public void setDepth(int depth) {
+    this.depth = depth;
+  }
+
+  public int[] getTable() {
+    return table;
+  }
+
+  public void setTable(int[] table) {
+    this.table = table;
+  }
+}
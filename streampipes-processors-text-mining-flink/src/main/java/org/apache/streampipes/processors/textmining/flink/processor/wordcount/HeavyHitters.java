@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+
+import java.util.List;
+
+/**
+ * Approximates the K most frequent words of a window with a Count-Min Sketch. The reported counts are estimates,
+ * which can be slightly higher than the real counts.
+ */
+public class HeavyHitters implements AggregateFunction<Word, HeavyHittersAccumulator, List<Word>> {
+
+  /**
+   * Additional candidates per requested word, which reduce the chance that a heavy hitter is displaced by a word
+   * whose estimate is temporarily higher
+   */
+  private static final int CANDIDATES_PER_WORD = 2;
+
+  private int k;
+  private int width;
+  private int depth;
+
+  public HeavyHitters(int k, int width, int depth) {
+    this.k = k;
+    this.width = width;
+    this.depth = depth;
+  }
+
+  @Override
+  public HeavyHittersAccumulator createAccumulator() {
+    return new HeavyHittersAccumulator(k * CANDIDATES_PER_WORD, width, depth);
+  }
+
+  @Override
+  public HeavyHittersAccumulator add(Word word, HeavyHittersAccumulator acc) {
+    acc.add(word.getWord(), word.getCount());
+    return acc;
+  }
+
+  @Override
+  public List<Word> getResult(HeavyHittersAccumulator acc) {
+    return acc.getTopWords(k);
+  }
+
+  @Override
+  public HeavyHittersAccumulator merge(HeavyHittersAccumulator a, HeavyHittersAccumulator b) {
+    a.merge(b);
+    return a;
+  }
+}
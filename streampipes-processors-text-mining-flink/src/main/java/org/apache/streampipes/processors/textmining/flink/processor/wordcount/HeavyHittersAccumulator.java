@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the words of a window in a {@link CountMinSketch} and keeps a bounded set of candidate words with the
+ * highest estimates. The memory of a window is fixed, independent of the size of the vocabulary.
+ */
+public class HeavyHittersAccumulator {
+
+  private CountMinSketch sketch;
+  private HashMap<String, Integer> candidates;
+  private int capacity;
+
+  /**
+   * A lower bound of the smallest estimate of the candidates, so that most words which are no heavy hitter are
+   * rejected without scanning the candidates
+   */
+  private int minCandidateCount;
+
+  public HeavyHittersAccumulator() {
+  }
+
+  public HeavyHittersAccumulator(int capacity, int width, int depth) {
+    this.sketch = new CountMinSketch(width, depth);
+    this.candidates = new HashMap<>(capacity * 2);
+    this.capacity = capacity;
+  }
+
+  public void add(String word, int count) {
+    offer(word, sketch.add(word, count));
+  }
+
+  private void offer(String word, int estimate) {
+    if (candidates.containsKey(word) || candidates.size() < capacity) {
+      candidates.put(word, estimate);
+    } else if (estimate > minCandidateCount) {
+      String minWord = null;
+      int minCount = Integer.MAX_VALUE;
+      for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+        if (candidate.getValue() < minCount) {
+          minWord = candidate.getKey();
+          minCount = candidate.getValue();
+        }
+      }
+      minCandidateCount = minCount;
+      if (estimate > minCount) {
+        candidates.remove(minWord);
+        candidates.put(word, estimate);
+      }
+    }
+  }
+
+  public void merge(HeavyHittersAccumulator other) {
+    sketch.merge(other.sketch);
+    List<String> words = new ArrayList<>(candidates.keySet());
+    words.addAll(other.candidates.keySet());
+    candidates.clear();
+    minCandidateCount = 0;
+    for (String word : words) {
+      offer(word, sketch.estimate(word));
+    }
+  }
+
+  /**
+   * @return The k candidates with the highest estimates in descending order
+   */
+  public List<Word> getTopWords(int k) {
+    List<Word> result = new ArrayList<>(candidates.size());
+    for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+      result.add(new Word(candidate.getKey(), candidate.getValue()));
+    }
+    result.sort(Collections.reverseOrder(Comparator.comparingInt(Word::getCount)));
+    return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+  }
+
+  public CountMinSketch getSketch() {
+    return sketch;
+  }
+
+  public void setSketch(CountMinSketch sketch) {
+    this.sketch = sketch;
+  }
+
+  public HashMap<String, Integer> getCandidates() {
+    return candidates;
+  }
+
+  public void setCandidates(HashMap<String, Integer> candidates) {
+    this.candidates = candidates;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public int getMinCandidateCount() {
+    return minCandidateCount;
+  }
+
+  public void setMinCandidateCount(int minCandidateCount) {
+    this.minCandidateCount = minCandidateCount;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import org.apache.flink.api.common.functions.AggregateFunction;
+
+import java.util.List;
+
+/**
+ * Selects the K most frequent words of a window from the counted words of the window (one count per word).
+ */
+public class TopWords implements AggregateFunction<Word, TopWordsAccumulator, List<Word>> {
+
+  private int k;
+
+  public TopWords(int k) {
+    this.k = k;
+  }
+
+  @Override
+  public TopWordsAccumulator createAccumulator() {
+    return new TopWordsAccumulator(k);
+  }
+
+  @Override
+  public TopWordsAccumulator add(Word word, TopWordsAccumulator acc) {
+    acc.offer(word.getWord(), word.getCount());
+    return acc;
+  }
+
+  @Override
+  public List<Word> getResult(TopWordsAccumulator acc) {
+    return acc.toSortedList();
+  }
+
+  @Override
+  public TopWordsAccumulator merge(TopWordsAccumulator a, TopWordsAccumulator b) {
+    for (Word word : b.toSortedList()) {
+      a.offer(word.getWord(), word.getCount());
+    }
+    return a;
+  }
+}
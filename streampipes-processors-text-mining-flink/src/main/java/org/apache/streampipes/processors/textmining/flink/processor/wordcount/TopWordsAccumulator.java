@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the K words with the highest counts offered so far in a min-heap, so that the memory of a window does
+ * not depend on the size of the vocabulary. A word must only be offered once.
+ */
+public class TopWordsAccumulator {
+
+  private String[] words;
+  private int[] counts;
+  private int size;
+
+  public TopWordsAccumulator() {
+  }
+
+  public TopWordsAccumulator(int k) {
+    this.words = new String[k];
+    this.counts = new int[k];
+  }
+
+  public void offer(String word, int count) {
+    if (size < words.length) {
+      words[size] = word;
+      counts[size] = count;
+      siftUp(size++);
+    } else if (size > 0 && count > counts[0]) {
+      words[0] = word;
+      counts[0] = count;
+      siftDown(0);
+    }
+  }
+
+  /**
+   * @return The words in descending order of their count
+   */
+  public List<Word> toSortedList() {
+    List<Word> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(new Word(words[i], counts[i]));
+    }
+    result.sort(Collections.reverseOrder(Comparator.comparingInt(Word::getCount)));
+    return result;
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) / 2;
+      if (counts[parent] <= counts[i]) {
+        return;
+      }
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i) {
+    while (true) {
+      int smallest = i;
+      int left = 2 * i + 1;
+      int right = left + 1;
+      if (left < size && counts[left] < counts[smallest]) {
+        smallest = left;
+      }
+      if (right < size && counts[right] < counts[smallest]) {
+        smallest = right;
+      }
+      if (smallest == i) {
+        return;
+      }
+      swap(i, smallest);
+      i = smallest;
+    }
+  }
+
+  private void swap(int i, int j) {
+    String word = words[i];
+    words[i] = words[j];
+    words[j] = word;
+    int count = counts[i];
+    counts[i] = counts[j];
+    counts[j] = count;
+  }
+
+  public String[] getWords() {
+    return words;
+  }
+
+  public void setWords(String[] words) {
+    this.words = words;
+  }
+
+  public int[] getCounts() {
+    return counts;
+  }
+
+  public void setCounts(int[] counts) {
+    this.counts = counts;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+}
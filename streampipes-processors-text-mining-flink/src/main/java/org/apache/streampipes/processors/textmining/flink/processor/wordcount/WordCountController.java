@@ -35,6 +35,11 @@ public class WordCountController extends FlinkDataProcessorDeclarer<WordCountPar
 
   private static final String WORD_COUNT_FIELD_KEY = "wordcountField";
   private static final String TIME_WINDOW_KEY = "timeWindow";
+  private static final String OUTPUT_EVERY_KEY = "outputEvery";
+  private static final String TOP_K_KEY = "topK";
+  private static final String COUNTING_MODE_KEY = "countingMode";
+  private static final String EXACT = "EXACT";
+  private static final String APPROXIMATE = "APPROXIMATE";
   private static final String WORD_KEY = "word";
   private static final String COUNT_KEY = "count";
 
@@ -58,6 +63,11 @@ public class WordCountController extends FlinkDataProcessorDeclarer<WordCountPar
                     EpProperties.integerEp(Labels.withId(COUNT_KEY),
                     "count", "http://schema.org/number")))
             .requiredIntegerParameter(Labels.withId(TIME_WINDOW_KEY))
+            .requiredIntegerParameter(Labels.withId(OUTPUT_EVERY_KEY))
+            .requiredIntegerParameter(Labels.withId(TOP_K_KEY), 10)
+            .requiredSingleValueSelection(Labels.withId(COUNTING_MODE_KEY),
+                    Options.from(new Tuple2<>("Exact", EXACT),
+                            new Tuple2<>("Approximate (bounded memory)", APPROXIMATE)))
             .build();
   }
 
@@ -66,8 +76,17 @@ public class WordCountController extends FlinkDataProcessorDeclarer<WordCountPar
 
     String fieldName = extractor.mappingPropertyValue(WORD_COUNT_FIELD_KEY);
     Integer timeWindowValue = extractor.singleValueParameter(TIME_WINDOW_KEY, Integer.class);
+    Integer outputEvery = extractor.singleValueParameter(OUTPUT_EVERY_KEY, Integer.class);
+    Integer topK = extractor.singleValueParameter(TOP_K_KEY, Integer.class);
+    String countingMode = extractor.selectedSingleValueInternalName(COUNTING_MODE_KEY, String.class);
 
-    return new WordCountProgram(new WordCountParameters(graph, fieldName, timeWindowValue), TextMiningFlinkConfig.INSTANCE.getDebug());
+    // a window which slides by its own size (or more) is a tumbling window
+    if (outputEvery <= 0 || outputEvery > timeWindowValue) {
+      outputEvery = timeWindowValue;
+    }
+
+    return new WordCountProgram(new WordCountParameters(graph, fieldName, timeWindowValue, outputEvery,
+            Math.max(1, topK), APPROXIMATE.equals(countingMode)), TextMiningFlinkConfig.INSTANCE.getDebug());
 
   }
 }
@@ -25,12 +25,19 @@ public class WordCountParameters extends EventProcessorBindingParams {
 
 	private String wordCountFieldName;
 	private Integer timeWindowValue;
+	private Integer outputEvery;
+	private Integer topK;
+	private Boolean approximate;
 
-	public WordCountParameters(DataProcessorInvocation graph, String wordCountFieldName, Integer timeWindowValue)
+	public WordCountParameters(DataProcessorInvocation graph, String wordCountFieldName, Integer timeWindowValue,
+														 Integer outputEvery, Integer topK, Boolean approximate)
 	{
 		super(graph);
 		this.wordCountFieldName = wordCountFieldName;
 		this.timeWindowValue = timeWindowValue;
+		this.outputEvery = outputEvery;
+		this.topK = topK;
+		this.approximate = approximate;
 	}
 
 	public String getWordCountFieldName() {
@@ -40,4 +47,16 @@ public class WordCountParameters extends EventProcessorBindingParams {
 	public Integer getTimeWindowValue() {
 		return timeWindowValue;
 	}
+
+	public Integer getOutputEvery() {
+		return outputEvery;
+	}
+
+	public Integer getTopK() {
+		return topK;
+	}
+
+	public Boolean isApproximate() {
+		return approximate;
+	}
 }
@@ -18,7 +18,14 @@
 
 package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
 
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.windowing.assigners.SlidingEventTimeWindows;
+import org.apache.flink.streaming.api.windowing.assigners.TumblingEventTimeWindows;
+import org.apache.flink.streaming.api.windowing.assigners.WindowAssigner;
+import org.apache.flink.streaming.api.windowing.time.Time;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.textmining.flink.AbstractTextMiningProgram;
 
@@ -26,23 +33,64 @@ import java.io.Serializable;
 
 public class WordCountProgram extends AbstractTextMiningProgram<WordCountParameters> implements Serializable {
 
+  /**
+   * Dimensions of the Count-Min Sketch used in approximate mode (32 KB per window)
+   */
+  private static final int SKETCH_WIDTH = 2048;
+  private static final int SKETCH_DEPTH = 4;
+
   public WordCountProgram(WordCountParameters params, boolean debug) {
     super(params, debug);
+    setStreamTimeCharacteristic(TimeCharacteristic.IngestionTime);
   }
 
   public WordCountProgram(WordCountParameters params) {
     super(params);
+    setStreamTimeCharacteristic(TimeCharacteristic.IngestionTime);
   }
 
   @Override
   protected DataStream<Event> getApplicationLogic(
           DataStream<Event>... messageStream) {
 
-    return messageStream[0]
-            .flatMap(new WordSplitter(bindingParams.getWordCountFieldName()))
-            .keyBy("word")
-            .sum("count")
-            .flatMap(new WordToEventConverter());
+    DataStream<Word> words = messageStream[0]
+            .flatMap(new WordSplitter(bindingParams.getWordCountFieldName()));
+
+    if (bindingParams.isApproximate()) {
+      return words
+              .windowAll(getWindowAssigner())
+              .aggregate(new HeavyHitters(bindingParams.getTopK(), SKETCH_WIDTH, SKETCH_DEPTH))
+              .flatMap(new WordToEventConverter());
+    } else {
+      // counts the words of each window in parallel, then selects the top words of all counts of a window: the
+      // counts of a window are emitted with the end of the window as timestamp, which falls into exactly one
+      // tumbling window of the slide size
+      return words
+              .keyBy(getKeySelector())
+              .window(getWindowAssigner())
+              .reduce(new WordCountReducer())
+              .windowAll(TumblingEventTimeWindows.of(Time.seconds(bindingParams.getOutputEvery())))
+              .aggregate(new TopWords(bindingParams.getTopK()))
+              .flatMap(new WordToEventConverter());
+    }
+  }
+
+  private WindowAssigner<Object, TimeWindow> getWindowAssigner() {
+    Time size = Time.seconds(bindingParams.getTimeWindowValue());
+    if (bindingParams.getOutputEvery().equals(bindingParams.getTimeWindowValue())) {
+      return TumblingEventTimeWindows.of(size);
+    } else {
+      return SlidingEventTimeWindows.of(size, Time.seconds(bindingParams.getOutputEvery()));
+    }
+  }
+
+  private KeySelector<Word, String> getKeySelector() {
+    return new KeySelector<Word, String>() {
+      @Override
+      public String getKey(Word word) throws Exception {
+        return word.getWord();
+      }
+    };
   }
 
 }
@@ -16,26 +16,19 @@
  *
  */
 
-package org.apache.streampipes.processors.pattern.detection.flink.processor.sequence;
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
 
-import org.apache.streampipes.model.runtime.Event;
+import org.apache.flink.api.common.functions.ReduceFunction;
 
-public class EventStorage {
-
-  private Long timestamp;
-  private Event event;
-
-  public EventStorage(Long timestamp, Event event) {
-    this.timestamp = timestamp;
-    this.event = event;
-  }
-
-  public Long getTimestamp() {
-    return timestamp;
-  }
+/**
+ * Sums the counts of a word within a window, so that the window keeps a single count per word instead of all
+ * occurrences.
+ */
+public class WordCountReducer implements ReduceFunction<Word> {
 
-  public Event getEvent() {
-    return event;
+  @Override
+  public Word reduce(Word first, Word second) {
+    first.setCount(first.getCount() + second.getCount());
+    return first;
   }
-
 }
@@ -35,8 +35,21 @@ public class WordSplitter implements FlatMapFunction<Event, Word> {
                       Collector<Word> out) throws Exception {
 
     String propertyValue = in.getFieldBySelector(mappingPropertyName).getAsPrimitive().getAsString();
-    for (String word : propertyValue.split(" ")) {
-      out.collect(new Word(word, 1));
+
+    // scans the text once instead of compiling a split pattern and allocating an array for each event
+    int start = -1;
+    for (int i = 0; i < propertyValue.length(); i++) {
+      if (Character.isWhitespace(propertyValue.charAt(i))) {
+        if (start >= 0) {
+          out.collect(new Word(propertyValue.substring(start, i), 1));
+          start = -1;
+        }
+      } else if (start < 0) {
+        start = i;
+      }
+    }
+    if (start >= 0) {
+      out.collect(new Word(propertyValue.substring(start), 1));
     }
   }
 
@@ -15,19 +15,24 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
 
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.util.Collector;
 import org.apache.streampipes.model.runtime.Event;
 
-public class WordToEventConverter implements FlatMapFunction<Word, Event> {
+import java.util.List;
+
+public class WordToEventConverter implements FlatMapFunction<List<Word>, Event> {
 
   @Override
-  public void flatMap(Word word, Collector<Event> collector) throws Exception {
+  public void flatMap(List<Word> words, Collector<Event> collector) throws Exception {
+    for (Word word : words) {
       Event event = new Event();
       event.addField("word", word.getWord());
       event.addField("count", word.getCount());
       collector.collect(event);
+    }
   }
 }
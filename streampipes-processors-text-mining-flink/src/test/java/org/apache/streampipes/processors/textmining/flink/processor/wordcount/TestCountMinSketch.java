@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestCountMinSketch {
+
+  @Test
+  public void testEstimatesAreNeverBelowCount() {
+    CountMinSketch sketch = new CountMinSketch(64, 4);
+    Map<String, Integer> counts = makeCounts(new Random(1), 5000);
+    counts.forEach(sketch::add);
+
+    counts.forEach((word, count) -> assertTrue(word, sketch.estimate(word) >= count));
+  }
+
+  @Test
+  public void testEstimatesAreExactWithoutCollisions() {
+    CountMinSketch sketch = new CountMinSketch(1024, 4);
+    sketch.add("a", 3);
+    sketch.add("b", 5);
+    sketch.add("a", 2);
+
+    assertEquals(5, sketch.estimate("a"));
+    assertEquals(5, sketch.estimate("b"));
+    assertEquals(0, sketch.estimate("c"));
+  }
+
+  @Test
+  public void testMergeAddsCounts() {
+    Random random = new Random(2);
+    Map<String, Integer> leftCounts = makeCounts(random, 3000);
+    Map<String, Integer> rightCounts = makeCounts(random, 3000);
+    CountMinSketch left = new CountMinSketch(256, 4);
+    CountMinSketch right = new CountMinSketch(256, 4);
+    CountMinSketch all = new CountMinSketch(256, 4);
+    leftCounts.forEach(left::add);
+    leftCounts.forEach(all::add);
+    rightCounts.forEach(right::add);
+    rightCounts.forEach(all::add);
+
+    left.merge(right);
+
+    for (String word : makeWords(leftCounts, rightCounts)) {
+      assertEquals(word, all.estimate(word), left.estimate(word));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDepthIsLimited() {
+    new CountMinSketch(16, 9);
+  }
+
+  private String[] makeWords(Map<String, Integer> leftCounts, Map<String, Integer> rightCounts) {
+    Map<String, Integer> words = new HashMap<>(leftCounts);
+    words.putAll(rightCounts);
+    return words.keySet().toArray(new String[0]);
+  }
+
+  private Map<String, Integer> makeCounts(Random random, int words) {
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < words; i++) {
+      counts.merge("word" + random.nextInt(words), 1 + random.nextInt(10), Integer::sum);
+    }
+    return counts;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestHeavyHittersAccumulator {
+
+  private static final List<String> HEAVY_HITTERS = Arrays.asList("the", "stream", "pipes", "event");
+
+  @Test
+  public void testHeavyHittersAreFound() {
+    HeavyHittersAccumulator accumulator = new HeavyHittersAccumulator(20, 512, 4);
+    addWords(accumulator, new Random(1), 20000);
+
+    assertEquals(new HashSet<>(HEAVY_HITTERS), new HashSet<>(getWords(accumulator.getTopWords(4))));
+  }
+
+  @Test
+  public void testTopWordsAreSortedAndLimited() {
+    HeavyHittersAccumulator accumulator = new HeavyHittersAccumulator(20, 512, 4);
+    addWords(accumulator, new Random(2), 20000);
+
+    List<Word> topWords = accumulator.getTopWords(10);
+
+    assertEquals(10, topWords.size());
+    for (int i = 1; i < topWords.size(); i++) {
+      assertTrue(topWords.get(i - 1).getCount() >= topWords.get(i).getCount());
+    }
+  }
+
+  @Test
+  public void testMergeFindsHeavyHittersOfBothAccumulators() {
+    HeavyHittersAccumulator left = new HeavyHittersAccumulator(20, 512, 4);
+    HeavyHittersAccumulator right = new HeavyHittersAccumulator(20, 512, 4);
+    left.add("left", 500);
+    right.add("right", 400);
+    addWords(left, new Random(3), 10000);
+    addWords(right, new Random(4), 10000);
+
+    left.merge(right);
+    List<Word> topWords = left.getTopWords(6);
+
+    assertTrue(getWords(topWords).containsAll(HEAVY_HITTERS));
+    assertTrue(getWords(topWords).containsAll(Arrays.asList("left", "right")));
+    for (Word word : topWords) {
+      assertEquals(word.getWord(), left.getSketch().estimate(word.getWord()), word.getCount());
+    }
+  }
+
+  /**
+   * Adds the heavy hitters with about a tenth of the words each and rare words for the rest
+   */
+  private void addWords(HeavyHittersAccumulator accumulator, Random random, int words) {
+    for (int i = 0; i < words; i++) {
+      if (random.nextInt(10) < HEAVY_HITTERS.size()) {
+        accumulator.add(HEAVY_HITTERS.get(random.nextInt(HEAVY_HITTERS.size())), 1);
+      } else {
+        accumulator.add("rare" + random.nextInt(5000), 1);
+      }
+    }
+  }
+
+  private List<String> getWords(List<Word> words) {
+    List<String> result = new ArrayList<>();
+    for (Word word : words) {
+      result.add(word.getWord());
+    }
+    return result;
+  }
+}
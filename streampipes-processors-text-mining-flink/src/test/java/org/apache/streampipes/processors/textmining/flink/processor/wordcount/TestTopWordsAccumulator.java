@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestTopWordsAccumulator {
+
+  @Test
+  public void testSmallestCountIsAtTheRoot() {
+    TopWordsAccumulator accumulator = new TopWordsAccumulator(10);
+    Random random = new Random(1);
+    for (int i = 0; i < 100; i++) {
+      accumulator.offer("word" + i, random.nextInt(1000));
+      assertHeapOrder(accumulator);
+    }
+  }
+
+  @Test
+  public void testMinimumIsReplaced() {
+    TopWordsAccumulator accumulator = new TopWordsAccumulator(3);
+    accumulator.offer("a", 5);
+    accumulator.offer("b", 1);
+    accumulator.offer("c", 3);
+
+    accumulator.offer("d", 4);
+    assertEquals(Arrays.asList("a", "d", "c"), getWords(accumulator.toSortedList()));
+
+    accumulator.offer("e", 2);
+    assertEquals(Arrays.asList("a", "d", "c"), getWords(accumulator.toSortedList()));
+  }
+
+  @Test
+  public void testSortedListContainsTopWords() {
+    TopWordsAccumulator accumulator = new TopWordsAccumulator(5);
+    int[] counts = {7, 3, 9, 1, 12, 4, 8, 2, 10, 6};
+    for (int i = 0; i < counts.length; i++) {
+      accumulator.offer("word" + counts[i], counts[i]);
+    }
+
+    List<Word> topWords = accumulator.toSortedList();
+
+    assertEquals(Arrays.asList("word12", "word10", "word9", "word8", "word7"), getWords(topWords));
+    assertEquals(12, topWords.get(0).getCount());
+  }
+
+  @Test
+  public void testSortedListOfPartiallyFilledAccumulator() {
+    TopWordsAccumulator accumulator = new TopWordsAccumulator(5);
+    accumulator.offer("a", 1);
+    accumulator.offer("b", 2);
+
+    assertEquals(Arrays.asList("b", "a"), getWords(accumulator.toSortedList()));
+  }
+
+  private void assertHeapOrder(TopWordsAccumulator accumulator) {
+    int[] counts = accumulator.getCounts();
+    for (int i = 1; i < accumulator.getSize(); i++) {
+      assertTrue(counts[(i - 1) / 2] <= counts[i]);
+    }
+  }
+
+  private List<String> getWords(List<Word> words) {
+    List<String> result = new ArrayList<>();
+    for (Word word : words) {
+      result.add(word.getWord());
+    }
+    return result;
+  }
+}
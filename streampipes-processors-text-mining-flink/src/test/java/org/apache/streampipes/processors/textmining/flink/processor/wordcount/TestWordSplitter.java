@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.flink.processor.wordcount;
+
+import org.apache.flink.util.Collector;
+import org.apache.streampipes.model.runtime.Event;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestWordSplitter {
+
+  @Test
+  public void testWordsAreSplitAtWhitespace() throws Exception {
+    assertEquals(Arrays.asList("a", "stream", "of", "words"), split("a stream of words"));
+  }
+
+  @Test
+  public void testLeadingAndTrailingWhitespaceIsIgnored() throws Exception {
+    assertEquals(Arrays.asList("stream", "pipes"), split("  stream pipes\t\n"));
+  }
+
+  @Test
+  public void testRepeatedWhitespaceIsIgnored() throws Exception {
+    assertEquals(Arrays.asList("stream", "pipes"), split("stream \t \n pipes"));
+  }
+
+  @Test
+  public void testTextWithoutWordsEmitsNothing() throws Exception {
+    assertEquals(Collections.emptyList(), split(""));
+    assertEquals(Collections.emptyList(), split(" \t "));
+  }
+
+  private List<String> split(String text) throws Exception {
+    Event event = new Event();
+    event.addField("text", text);
+    List<String> words = new ArrayList<>();
+
+    new WordSplitter("text").flatMap(event, new Collector<Word>() {
+      @Override
+      public void collect(Word word) {
+        assertEquals(1, word.getCount());
+        words.add(word.getWord());
+      }
+
+      @Override
+      public void close() {
+      }
+    });
+
+    return words;
+  }
+}
@@ -23,4 +23,5 @@ public class ConfigKeys {
     final static String PORT = "SP_PORT";
     final static String SERVICE_NAME_KEY = "SP_SERVICE_NAME";
     final static String MODEL_DIRECTORY = "MODEL_DIRECTORY";
+    final static String TEXT_MINING_WORKERS = "SP_TEXT_MINING_WORKERS";
 }
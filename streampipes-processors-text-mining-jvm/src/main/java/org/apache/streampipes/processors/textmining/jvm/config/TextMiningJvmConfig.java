@@ -39,6 +39,7 @@ public enum TextMiningJvmConfig implements PeConfig {
 		config.register(ConfigKeys.PORT, 8090, "Port for the pe text mining");
 
 		config.register(ConfigKeys.MODEL_DIRECTORY, "/data/models/", "The directory location for the folders of the name finder models");
+		config.register(ConfigKeys.TEXT_MINING_WORKERS, 2, "The number of threads processing the texts of a pipeline element (1 processes texts on the event thread)");
 
 		config.register(ConfigKeys.SERVICE_NAME_KEY, service_name, "The name of the service");
 	}
@@ -72,5 +73,9 @@ public enum TextMiningJvmConfig implements PeConfig {
 		return config.getString(ConfigKeys.MODEL_DIRECTORY);
 	}
 
+	public int getTextMiningWorkers() {
+		return config.getInteger(ConfigKeys.TEXT_MINING_WORKERS);
+	}
+
 
 }
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.jvm.processor;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The OpenNLP models of all pipeline elements of this container. Models are immutable and thread-safe, so pipeline
+ * elements with the same model file share one instance instead of each holding a copy. A model is identified by its
+ * type and the SHA-256 hash of the file, and is removed when the last pipeline element using it releases it.
+ */
+public class ModelRegistry {
+
+  public static final ModelRegistry INSTANCE = new ModelRegistry();
+
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  /**
+   * Reads a model from the model file
+   *
+   * @param <M> The type of the model
+   */
+  public interface ModelLoader<M> {
+    M load(InputStream modelIn) throws IOException;
+  }
+
+  /**
+   * Returns the shared instance of a model and loads the model if no pipeline element uses it yet. Concurrent
+   * requests for the same model wait for one load.
+   *
+   * @param fileContent The content of the model file
+   * @param type        The type of the model
+   * @param loader      Reads the model from the file
+   * @return The model, which has to be released when it is no longer used
+   * @throws SpRuntimeException When the model cannot be loaded
+   */
+  public <M> SharedModel<M> acquire(byte[] fileContent, Class<M> type, ModelLoader<M> loader)
+          throws SpRuntimeException {
+    if (fileContent == null) {
+      throw new SpRuntimeException("No model file was uploaded.");
+    }
+    String key = type.getName() + ":" + hash(fileContent);
+    Entry entry;
+    boolean load;
+    synchronized (entries) {
+      entry = entries.get(key);
+      load = entry == null;
+      if (load) {
+        entry = new Entry();
+        entries.put(key, entry);
+      }
+      entry.references++;
+    }
+
+    if (load) {
+      try (InputStream modelIn = new ByteArrayInputStream(fileContent)) {
+        entry.model.complete(loader.load(modelIn));
+      } catch (IOException | RuntimeException e) {
+        synchronized (entries) {
+          entries.remove(key, entry);
+        }
+        entry.model.completeExceptionally(e);
+      }
+    }
+
+    try {
+      return new SharedModel<>(key, type.cast(entry.model.join()));
+    } catch (CompletionException e) {
+      throw new SpRuntimeException("Error when loading the uploaded model.", e.getCause());
+    }
+  }
+
+  /**
+   * Releases a model, which is removed when no other pipeline element uses it
+   */
+  public void release(SharedModel<?> model) {
+    synchronized (entries) {
+      Entry entry = entries.get(model.key);
+      if (entry != null && --entry.references == 0) {
+        entries.remove(model.key);
+      }
+    }
+  }
+
+  private static String hash(byte[] content) throws SpRuntimeException {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new SpRuntimeException("SHA-256 is not available", e);
+    }
+  }
+
+  private static class Entry {
+    private final CompletableFuture<Object> model = new CompletableFuture<>();
+    private int references;
+  }
+
+  /**
+   * A model acquired from the registry
+   *
+   * @param <M> The type of the model
+   */
+  public static class SharedModel<M> {
+
+    private final String key;
+    private final M model;
+
+    private SharedModel(String key, M model) {
+      this.key = key;
+      this.model = model;
+    }
+
+    public M getModel() {
+      return model;
+    }
+  }
+}
@@ -20,20 +20,19 @@ package org.apache.streampipes.processors.textmining.jvm.processor.chunker;
 
 import opennlp.tools.chunker.ChunkerME;
 import opennlp.tools.chunker.ChunkerModel;
-import opennlp.tools.sentdetect.SentenceModel;
 import opennlp.tools.util.Span;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.textmining.jvm.config.TextMiningJvmConfig;
+import org.apache.streampipes.processors.textmining.jvm.processor.ModelRegistry;
 import org.apache.streampipes.processors.textmining.jvm.processor.TextMiningUtil;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -43,7 +42,9 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
 
   private String tags;
   private String tokens;
-  private ChunkerME chunker;
+  private ModelRegistry.SharedModel<ChunkerModel> model;
+  private ThreadLocal<ChunkerME> chunker;
+  private OrderedWorkerPool<Event> workers;
 
   public Chunker() {
 //    try (InputStream modelIn = getClass().getClassLoader().getResourceAsStream("chunker-en.bin")) {
@@ -62,19 +63,26 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
     this.tags = chunkerParameters.getTags();
     this.tokens = chunkerParameters.getTokens();
 
-    InputStream modelIn = new ByteArrayInputStream(chunkerParameters.getFileContent());
-    ChunkerModel model = null;
-    try {
-      model = new ChunkerModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
+    this.model = ModelRegistry.INSTANCE.acquire(chunkerParameters.getFileContent(), ChunkerModel.class,
+            ChunkerModel::new);
+    this.chunker = ThreadLocal.withInitial(() -> new ChunkerME(model.getModel()));
 
-    chunker = new ChunkerME(model);
+    int workerCount = TextMiningJvmConfig.INSTANCE.getTextMiningWorkers();
+    this.workers = new OrderedWorkerPool<>("chunker", workerCount, 2 * workerCount, spOutputCollector::collect,
+            e -> LOG.error("Could not chunk tokens: " + e.getMessage()));
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> chunk(inputEvent));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a text mining worker");
+    }
+  }
+
+  private Event chunk(Event inputEvent) {
     ListField tags = inputEvent.getFieldBySelector(this.tags).getAsList();
     ListField tokens = inputEvent.getFieldBySelector(this.tokens).getAsList();
 
@@ -82,7 +90,7 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
     String[] tagsArray = tags.castItems(String.class).stream().toArray(String[]::new);
     String[] tokensArray = tokens.castItems(String.class).stream().toArray(String[]::new);
 
-    Span[] spans = chunker.chunkAsSpans(tokensArray, tagsArray);
+    Span[] spans = chunker.get().chunkAsSpans(tokensArray, tagsArray);
 
     List<String> chunks = TextMiningUtil.extractSpans(spans, tokensArray);
     String[] types = Arrays.stream(spans).map(s -> s.getType()).toArray(String[]::new);
@@ -90,10 +98,12 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
     inputEvent.addField(ChunkerController.CHUNK_TYPE_FIELD_KEY, types);
     inputEvent.addField(ChunkerController.CHUNK_FIELD_KEY, chunks);
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    workers.stop();
+    ModelRegistry.INSTANCE.release(model);
   }
 }
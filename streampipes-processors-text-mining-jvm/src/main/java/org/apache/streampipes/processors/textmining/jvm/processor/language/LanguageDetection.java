@@ -22,25 +22,24 @@ import opennlp.tools.langdetect.Language;
 import opennlp.tools.langdetect.LanguageDetector;
 import opennlp.tools.langdetect.LanguageDetectorME;
 import opennlp.tools.langdetect.LanguageDetectorModel;
-import opennlp.tools.sentdetect.SentenceDetectorME;
-import opennlp.tools.sentdetect.SentenceModel;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.textmining.jvm.config.TextMiningJvmConfig;
+import org.apache.streampipes.processors.textmining.jvm.processor.ModelRegistry;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class LanguageDetection implements EventProcessor<LanguageDetectionParameters> {
 
   private static Logger LOG;
 
   private String detection;
-  private LanguageDetector languageDetector;
+  private ModelRegistry.SharedModel<LanguageDetectorModel> model;
+  private ThreadLocal<LanguageDetector> languageDetector;
+  private OrderedWorkerPool<Event> workers;
 
   public LanguageDetection() {
   }
@@ -52,29 +51,39 @@ public class LanguageDetection implements EventProcessor<LanguageDetectionParame
     LOG = languageDetectionParameters.getGraph().getLogger(LanguageDetection.class);
     this.detection = languageDetectionParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(languageDetectionParameters.getFileContent());
-    LanguageDetectorModel model = null;
-    try {
-      model = new LanguageDetectorModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
+    this.model = ModelRegistry.INSTANCE.acquire(languageDetectionParameters.getFileContent(),
+            LanguageDetectorModel.class, LanguageDetectorModel::new);
+    this.languageDetector = ThreadLocal.withInitial(() -> new LanguageDetectorME(model.getModel()));
 
-    languageDetector = new LanguageDetectorME(model);
+    int workerCount = TextMiningJvmConfig.INSTANCE.getTextMiningWorkers();
+    this.workers = new OrderedWorkerPool<>("language-detection", workerCount, 2 * workerCount,
+            spOutputCollector::collect,
+            e -> LOG.error("Could not detect language: " + e.getMessage()));
   }
 
   @Override
-  public void onEvent(Event inputEvent, SpOutputCollector out) {
+  public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> detectLanguage(inputEvent));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a text mining worker");
+    }
+  }
+
+  private Event detectLanguage(Event inputEvent) {
     String text = inputEvent.getFieldBySelector(detection).getAsPrimitive().getAsString();
-    Language language = languageDetector.predictLanguage(text);
+    Language language = languageDetector.get().predictLanguage(text);
 
     inputEvent.addField(LanguageDetectionController.LANGUAGE_KEY, language.getLang());
     inputEvent.addField(LanguageDetectionController.CONFIDENCE_KEY, language.getConfidence());
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    workers.stop();
+    ModelRegistry.INSTANCE.release(model);
   }
 }
@@ -25,14 +25,14 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.textmining.jvm.config.TextMiningJvmConfig;
+import org.apache.streampipes.processors.textmining.jvm.processor.ModelRegistry;
 import org.apache.streampipes.processors.textmining.jvm.processor.TextMiningUtil;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 
 public class NameFinder implements EventProcessor<NameFinderParameters> {
@@ -40,7 +40,10 @@ public class NameFinder implements EventProcessor<NameFinderParameters> {
   private static Logger LOG;
 
   private String tokens;
-  private NameFinderME nameFinder;
+  private ModelRegistry.SharedModel<TokenNameFinderModel> model;
+  // the adaptive data of a name finder is cleared after each event, so that each worker can use its own
+  private ThreadLocal<NameFinderME> nameFinder;
+  private OrderedWorkerPool<Event> workers;
 
   public NameFinder() {
 
@@ -49,40 +52,49 @@ public class NameFinder implements EventProcessor<NameFinderParameters> {
   @Override
   public void onInvocation(NameFinderParameters nameFinderParameters,
                            SpOutputCollector spOutputCollector,
-                           EventProcessorRuntimeContext runtimeContext) {
+                           EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
     LOG = nameFinderParameters.getGraph().getLogger(NameFinder.class);
 
-    loadModel(nameFinderParameters.getModel());
+    this.model = ModelRegistry.INSTANCE.acquire(nameFinderParameters.getModel(), TokenNameFinderModel.class,
+            TokenNameFinderModel::new);
+    this.nameFinder = ThreadLocal.withInitial(() -> new NameFinderME(model.getModel()));
 
     this.tokens = nameFinderParameters.getTokens();
+
+    int workerCount = TextMiningJvmConfig.INSTANCE.getTextMiningWorkers();
+    this.workers = new OrderedWorkerPool<>("name-finder", workerCount, 2 * workerCount, spOutputCollector::collect,
+            e -> LOG.error("Could not find names: " + e.getMessage()));
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> findNames(inputEvent));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a text mining worker");
+    }
+  }
+
+  private Event findNames(Event inputEvent) {
     ListField tokens = inputEvent.getFieldBySelector(this.tokens).getAsList();
 
     String[] tokensArray = tokens.castItems(String.class).stream().toArray(String[]::new);
-    Span[] spans = nameFinder.find(tokensArray);
+    NameFinderME finder = nameFinder.get();
+    Span[] spans = finder.find(tokensArray);
 
     // Generating the list of names from the found spans by the nameFinder
     List<String> names = TextMiningUtil.extractSpans(spans, tokensArray);
 
-    nameFinder.clearAdaptiveData();
+    finder.clearAdaptiveData();
 
     inputEvent.addField(NameFinderController.FOUND_NAME_FIELD_KEY, names);
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
-  }
-
-  private void loadModel(byte[] modelContent) {
-    try (InputStream modelIn = new ByteArrayInputStream(modelContent)) {
-      TokenNameFinderModel model = new TokenNameFinderModel(modelIn);
-      nameFinder = new NameFinderME(model);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    workers.stop();
+    ModelRegistry.INSTANCE.release(model);
   }
 }
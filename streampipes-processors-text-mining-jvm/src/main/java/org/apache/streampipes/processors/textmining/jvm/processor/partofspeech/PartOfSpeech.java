@@ -18,28 +18,28 @@
 
 package org.apache.streampipes.processors.textmining.jvm.processor.partofspeech;
 
-import opennlp.tools.langdetect.LanguageDetectorME;
-import opennlp.tools.langdetect.LanguageDetectorModel;
 import opennlp.tools.postag.POSModel;
 import opennlp.tools.postag.POSTaggerME;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.textmining.jvm.config.TextMiningJvmConfig;
+import org.apache.streampipes.processors.textmining.jvm.processor.ModelRegistry;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class PartOfSpeech implements EventProcessor<PartOfSpeechParameters> {
 
   private static Logger LOG;
 
   private String detection;
-  private POSTaggerME posTagger;
+  private ModelRegistry.SharedModel<POSModel> model;
+  // probs() returns the probabilities of the last tag() call of the same tagger
+  private ThreadLocal<POSTaggerME> posTagger;
+  private OrderedWorkerPool<Event> workers;
 
   public PartOfSpeech() {
   }
@@ -51,32 +51,43 @@ public class PartOfSpeech implements EventProcessor<PartOfSpeechParameters> {
     LOG = partOfSpeechParameters.getGraph().getLogger(PartOfSpeech.class);
     this.detection = partOfSpeechParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(partOfSpeechParameters.getFileContent());
-    POSModel model = null;
-    try {
-      model = new POSModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
+    this.model = ModelRegistry.INSTANCE.acquire(partOfSpeechParameters.getFileContent(), POSModel.class,
+            POSModel::new);
+    this.posTagger = ThreadLocal.withInitial(() -> new POSTaggerME(model.getModel()));
 
-    posTagger = new POSTaggerME(model);
+    int workerCount = TextMiningJvmConfig.INSTANCE.getTextMiningWorkers();
+    this.workers = new OrderedWorkerPool<>("part-of-speech", workerCount, 2 * workerCount,
+            spOutputCollector::collect,
+            e -> LOG.error("Could not tag tokens: " + e.getMessage()));
   }
 
   @Override
-  public void onEvent(Event inputEvent, SpOutputCollector out) {
+  public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> tag(inputEvent));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a text mining worker");
+    }
+  }
+
+  private Event tag(Event inputEvent) {
     ListField text = inputEvent.getFieldBySelector(detection).getAsList();
 
-    String[] tags = posTagger.tag(text.castItems(String.class).stream().toArray(String[]::new));
-    double[] confidence = posTagger.probs();
+    POSTaggerME tagger = posTagger.get();
+    String[] tags = tagger.tag(text.castItems(String.class).stream().toArray(String[]::new));
+    double[] confidence = tagger.probs();
 
 
     inputEvent.addField(PartOfSpeechController.CONFIDENCE_KEY, confidence);
     inputEvent.addField(PartOfSpeechController.TAG_KEY, tags);
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    workers.stop();
+    ModelRegistry.INSTANCE.release(model);
   }
 }
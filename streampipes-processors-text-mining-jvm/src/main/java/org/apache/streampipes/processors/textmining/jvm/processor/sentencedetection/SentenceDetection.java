@@ -20,25 +20,27 @@ package org.apache.streampipes.processors.textmining.jvm.processor.sentencedetec
 
 import opennlp.tools.sentdetect.SentenceDetectorME;
 import opennlp.tools.sentdetect.SentenceModel;
-import org.apache.streampipes.commons.exceptions.SpException;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.textmining.jvm.config.TextMiningJvmConfig;
+import org.apache.streampipes.processors.textmining.jvm.processor.ModelRegistry;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class SentenceDetection implements EventProcessor<SentenceDetectionParameters> {
 
   private static Logger LOG;
 
   // Field with the text
   private String detection;
-  private SentenceDetectorME sentenceDetector ;
+  private ModelRegistry.SharedModel<SentenceModel> model;
+  private ThreadLocal<SentenceDetectorME> sentenceDetector;
+  // the workers detect the sentences, the emission of one event per sentence runs in the order of the input events
+  private OrderedWorkerPool<Runnable> workers;
+  private SpOutputCollector out;
 
   public SentenceDetection() {
   }
@@ -49,31 +51,43 @@ public class SentenceDetection implements EventProcessor<SentenceDetectionParame
                            EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
     LOG = sentenceDetectionParameters.getGraph().getLogger(SentenceDetection.class);
     this.detection = sentenceDetectionParameters.getDetectionName();
+    this.out = spOutputCollector;
 
-    InputStream modelIn = new ByteArrayInputStream(sentenceDetectionParameters.getFileContent());
-    SentenceModel model = null;
-    try {
-      model = new SentenceModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
+    this.model = ModelRegistry.INSTANCE.acquire(sentenceDetectionParameters.getFileContent(), SentenceModel.class,
+            SentenceModel::new);
+    this.sentenceDetector = ThreadLocal.withInitial(() -> new SentenceDetectorME(model.getModel()));
 
-    sentenceDetector = new SentenceDetectorME(model);
+    int workerCount = TextMiningJvmConfig.INSTANCE.getTextMiningWorkers();
+    this.workers = new OrderedWorkerPool<>("sentence-detection", workerCount, 2 * workerCount, Runnable::run,
+            e -> LOG.error("Could not detect sentences: " + e.getMessage()));
   }
 
   @Override
-  public void onEvent(Event inputEvent, SpOutputCollector out) {
+  public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> detectSentences(inputEvent));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a text mining worker");
+    }
+  }
+
+  private Runnable detectSentences(Event inputEvent) {
     String text = inputEvent.getFieldBySelector(detection).getAsPrimitive().getAsString();
 
-    String sentences[] = sentenceDetector.sentDetect(text);
+    String sentences[] = sentenceDetector.get().sentDetect(text);
 
-    for (String sentence : sentences) {
-      inputEvent.updateFieldBySelector(detection, sentence);
-      out.collect(inputEvent);
-    }
+    return () -> {
+      for (String sentence : sentences) {
+        inputEvent.updateFieldBySelector(detection, sentence);
+        out.collect(inputEvent);
+      }
+    };
   }
 
   @Override
   public void onDetach() {
+    workers.stop();
+    ModelRegistry.INSTANCE.release(model);
   }
 }
@@ -18,28 +18,28 @@
 
 package org.apache.streampipes.processors.textmining.jvm.processor.tokenizer;
 
-import opennlp.tools.postag.POSModel;
-import opennlp.tools.postag.POSTaggerME;
 import opennlp.tools.tokenize.TokenizerME;
 import opennlp.tools.tokenize.TokenizerModel;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.concurrent.OrderedWorkerPool;
+import org.apache.streampipes.processors.textmining.jvm.config.TextMiningJvmConfig;
+import org.apache.streampipes.processors.textmining.jvm.processor.ModelRegistry;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class Tokenizer implements EventProcessor<TokenizerParameters> {
 
   private static Logger LOG;
 
   // Field with the text
   private String detection;
-  private TokenizerME tokenizer;
+  private ModelRegistry.SharedModel<TokenizerModel> model;
+  // TokenizerME is not thread-safe, the (thread-safe) model is shared by the tokenizers of all workers
+  private ThreadLocal<TokenizerME> tokenizer;
+  private OrderedWorkerPool<Event> workers;
 
   public Tokenizer() {
   }
@@ -51,27 +51,36 @@ public class Tokenizer implements EventProcessor<TokenizerParameters> {
     LOG = tokenizerParameters.getGraph().getLogger(Tokenizer.class);
     this.detection = tokenizerParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(tokenizerParameters.getFileContent());
-    TokenizerModel model = null;
-    try {
-      model = new TokenizerModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
+    this.model = ModelRegistry.INSTANCE.acquire(tokenizerParameters.getFileContent(), TokenizerModel.class,
+            TokenizerModel::new);
+    this.tokenizer = ThreadLocal.withInitial(() -> new TokenizerME(model.getModel()));
 
-    tokenizer = new TokenizerME(model);
+    int workerCount = TextMiningJvmConfig.INSTANCE.getTextMiningWorkers();
+    this.workers = new OrderedWorkerPool<>("tokenizer", workerCount, 2 * workerCount, spOutputCollector::collect,
+            e -> LOG.error("Could not tokenize text: " + e.getMessage()));
   }
 
   @Override
-  public void onEvent(Event inputEvent, SpOutputCollector out) {
+  public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    try {
+      workers.submit(() -> tokenize(inputEvent));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a text mining worker");
+    }
+  }
+
+  private Event tokenize(Event inputEvent) {
     String text = inputEvent.getFieldBySelector(detection).getAsPrimitive().getAsString();
 
-    inputEvent.addField(TokenizerController.TOKEN_LIST_FIELD_KEY, tokenizer.tokenize(text));
+    inputEvent.addField(TokenizerController.TOKEN_LIST_FIELD_KEY, tokenizer.get().tokenize(text));
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    workers.stop();
+    ModelRegistry.INSTANCE.release(model);
   }
 }
@@ -21,12 +21,13 @@ package org.apache.streampipes.sinks.databases.jvm.influxdb;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.pe.shared.influxdb.InfluxDbWriter;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
 public class InfluxDb implements EventSink<InfluxDbParameters> {
 
-  private InfluxDbClient influxDbClient;
+  private InfluxDbWriter influxDbWriter;
 
   private static Logger LOG;
 
@@ -34,24 +35,28 @@ public class InfluxDb implements EventSink<InfluxDbParameters> {
   public void onInvocation(InfluxDbParameters parameters, EventSinkRuntimeContext runtimeContext) throws SpRuntimeException {
     LOG = parameters.getGraph().getLogger(InfluxDb.class);
 
-    this.influxDbClient = new InfluxDbClient(
-        parameters.getInfluxDbHost(),
-        parameters.getInfluxDbPort(),
+    this.influxDbWriter = new InfluxDbWriter(
         parameters.getDatabaseName(),
         parameters.getMeasurementName(),
-        parameters.getUsername(),
-        parameters.getPassword(),
         parameters.getTimestampField(),
+        null,
+        InfluxDb::prepareString,
         parameters.getBatchSize(),
         parameters.getFlushDuration(),
-        LOG
+        e -> LOG.error(e.getMessage())
     );
+
+    // "http://" must be in front
+    String url = parameters.getInfluxDbHost() + ":" + parameters.getInfluxDbPort();
+    if (influxDbWriter.connect(url, parameters.getUsername(), parameters.getPassword())) {
+      LOG.info("Database '" + parameters.getDatabaseName() + "' not found. Has been created.");
+    }
   }
 
   @Override
   public void onEvent(Event event) {
     try {
-      influxDbClient.save(event);
+      influxDbWriter.write(event.getRaw());
     } catch (SpRuntimeException e) {
       LOG.error(e.getMessage());
     }
@@ -59,7 +64,8 @@ public class InfluxDb implements EventSink<InfluxDbParameters> {
 
   @Override
   public void onDetach() throws SpRuntimeException {
-    influxDbClient.stop();
+    influxDbWriter.stop();
+    LOG.info("InfluxDB writer statistics: " + influxDbWriter);
   }
 
   public static String prepareString(String s) {
@@ -34,6 +34,8 @@ import org.apache.streampipes.wrapper.runtime.EventSink;
 
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 public class IotDb extends JdbcClient implements EventSink<IotDbParameters> {
 
@@ -42,6 +44,9 @@ public class IotDb extends JdbcClient implements EventSink<IotDbParameters> {
 
   private String timestampField;
 
+  private IotDbTablet tablet;
+  private Statement insertStatement;
+
   private final SupportedDbEngines dbEngine = SupportedDbEngines.IOT_DB;
 
   @Override
@@ -65,11 +70,6 @@ public class IotDb extends JdbcClient implements EventSink<IotDbParameters> {
   @Override
   public void onEvent(Event event) {
     try {
-      if (event.getRaw().containsKey("value")) {
-        // Renaming value. Very ugly
-        event.addField("value_1", event.getFieldBySelector("s0::value").getRawValue());
-        event.removeFieldBySelector("s0::value");
-      }
       save(event);
     } catch (SpRuntimeException e) {
       LOG.error(e.getMessage());
@@ -81,42 +81,65 @@ public class IotDb extends JdbcClient implements EventSink<IotDbParameters> {
     closeAll();
   }
 
+  /**
+   * Copies the event into the tablet and writes the tablet once it is full (or with every event if batching is
+   * disabled).
+   */
   @Override
-  protected void save(final Event event) throws SpRuntimeException {
+  protected synchronized void save(final Event event) throws SpRuntimeException {
     checkConnected();
+    tablet.add(event.getRaw());
+    if (tablet.isFull()) {
+      flush();
+    }
+  }
+
+  /**
+   * Writes all rows of the tablet with one batch through the reused insert statement
+   */
+  @Override
+  public synchronized void flush() throws SpRuntimeException {
+    if (tablet == null || tablet.isEmpty() || connection == null) {
+      return;
+    }
+    int rows = tablet.size();
+    long start = System.nanoTime();
     try {
-      Long timestampValue = event.getFieldBySelector(timestampField).getAsPrimitive().getAsLong();
-      event.removeFieldBySelector(timestampField);
-      Statement statement;
-      statement = connection.createStatement();
-      StringBuilder sb1 = new StringBuilder();
-      StringBuilder sb2 = new StringBuilder();
-      //TODO: Check for SQL-Injection
-      // Timestamp must be in the beginning of the values
-      sb1.append("INSERT INTO ").append(this.params.getDbTable()).append("(timestamp, ");
-      sb2.append(" VALUES (").append(timestampValue).append(", ");
-      for (String s : event.getRaw().keySet()) {
-        sb1.append(s).append(", ");
-        if (event.getFieldByRuntimeName(s).getRawValue() instanceof String) {
-          sb2.append("\"").append(event.getFieldByRuntimeName(s).getRawValue().toString()).append("\", ");
-        } else {
-          sb2.append(event.getFieldByRuntimeName(s).getRawValue().toString()).append(", ");
-        }
+      if (insertStatement == null) {
+        insertStatement = connection.createStatement();
       }
-      sb1.setLength(sb1.length() - 2);
-      sb2.setLength(sb2.length() - 2);
-      sb1.append(") ").append(sb2).append(")");
-      statement.execute(sb1.toString());
+      tablet.flush(insertStatement);
+      batchMetrics.recordFlush(rows, System.nanoTime() - start);
     } catch (SQLException e) {
-      e.printStackTrace();
+      batchMetrics.recordFailure(rows, rows, System.nanoTime() - start);
+      throw new SpRuntimeException("Batch of " + rows + " events could not be written: " + e.getMessage());
+    }
+  }
+
+  /**
+   * IoTDB does not support transactions, the rows of a batch are written independently
+   */
+  @Override
+  protected void disableAutoCommit() {
+  }
+
+  @Override
+  protected void closeAll() {
+    super.closeAll();
+    if (insertStatement != null) {
+      try {
+        insertStatement.close();
+      } catch (SQLException e) {
+        LOG.warn("Exception when closing the insert statement: " + e.getMessage());
+      }
+      insertStatement = null;
     }
   }
 
   @Override
   protected void ensureDatabaseExists(String url, String databaseName) throws SpRuntimeException {
     SQLStatementUtils.checkRegEx(this.params.getDbTable(), "Storage Group name", this.dbDescription);
-    try {
-      Statement statement = connection.createStatement();
+    try (Statement statement = connection.createStatement()) {
       statement.execute("SET STORAGE GROUP TO " + this.params.getDbTable());
     } catch (SQLException e) {
       // Storage group already exists
@@ -134,14 +157,16 @@ public class IotDb extends JdbcClient implements EventSink<IotDbParameters> {
   @Override
   protected void ensureTableExists(String url, String databaseName) throws SpRuntimeException {
     int index = 1;
+    String timestampKey = timestampField.substring(4);
+    List<String> eventKeys = new ArrayList<>();
+    List<String> seriesNames = new ArrayList<>();
+    List<DbDataTypes> dataTypes = new ArrayList<>();
     this.statementHandler.putEventParameterMap("timestamp", new ParameterInformation(index++, DbDataTypeFactory.getLong(dbEngine)));
-    for (EventProperty eventProperty : this.tableDescription.getEventSchema().getEventProperties()) {
-      try {
-        if (eventProperty.getRuntimeName().equals(timestampField.substring(4))) {
+    try (Statement statement = connection.createStatement()) {
+      for (EventProperty eventProperty : this.tableDescription.getEventSchema().getEventProperties()) {
+        if (eventProperty.getRuntimeName().equals(timestampKey)) {
           continue;
         }
-        Statement statement = null;
-        statement = connection.createStatement();
         // The identifier cannot be called "value"
         //TODO: Do not simply add a _1 but look instead, if the name is already taken
         String runtimeName = eventProperty.getRuntimeName();
@@ -149,20 +174,29 @@ public class IotDb extends JdbcClient implements EventSink<IotDbParameters> {
           runtimeName = "value_1";
         }
         DbDataTypes datatype = extractAndAddEventPropertyRuntimeType(eventProperty, index++);
-
-        statement.execute("CREATE TIMESERIES "
-                + params.getDbTable()
-                + "."
-                + runtimeName
-                + " WITH DATATYPE="
-                + datatype.toString()
-                + ", ENCODING=PLAIN");
-      } catch (SQLException e) {
-        // Probably because it already exists
-        //TODO: Add better exception handling
-        e.printStackTrace();
+        eventKeys.add(eventProperty.getRuntimeName());
+        seriesNames.add(runtimeName);
+        dataTypes.add(datatype);
+
+        try {
+          statement.execute("CREATE TIMESERIES "
+                  + params.getDbTable()
+                  + "."
+                  + runtimeName
+                  + " WITH DATATYPE="
+                  + datatype.toString()
+                  + ", ENCODING=PLAIN");
+        } catch (SQLException e) {
+          // Probably because it already exists
+          //TODO: Add better exception handling
+          LOG.warn("Could not create time series '" + runtimeName + "': " + e.getMessage());
+        }
       }
+    } catch (SQLException e) {
+      throw new SpRuntimeException("Could not create time series: " + e.getMessage());
     }
+    this.tablet = new IotDbTablet(params.getDbTable(), timestampKey, eventKeys, seriesNames, dataTypes,
+            Math.max(this.params.getBatchSize(), 1));
     //tableExists = true;
   }
 
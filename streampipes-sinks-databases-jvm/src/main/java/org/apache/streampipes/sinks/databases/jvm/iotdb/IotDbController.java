@@ -40,6 +40,8 @@ public class IotDbController extends StandaloneEventSinkDeclarer<IotDbParameters
   private static final String DATABASE_USER_KEY = "db_user";
   private static final String DATABASE_PASSWORD_KEY = "db_password";
   private static final String TIMESTAMPE_MAPPING_KEY = "timestamp_mapping";
+  private static final String BATCH_SIZE_KEY = "batch_size";
+  private static final String FLUSH_INTERVAL_KEY = "flush_interval";
 
   @Override
   public DataSinkDescription declareModel() {
@@ -58,6 +60,8 @@ public class IotDbController extends StandaloneEventSinkDeclarer<IotDbParameters
             .requiredTextParameter(Labels.withId(STORAGE_GROUP_KEY))
             .requiredTextParameter(Labels.withId(DATABASE_USER_KEY))
             .requiredSecret(Labels.withId(DATABASE_PASSWORD_KEY))
+            .requiredIntegerParameter(Labels.withId(BATCH_SIZE_KEY), 1)
+            .requiredIntegerParameter(Labels.withId(FLUSH_INTERVAL_KEY), 1000)
             .build();
   }
 
@@ -71,6 +75,8 @@ public class IotDbController extends StandaloneEventSinkDeclarer<IotDbParameters
     String user = extractor.singleValueParameter(DATABASE_USER_KEY, String.class);
     String password = extractor.secretValue(DATABASE_PASSWORD_KEY);
     String timestampField = extractor.mappingPropertyValue(TIMESTAMPE_MAPPING_KEY);
+    Integer batchSize = extractor.singleValueParameter(BATCH_SIZE_KEY, Integer.class);
+    Long flushInterval = extractor.singleValueParameter(FLUSH_INTERVAL_KEY, Long.class);
 
     IotDbParameters params = new IotDbParameters(graph,
             hostname,
@@ -79,7 +85,9 @@ public class IotDbController extends StandaloneEventSinkDeclarer<IotDbParameters
             user,
             password,
             false, // SSL connection not yet implemented for IoT DB
-            timestampField);
+            timestampField,
+            batchSize,
+            flushInterval);
 
     return new ConfiguredEventSink<>(params, IotDb::new);
   }
@@ -32,7 +32,9 @@ public class IotDbParameters extends JdbcConnectionParameters {
                          String user,
                          String password,
                          boolean sslEnabled,
-                         String timestampField) {
+                         String timestampField,
+                         Integer batchSize,
+                         Long flushIntervalMillis) {
     super(
             graph,
             iotDbHost,
@@ -43,7 +45,9 @@ public class IotDbParameters extends JdbcConnectionParameters {
             "root." + dbStorageGroup,
             sslEnabled,
             null,
-            false
+            false,
+            batchSize,
+            flushIntervalMillis
     );
 
     this.timestampField = timestampField;
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.sinks.databases.jvm.iotdb;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.sdk.utils.Datatypes;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.DbDataTypeFactory;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.DbDataTypes;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers the events of one storage group in a columnar layout (a timestamp column and one typed value column per
+ * time series) until they are written with a single batch of INSERT statements.
+ */
+public class IotDbTablet {
+
+  private final String storageGroup;
+  private final String timestampKey;
+  private final String[] eventKeys;
+  private final String[] seriesNames;
+  private final Datatypes[] columnTypes;
+  private final String insertPrefix;
+  private final int capacity;
+
+  private final long[] timestamps;
+  private final Object[] columns;
+  private final boolean[][] present;
+  private final StringBuilder sqlBuilder = new StringBuilder();
+
+  private int rowCount = 0;
+
+  /**
+   * @param storageGroup The storage group the time series belong to (e.g. root.sg)
+   * @param timestampKey The key of the timestamp in the event
+   * @param eventKeys    The keys of the values in the event
+   * @param seriesNames  The names of the time series the values are written to
+   * @param dataTypes    The data types of the time series
+   * @param capacity     The maximum number of rows buffered before the tablet needs to be flushed
+   */
+  public IotDbTablet(String storageGroup, String timestampKey, List<String> eventKeys, List<String> seriesNames,
+                     List<DbDataTypes> dataTypes, int capacity) throws SpRuntimeException {
+    this.storageGroup = storageGroup;
+    this.timestampKey = timestampKey;
+    this.eventKeys = eventKeys.toArray(new String[0]);
+    this.seriesNames = seriesNames.toArray(new String[0]);
+    this.capacity = capacity;
+    this.timestamps = new long[capacity];
+    this.columns = new Object[this.eventKeys.length];
+    this.columnTypes = new Datatypes[this.eventKeys.length];
+    this.present = new boolean[this.eventKeys.length][capacity];
+
+    StringBuilder prefix = new StringBuilder("INSERT INTO ").append(storageGroup).append("(timestamp");
+    for (int i = 0; i < this.eventKeys.length; i++) {
+      this.columnTypes[i] = DbDataTypeFactory.getDataType(dataTypes.get(i));
+      this.columns[i] = makeColumn(this.columnTypes[i], capacity);
+      prefix.append(", ").append(this.seriesNames[i]);
+    }
+    this.insertPrefix = prefix.append(") VALUES (").toString();
+  }
+
+  private static Object makeColumn(Datatypes type, int capacity) {
+    switch (type) {
+      case Integer:
+        return new int[capacity];
+      case Long:
+        return new long[capacity];
+      case Float:
+        return new float[capacity];
+      case Double:
+        return new double[capacity];
+      case Boolean:
+        return new boolean[capacity];
+      default:
+        return new String[capacity];
+    }
+  }
+
+  /**
+   * Copies the values of the event into the next row of the tablet
+   *
+   * @param event The raw event
+   * @throws SpRuntimeException When the event does not contain a timestamp or the tablet is full
+   */
+  public void add(Map<String, Object> event) throws SpRuntimeException {
+    if (isFull()) {
+      throw new SpRuntimeException("Tablet of storage group '" + storageGroup + "' is full");
+    }
+    Object timestamp = event.get(timestampKey);
+    if (!(timestamp instanceof Number)) {
+      throw new SpRuntimeException("Event does not contain a valid timestamp in field '" + timestampKey + "'");
+    }
+    int row = rowCount;
+    timestamps[row] = ((Number) timestamp).longValue();
+    for (int i = 0; i < eventKeys.length; i++) {
+      Object value = event.get(eventKeys[i]);
+      present[i][row] = value != null;
+      if (value != null) {
+        setValue(i, row, value);
+      }
+    }
+    rowCount++;
+  }
+
+  private void setValue(int column, int row, Object value) throws SpRuntimeException {
+    try {
+      switch (columnTypes[column]) {
+        case Integer:
+          ((int[]) columns[column])[row] = ((Number) value).intValue();
+          break;
+        case Long:
+          ((long[]) columns[column])[row] = ((Number) value).longValue();
+          break;
+        case Float:
+          ((float[]) columns[column])[row] = ((Number) value).floatValue();
+          break;
+        case Double:
+          ((double[]) columns[column])[row] = ((Number) value).doubleValue();
+          break;
+        case Boolean:
+          ((boolean[]) columns[column])[row] = (Boolean) value;
+          break;
+        default:
+          ((String[]) columns[column])[row] = value.toString();
+      }
+    } catch (ClassCastException e) {
+      throw new SpRuntimeException("Value of field '" + eventKeys[column] + "' does not match the time series type "
+              + columnTypes[column]);
+    }
+  }
+
+  /**
+   * Adds one INSERT statement per buffered row to the batch of the statement, executes the batch and clears the
+   * tablet.
+   *
+   * @param statement The (reused) statement of the connection
+   * @return The number of written rows
+   * @throws SQLException When the batch could not be executed
+   */
+  public int flush(Statement statement) throws SQLException {
+    int rows = rowCount;
+    if (rows == 0) {
+      return 0;
+    }
+    try {
+      for (int row = 0; row < rows; row++) {
+        statement.addBatch(toSql(row));
+      }
+      statement.executeBatch();
+    } finally {
+      statement.clearBatch();
+      clear();
+    }
+    return rows;
+  }
+
+  private String toSql(int row) {
+    StringBuilder sb = sqlBuilder;
+    sb.setLength(0);
+    if (isComplete(row)) {
+      sb.append(insertPrefix);
+    } else {
+      // only the time series with a value in this row are part of the statement
+      sb.append("INSERT INTO ").append(storageGroup).append("(timestamp");
+      for (int i = 0; i < seriesNames.length; i++) {
+        if (present[i][row]) {
+          sb.append(", ").append(seriesNames[i]);
+        }
+      }
+      sb.append(") VALUES (");
+    }
+    sb.append(timestamps[row]);
+    for (int i = 0; i < columns.length; i++) {
+      if (!present[i][row]) {
+        continue;
+      }
+      sb.append(", ");
+      switch (columnTypes[i]) {
+        case Integer:
+          sb.append(((int[]) columns[i])[row]);
+          break;
+        case Long:
+          sb.append(((long[]) columns[i])[row]);
+          break;
+        case Float:
+          sb.append(((float[]) columns[i])[row]);
+          break;
+        case Double:
+          sb.append(((double[]) columns[i])[row]);
+          break;
+        case Boolean:
+          sb.append(((boolean[]) columns[i])[row]);
+          break;
+        default:
+          sb.append("\"").append(((String[]) columns[i])[row]).append("\"");
+      }
+    }
+    return sb.append(")").toString();
+  }
+
+  private boolean isComplete(int row) {
+    for (boolean[] column : present) {
+      if (!column[row]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void clear() {
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i] instanceof String[]) {
+        // release the references to the strings of the flushed events
+        Arrays.fill((String[]) columns[i], 0, rowCount, null);
+      }
+    }
+    rowCount = 0;
+  }
+
+  public boolean isFull() {
+    return rowCount >= capacity;
+  }
+
+  public boolean isEmpty() {
+    return rowCount == 0;
+  }
+
+  public int size() {
+    return rowCount;
+  }
+}
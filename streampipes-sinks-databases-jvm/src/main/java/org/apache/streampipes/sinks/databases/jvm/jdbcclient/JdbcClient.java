@@ -26,7 +26,13 @@ import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.*;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.SQLStatementUtils;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 
 public class JdbcClient {
@@ -41,6 +47,15 @@ public class JdbcClient {
 
     protected Logger logger;
 
+    protected BatchMetrics batchMetrics = new BatchMetrics();
+
+    /**
+     * The events of the current batch, kept to replay the batch when the table has to be recreated
+     */
+    private final List<Map<String, Object>> pendingEvents = new ArrayList<>();
+
+    private ScheduledExecutorService flushScheduler;
+
     /**
      * A wrapper class for all supported SQL data types (INT, BIGINT, FLOAT, DOUBLE, VARCHAR(255)).
      * If no matching type is found, it is interpreted as a String (VARCHAR(255))
@@ -75,6 +90,67 @@ public class JdbcClient {
                     this.dbDescription.getName()
             );
         }
+
+        if (isBatchingEnabled()) {
+            startBatching();
+        }
+    }
+
+    /**
+     * @return true if events are collected and written in batches of {@link DbDescription#getBatchSize()} events
+     */
+    protected boolean isBatchingEnabled() {
+        return this.dbDescription.getBatchSize() > 1;
+    }
+
+    /**
+     * Switches the connection to manual commits (one transaction per batch) and starts the time-based flush
+     *
+     * @throws SpRuntimeException When auto-commit cannot be disabled
+     */
+    private void startBatching() throws SpRuntimeException {
+        disableAutoCommit();
+        long flushInterval = this.dbDescription.getFlushIntervalMillis();
+        if (flushInterval > 0) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor();
+            flushScheduler.scheduleAtFixedRate(() -> {
+                try {
+                    flush();
+                } catch (SpRuntimeException e) {
+                    logger.error(e.getMessage());
+                }
+            }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Batch inserts enabled (batch size " + this.dbDescription.getBatchSize()
+                + ", flush interval " + flushInterval + " ms)");
+    }
+
+    /**
+     * Disables auto-commit, so that each batch is written within one transaction
+     *
+     * @throws SpRuntimeException When auto-commit cannot be disabled
+     */
+    protected void disableAutoCommit() throws SpRuntimeException {
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new SpRuntimeException("Could not disable auto-commit for batch inserts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The properties used to open the connection to the database. Subclasses can add driver specific settings,
+     * e.g. to rewrite batches into multi-row inserts.
+     */
+    protected Properties makeConnectionProperties() {
+        Properties properties = new Properties();
+        if (this.dbDescription.getUsername() != null) {
+            properties.setProperty("user", this.dbDescription.getUsername());
+        }
+        if (this.dbDescription.getPassword() != null) {
+            properties.setProperty("password", this.dbDescription.getPassword());
+        }
+        return properties;
     }
 
 
@@ -88,9 +164,7 @@ public class JdbcClient {
     private void connect(String host, int port, String databaseName) throws SpRuntimeException {
 		String url = "jdbc:" + this.dbDescription.getEngine().getUrlName() + "://" + host + ":" + port + "/";
         try {
-            connection = DriverManager.getConnection(
-                    url, this.dbDescription.getUsername(),
-                    this.dbDescription.getPassword());
+            connection = DriverManager.getConnection(url, makeConnectionProperties());
             ensureDatabaseExists(databaseName);
             ensureTableExists(url, databaseName);
         } catch (SQLException e) {
@@ -110,7 +184,8 @@ public class JdbcClient {
                 this.dbDescription.getUsername() + "&password=" + this.dbDescription.getPassword() +
                 "&ssl=true&sslfactory=" + this.dbDescription.getSslFactory() + "&sslmode=require";
         try{
-            connection = DriverManager.getConnection(url);
+            // the driver specific properties (e.g. the rewrite of batched inserts) apply to SSL connections as well
+            connection = DriverManager.getConnection(url, makeConnectionProperties());
             ensureDatabaseExists(databaseName);
             ensureTableExists(url, "");
         } catch (SQLException e ) {
@@ -160,7 +235,7 @@ public class JdbcClient {
 	protected void ensureTableExists(String url, String databaseName) throws SpRuntimeException {
 		try {
 			// Database should exist by now so we can establish a connection
-			connection = DriverManager.getConnection(url + databaseName, this.dbDescription.getUsername(), this.dbDescription.getPassword());
+			connection = DriverManager.getConnection(url + databaseName, makeConnectionProperties());
 			this.statementHandler.setStatement(connection.createStatement());
 			ResultSet rs = connection.getMetaData().getTables(null, null, this.tableDescription.getName(), null);
 			if (rs.next()) {
@@ -183,12 +258,15 @@ public class JdbcClient {
 	 * @throws SpRuntimeException When there was an error in the saving process
 	 */
 	protected void save(final Event event) throws SpRuntimeException {
-		//TODO: Add batch support (https://stackoverflow.com/questions/3784197/efficient-way-to-do-batch-inserts-with-jdbc)
 		checkConnected();
-		Map<String, Object> eventMap = event.getRaw();
 		if (event == null) {
 			throw new SpRuntimeException("event is null");
 		}
+		Map<String, Object> eventMap = event.getRaw();
+		if (isBatchingEnabled()) {
+			saveBatched(eventMap);
+			return;
+		}
 		if (!this.tableDescription.tableExists()) {
 			// Creates the table
 			createTable();
@@ -222,10 +300,126 @@ public class JdbcClient {
 		}
 	}
 
+	/**
+	 * Adds the event to the current batch and writes the batch if {@link DbDescription#getBatchSize()} is reached.
+	 *
+	 * @param eventMap The event which should be saved
+	 * @throws SpRuntimeException When the batch could not be written
+	 */
+	private synchronized void saveBatched(final Map<String, Object> eventMap) throws SpRuntimeException {
+		if (!this.tableDescription.tableExists()) {
+			createTable();
+			this.tableDescription.setTableExists();
+		}
+		try {
+			checkConnected();
+			this.statementHandler.addToBatch(this.dbDescription, this.tableDescription, connection, eventMap);
+			pendingEvents.add(eventMap);
+		} catch (SQLException e) {
+			throw new SpRuntimeException(e.getMessage());
+		}
+		if (pendingEvents.size() >= this.dbDescription.getBatchSize()) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes all events of the current batch within one transaction. If the table got deleted in the meantime, it
+	 * is recreated and the batch is written again. Otherwise the transaction is rolled back and the batch is
+	 * discarded.
+	 *
+	 * @throws SpRuntimeException When the batch could not be written, containing the number of failed events
+	 */
+	public synchronized void flush() throws SpRuntimeException {
+		if (pendingEvents.isEmpty() || connection == null) {
+			return;
+		}
+		int batchSize = pendingEvents.size();
+		long start = System.nanoTime();
+		try {
+			executeBatch();
+			batchMetrics.recordFlush(batchSize, System.nanoTime() - start);
+		} catch (SQLException e) {
+			rollback();
+			if (isTableMissing(e)) {
+				logger.warn("Table '" + this.tableDescription.getName() + "' was unexpectedly not found and gets recreated.");
+				try {
+					this.tableDescription.setTableMissing();
+					createTable();
+					this.tableDescription.setTableExists();
+					connection.commit();
+					for (Map<String, Object> eventMap : pendingEvents) {
+						this.statementHandler.addToBatch(this.dbDescription, this.tableDescription, connection, eventMap);
+					}
+					executeBatch();
+					batchMetrics.recordFlush(batchSize, System.nanoTime() - start);
+					return;
+				} catch (SQLException e1) {
+					rollback();
+					e = e1;
+				} finally {
+					pendingEvents.clear();
+				}
+			}
+			int failedRows = countFailedRows(e, batchSize);
+			batchMetrics.recordFailure(batchSize, failedRows, System.nanoTime() - start);
+			throw new SpRuntimeException("Batch of " + batchSize + " events could not be written ("
+					+ failedRows + " failed, transaction rolled back): " + e.getMessage());
+		} finally {
+			pendingEvents.clear();
+		}
+	}
+
+	private void executeBatch() throws SQLException {
+		this.statementHandler.executeBatch();
+		connection.commit();
+	}
+
+	private void rollback() {
+		try {
+			this.statementHandler.clearBatch();
+			connection.rollback();
+		} catch (SQLException e) {
+			logger.warn("Exception when rolling back the batch: " + e.getMessage());
+		}
+	}
+
+	private boolean isTableMissing(SQLException e) {
+		for (SQLException current = e; current != null; current = current.getNextException()) {
+			if (current.getSQLState() != null && current.getSQLState().startsWith("42")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int countFailedRows(SQLException e, int batchSize) {
+		if (e instanceof BatchUpdateException) {
+			int[] updateCounts = ((BatchUpdateException) e).getUpdateCounts();
+			if (updateCounts != null && updateCounts.length == batchSize) {
+				int failed = 0;
+				for (int updateCount : updateCounts) {
+					if (updateCount == Statement.EXECUTE_FAILED) {
+						failed++;
+					}
+				}
+				// the transaction is rolled back, so reported successes are discarded as well
+				return failed > 0 ? failed : batchSize;
+			}
+		}
+		return batchSize;
+	}
+
     protected void createTable() throws SpRuntimeException {
         String createStatement = "CREATE TABLE ";
 
         checkConnected();
+        try {
+            // the prepared statements of the cached insert plans refer to the old table
+            this.statementHandler.closePlans();
+        } catch (SQLException e) {
+            logger.warn("Exception when closing the prepared statements: " + e.getMessage());
+        }
         this.tableDescription.createTable(createStatement, this.statementHandler, this.dbDescription, this.tableDescription);
     }
 
@@ -247,6 +441,21 @@ public class JdbcClient {
      */
     protected void closeAll() {
         boolean error = false;
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            flushScheduler = null;
+        }
+        if (isBatchingEnabled()) {
+            try {
+                flush();
+            } catch (SpRuntimeException e) {
+                error = true;
+                logger.warn("Exception when writing the last batch: " + e.getMessage());
+            }
+        }
+        if (batchMetrics.getFlushedBatches() + batchMetrics.getFailedBatches() > 0) {
+            logger.info("Batch statistics: " + batchMetrics);
+        }
         try {
             if (this.statementHandler.statement != null) {
                 this.statementHandler.statement .close();
@@ -266,6 +475,7 @@ public class JdbcClient {
             logger.warn("Exception when closing the connection: " + e.getMessage());
         }
         try {
+            this.statementHandler.closePlans();
             if (this.statementHandler.preparedStatement != null) {
                 this.statementHandler.preparedStatement.close();
                 this.statementHandler.preparedStatement = null;
@@ -279,6 +489,10 @@ public class JdbcClient {
         }
     }
 
+    public BatchMetrics getBatchMetrics() {
+        return batchMetrics;
+    }
+
     public void checkConnected() throws SpRuntimeException {
         if (connection == null) {
             throw new SpRuntimeException("Connection is not established.");
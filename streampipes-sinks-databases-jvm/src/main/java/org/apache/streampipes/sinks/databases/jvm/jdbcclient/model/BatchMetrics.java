@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.sinks.databases.jvm.jdbcclient.model;
+
+/**
+ * Collects simple statistics about the batches written by a sink (number and size of the batches, flush latency
+ * and failed rows).
+ */
+public class BatchMetrics {
+
+    private long flushedBatches;
+    private long flushedRows;
+    private long failedBatches;
+    private long failedRows;
+    private int lastBatchSize;
+    private long lastFlushLatencyNanos;
+    private long maxFlushLatencyNanos;
+    private long totalFlushLatencyNanos;
+
+    public synchronized void recordFlush(int batchSize, long latencyNanos) {
+        this.flushedBatches++;
+        this.flushedRows += batchSize;
+        this.lastBatchSize = batchSize;
+        recordLatency(latencyNanos);
+    }
+
+    public synchronized void recordFailure(int batchSize, int failedRows, long latencyNanos) {
+        this.failedBatches++;
+        this.failedRows += failedRows;
+        this.lastBatchSize = batchSize;
+        recordLatency(latencyNanos);
+    }
+
+    private void recordLatency(long latencyNanos) {
+        this.lastFlushLatencyNanos = latencyNanos;
+        this.totalFlushLatencyNanos += latencyNanos;
+        this.maxFlushLatencyNanos = Math.max(this.maxFlushLatencyNanos, latencyNanos);
+    }
+
+    public synchronized long getFlushedBatches() {
+        return flushedBatches;
+    }
+
+    public synchronized long getFlushedRows() {
+        return flushedRows;
+    }
+
+    public synchronized long getFailedBatches() {
+        return failedBatches;
+    }
+
+    public synchronized long getFailedRows() {
+        return failedRows;
+    }
+
+    public synchronized int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public synchronized double getAverageBatchSize() {
+        return flushedBatches == 0 ? 0 : (double) flushedRows / flushedBatches;
+    }
+
+    public synchronized double getLastFlushLatencyMillis() {
+        return lastFlushLatencyNanos / 1e6;
+    }
+
+    public synchronized double getMaxFlushLatencyMillis() {
+        return maxFlushLatencyNanos / 1e6;
+    }
+
+    public synchronized double getAverageFlushLatencyMillis() {
+        long batches = flushedBatches + failedBatches;
+        return batches == 0 ? 0 : totalFlushLatencyNanos / 1e6 / batches;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d batches (%d rows, avg. size %.1f) flushed, %d batches (%d rows) failed, "
+                        + "flush latency avg. %.2f ms / max. %.2f ms",
+                flushedBatches, flushedRows, getAverageBatchSize(), failedBatches, failedRows,
+                getAverageFlushLatencyMillis(), getMaxFlushLatencyMillis());
+    }
+}
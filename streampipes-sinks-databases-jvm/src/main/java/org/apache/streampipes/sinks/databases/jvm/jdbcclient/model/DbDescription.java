@@ -59,4 +59,12 @@ public class DbDescription {
     public boolean isSslEnabled(){
         return connectionParameters.isSslEnabled();
     }
+
+    public int getBatchSize(){
+        return connectionParameters.getBatchSize();
+    }
+
+    public long getFlushIntervalMillis(){
+        return connectionParameters.getFlushIntervalMillis();
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.sinks.databases.jvm.jdbcclient.model;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.SQLStatementUtils;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.StatementUtils;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.ValueSetter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled insert statement for one event shape (the keys of the event in iteration order, including nested
+ * events). The shape is flattened into a sequence of tokens: a leaf value, the start of a nested event or its end.
+ * Each leaf token holds the parameter index and the setter for its column, so that an event of the same shape is
+ * bound to the prepared statement in a single pass without any lookups or allocations.
+ */
+public class InsertPlan {
+
+    private static final byte LEAF = 0;
+    private static final byte NESTED_START = 1;
+    private static final byte NESTED_END = 2;
+
+    private final int fingerprint;
+    private final String[] keys;
+    private final byte[] tokens;
+    private final int[] parameterIndices;
+    private final ValueSetter[] setters;
+    private final PreparedStatement preparedStatement;
+
+    private int cursor;
+
+    private InsertPlan(int fingerprint, String[] keys, byte[] tokens, int[] parameterIndices,
+                       ValueSetter[] setters, PreparedStatement preparedStatement) {
+        this.fingerprint = fingerprint;
+        this.keys = keys;
+        this.tokens = tokens;
+        this.parameterIndices = parameterIndices;
+        this.setters = setters;
+        this.preparedStatement = preparedStatement;
+    }
+
+    /**
+     * Builds the insert statement for the shape of the given event, e.g.
+     * INSERT INTO test4321 ( randomString, nested_randomValue ) VALUES ( ?,? );
+     *
+     * @param event The event which defines the shape (and the data types of the columns)
+     * @throws SpRuntimeException When the table name or a column name is not allowed
+     * @throws SQLException       When the statement cannot be prepared
+     */
+    public static InsertPlan create(DbDescription dbDescription, TableDescription tableDescription,
+                                    Connection connection, final Map<String, Object> event)
+            throws SpRuntimeException, SQLException {
+        SQLStatementUtils.checkRegEx(tableDescription.getName(), "Tablename", dbDescription);
+
+        List<String> keys = new ArrayList<>();
+        List<Byte> tokens = new ArrayList<>();
+        List<DbDataTypes> dataTypes = new ArrayList<>();
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        flatten(dbDescription, event, "", keys, tokens, dataTypes, columns, values);
+
+        String[] keyArray = keys.toArray(new String[0]);
+        byte[] tokenArray = new byte[tokens.size()];
+        int[] parameterIndices = new int[tokens.size()];
+        ValueSetter[] setters = new ValueSetter[tokens.size()];
+        // Starts index at 1, since the parameterIndex in the PreparedStatement starts at 1 as well
+        int parameterIndex = 1;
+        for (int i = 0; i < tokenArray.length; i++) {
+            tokenArray[i] = tokens.get(i);
+            if (tokenArray[i] == LEAF) {
+                parameterIndices[i] = parameterIndex;
+                setters[i] = StatementUtils.makeValueSetter(dataTypes.get(i));
+                parameterIndex++;
+            }
+        }
+
+        String statement = "INSERT INTO " + tableDescription.getName() + " ( " + columns + " ) VALUES ( "
+                + values + " );";
+        return new InsertPlan(fingerprint(event), keyArray, tokenArray, parameterIndices, setters,
+                connection.prepareStatement(statement));
+    }
+
+    private static void flatten(DbDescription dbDescription, final Map<String, Object> event, String preProperty,
+                                List<String> keys, List<Byte> tokens, List<DbDataTypes> dataTypes,
+                                StringBuilder columns, StringBuilder values) throws SpRuntimeException {
+        for (Map.Entry<String, Object> pair : event.entrySet()) {
+            keys.add(pair.getKey());
+            if (pair.getValue() instanceof Map) {
+                tokens.add(NESTED_START);
+                dataTypes.add(null);
+                flatten(dbDescription, (Map<String, Object>) pair.getValue(), preProperty + pair.getKey() + "_",
+                        keys, tokens, dataTypes, columns, values);
+                keys.add(null);
+                tokens.add(NESTED_END);
+                dataTypes.add(null);
+            } else {
+                SQLStatementUtils.checkRegEx(pair.getKey(), "Columnname", dbDescription);
+                tokens.add(LEAF);
+                dataTypes.add(DbDataTypeFactory.getFromObject(pair.getValue(), dbDescription.getEngine()));
+                String prefix = columns.length() == 0 ? "" : ", ";
+                if (dbDescription.isColumnNameQuoted()) {
+                    columns.append(prefix).append("\"").append(preProperty).append(pair.getKey()).append("\"");
+                } else {
+                    columns.append(prefix).append(preProperty).append(pair.getKey());
+                }
+                values.append(prefix).append("?");
+            }
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the shape of an event (its keys and nesting), used as key of the plan cache.
+     * Different shapes can share a fingerprint, so a cached plan still needs to match in
+     * {@link InsertPlan#bind(Map)}.
+     */
+    public static int fingerprint(final Map<String, Object> event) {
+        int hash = 1;
+        for (Map.Entry<String, Object> pair : event.entrySet()) {
+            hash = 31 * hash + pair.getKey().hashCode();
+            if (pair.getValue() instanceof Map) {
+                hash = 31 * hash + fingerprint((Map<String, Object>) pair.getValue());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Fills the prepared statement with the values of the event if it has the shape of this plan.
+     *
+     * @param event The event which should be bound
+     * @return false if the event has a different shape (the parameters might be partially set then)
+     * @throws SQLException       When a setter of the statement throws an exception
+     * @throws SpRuntimeException When a value does not match the data type of its column
+     */
+    public boolean bind(final Map<String, Object> event) throws SQLException, SpRuntimeException {
+        cursor = 0;
+        try {
+            return bindNested(event) && cursor == tokens.length;
+        } catch (ClassCastException e) {
+            throw new SpRuntimeException("Value of field '" + keys[cursor] + "' does not match the column type: "
+                    + e.getMessage());
+        }
+    }
+
+    private boolean bindNested(final Map<String, Object> event) throws SQLException {
+        for (Map.Entry<String, Object> pair : event.entrySet()) {
+            if (cursor >= tokens.length || !pair.getKey().equals(keys[cursor])) {
+                return false;
+            }
+            Object value = pair.getValue();
+            if (value instanceof Map) {
+                if (tokens[cursor] != NESTED_START) {
+                    return false;
+                }
+                cursor++;
+                if (!bindNested((Map<String, Object>) value) || cursor >= tokens.length
+                        || tokens[cursor] != NESTED_END) {
+                    return false;
+                }
+            } else {
+                if (tokens[cursor] != LEAF) {
+                    return false;
+                }
+                setters[cursor].setValue(preparedStatement, parameterIndices[cursor], value);
+            }
+            cursor++;
+        }
+        return true;
+    }
+
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    public PreparedStatement getPreparedStatement() {
+        return preparedStatement;
+    }
+
+    public void close() throws SQLException {
+        preparedStatement.close();
+    }
+}
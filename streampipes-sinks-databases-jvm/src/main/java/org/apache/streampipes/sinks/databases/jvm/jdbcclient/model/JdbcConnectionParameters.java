@@ -14,6 +14,8 @@ public class JdbcConnectionParameters extends EventSinkBindingParams {
     private boolean sslEnabled;
     private String sslFactory;
     private boolean columnNameQuoted;
+    private int batchSize;
+    private long flushIntervalMillis;
 
     public JdbcConnectionParameters(DataSinkInvocation graph,
                                     String dbHost,
@@ -25,6 +27,27 @@ public class JdbcConnectionParameters extends EventSinkBindingParams {
                                     boolean sslEnabled,
                                     String sslFactory,
                                     boolean quotedColumnNames) {
+        this(graph, dbHost, dbPort, dbName, username, password, dbTable, sslEnabled, sslFactory,
+                quotedColumnNames, 1, 0);
+    }
+
+    /**
+     * @param batchSize           The maximum number of events written with one batch (1 disables batching)
+     * @param flushIntervalMillis The maximum time in ms an event stays in an incomplete batch (0 disables the
+     *                            time-based flush)
+     */
+    public JdbcConnectionParameters(DataSinkInvocation graph,
+                                    String dbHost,
+                                    Integer dbPort,
+                                    String dbName,
+                                    String username,
+                                    String password,
+                                    String dbTable,
+                                    boolean sslEnabled,
+                                    String sslFactory,
+                                    boolean quotedColumnNames,
+                                    int batchSize,
+                                    long flushIntervalMillis) {
         super(graph);
         this.dbHost = dbHost;
         this.dbPort = dbPort;
@@ -35,6 +58,8 @@ public class JdbcConnectionParameters extends EventSinkBindingParams {
         this.sslEnabled = sslEnabled;
         this.sslFactory = sslFactory;
         this.columnNameQuoted = quotedColumnNames;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
     }
 
 
@@ -73,4 +98,12 @@ public class JdbcConnectionParameters extends EventSinkBindingParams {
     public boolean isColumnNameQuoted() {
         return columnNameQuoted;
     }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
 }
@@ -1,8 +1,6 @@
 package org.apache.streampipes.sinks.databases.jvm.jdbcclient.model;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.SQLStatementUtils;
-import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.StatementUtils;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -13,12 +11,29 @@ import java.util.Map;
 
 public class StatementHandler {
 
+    /**
+     * The maximum number of cached insert plans (and thereby open prepared statements)
+     */
+    private static final int MAX_CACHED_PLANS = 64;
+
     public Statement statement;
     public PreparedStatement preparedStatement;
     /**
      * The parameters in the prepared statement {@code ps} together with their index and data type
      */
     protected HashMap<String, ParameterInformation> eventParameterMap = new HashMap<>();
+    /**
+     * The compiled insert plans for all event shapes seen so far, keyed by {@link InsertPlan#fingerprint(Map)}
+     */
+    private final Map<Integer, InsertPlan> insertPlans = new HashMap<>();
+    /**
+     * The plan of the last event, which is tried first since the shape of a stream rarely changes
+     */
+    private InsertPlan currentPlan;
+    /**
+     * The number of rows added to the batch of {@link StatementHandler#preparedStatement} which are not executed yet
+     */
+    private int batchedRows = 0;
 
     public StatementHandler(Statement statement, PreparedStatement preparedStatement) {
         this.statement = statement;
@@ -26,114 +41,125 @@ public class StatementHandler {
     }
 
     /**
-     * Initializes the variables {@link StatementHandler#eventParameterMap} and {@link StatementHandler#preparedStatement}
-     * according to the parameter event.
+     * Fills the prepared statement of the insert plan matching the shape of the event. If the event does not match
+     * the plan of the previous event, the plan is taken from the cache or compiled once for the new shape. Rows
+     * already added to the batch of the previous plan are executed first, so that the order of the events is kept.
      *
-     * @param event The event which is getting analyzed
-     * @throws SpRuntimeException When the tablename is not allowed
-     * @throws SQLException       When the prepareStatement cannot be evaluated
+     * @param event The event which should be bound
+     * @throws SQLException       When the prepared statement cannot be created or filled
+     * @throws SpRuntimeException When the table name or a column name is not allowed
      */
-    public void generatePreparedStatement(DbDescription dbDescription, TableDescription tableDescription,
-                                          Connection connection, final Map<String, Object> event)
-            throws SQLException, SpRuntimeException {
-        // input: event
-        // wanted: INSERT INTO test4321 ( randomString, randomValue ) VALUES ( ?,? );
-        eventParameterMap.clear();
-        StringBuilder statement1 = new StringBuilder("INSERT INTO ");
-        StringBuilder statement2 = new StringBuilder("VALUES ( ");
-        SQLStatementUtils.checkRegEx(tableDescription.getName(), "Tablename", dbDescription);
-        statement1.append(tableDescription.getName()).append(" ( ");
-
-        // Starts index at 1, since the parameterIndex in the PreparedStatement starts at 1 as well
-        extendPreparedStatement(dbDescription, event, statement1, statement2, 1, "", "");
-
-        statement1.append(" ) ");
-        statement2.append(" );");
-        String finalStatement = statement1.append(statement2).toString();
-        this.preparedStatement = connection.prepareStatement(finalStatement);
+    private void bind(DbDescription dbDescription, TableDescription tableDescription, Connection connection,
+                      final Map<String, Object> event) throws SQLException, SpRuntimeException {
+        if (currentPlan != null && currentPlan.bind(event)) {
+            return;
+        }
+        int fingerprint = InsertPlan.fingerprint(event);
+        InsertPlan plan = insertPlans.get(fingerprint);
+        if (plan == null || !plan.bind(event)) {
+            if (plan != null || insertPlans.size() >= MAX_CACHED_PLANS) {
+                // fingerprint collision or too many shapes: drop the cached plans and start over
+                executeBatch();
+                closePlans();
+            }
+            plan = InsertPlan.create(dbDescription, tableDescription, connection, event);
+            insertPlans.put(fingerprint, plan);
+            if (!plan.bind(event)) {
+                throw new SpRuntimeException("Could not bind event to the generated insert statement");
+            }
+        }
+        if (batchedRows > 0) {
+            executeBatch();
+        }
+        currentPlan = plan;
+        this.preparedStatement = plan.getPreparedStatement();
     }
 
     /**
-     * @param event
-     * @param s1
-     * @param s2
-     * @param index
-     * @param preProperty
-     * @param prefix
-     * @return
-     * @throws SpRuntimeException
+     * Fills and executes the prepared statement of the insert plan matching the event.
+     *
+     * @param event Data to be saved in the SQL table
+     * @throws SQLException       When the statement cannot be executed
+     * @throws SpRuntimeException When the table name is not allowed or a value does not match its column
      */
-    public int extendPreparedStatement(DbDescription dbDescription, final Map<String, Object> event,
-                                        StringBuilder s1, StringBuilder s2, int index, String preProperty, String prefix)
-            throws SpRuntimeException {
-
-        for (Map.Entry<String, Object> pair : event.entrySet()) {
-            if (pair.getValue() instanceof Map) {
-                index = extendPreparedStatement(dbDescription, (Map<String, Object>) pair.getValue(), s1, s2, index,
-                        pair.getKey() + "_", prefix);
-            } else {
-                SQLStatementUtils.checkRegEx(pair.getKey(), "Columnname", dbDescription);
-                eventParameterMap.put(pair.getKey(), new ParameterInformation(index, DbDataTypeFactory.getFromObject(pair.getValue(), dbDescription.getEngine())));
-                if (dbDescription.isColumnNameQuoted()) {
-                    s1.append(prefix).append("\"").append(preProperty).append(pair.getKey()).append("\"");
-                } else {
-                    s1.append(prefix).append(preProperty).append(pair.getKey());
-                }
-                s2.append(prefix).append("?");
-                index++;
-            }
-            prefix = ", ";
-        }
-        return index;
+    public void executePreparedStatement(DbDescription dbDescription, TableDescription tableDescription,
+                                         Connection connection, final Map<String, Object> event)
+            throws SQLException, SpRuntimeException {
+        bind(dbDescription, tableDescription, connection, event);
+        this.preparedStatement.executeUpdate();
     }
 
     /**
-     * Fills a prepared statement with the actual values base on {@link StatementHandler#eventParameterMap}. If
-     * {@link StatementHandler#eventParameterMap} is empty or not complete (which should only happen once in the
-     * beginning), it calls {@link StatementHandler#generatePreparedStatement(DbDescription, TableDescription, Connection, Map)} to generate a new one.
+     * Fills the prepared statement with the data found in event and adds it to the current batch. The batch is sent
+     * to the database with {@link StatementHandler#executeBatch()}.
      *
-     * @param event
-     * @param pre
-     * @throws SQLException
-     * @throws SpRuntimeException
+     * @param event Data to be saved in the SQL table
+     * @throws SQLException       When the statement cannot be prepared
+     * @throws SpRuntimeException When the table name is not allowed or a value does not match its column
      */
-    private void fillPreparedStatement(DbDescription dbDescription, TableDescription tableDescription, Connection connection, final Map<String, Object> event, String pre)
+    public void addToBatch(DbDescription dbDescription, TableDescription tableDescription,
+                           Connection connection, final Map<String, Object> event)
             throws SQLException, SpRuntimeException {
+        bind(dbDescription, tableDescription, connection, event);
+        this.preparedStatement.addBatch();
+        batchedRows++;
+    }
 
-        //TODO: Possible error: when the event does not contain all objects of the parameter list
-        for (Map.Entry<String, Object> pair : event.entrySet()) {
-            String newKey = pre + pair.getKey();
-            if (pair.getValue() instanceof Map) {
-                // recursively extracts nested values
-                fillPreparedStatement(dbDescription, tableDescription, connection, (Map<String, Object>) pair.getValue(), newKey + "_");
-            } else {
-                if (!eventParameterMap.containsKey(newKey)) {
-                    //TODO: start the for loop all over again
-                    generatePreparedStatement(dbDescription, tableDescription, connection, event);
-                }
-                ParameterInformation p = eventParameterMap.get(newKey);
-                StatementUtils.setValue(p, pair.getValue(), this.getPreparedStatement());
-            }
+    /**
+     * Executes all rows added with {@link StatementHandler#addToBatch(DbDescription, TableDescription, Connection, Map)}.
+     *
+     * @return The update counts of the executed rows
+     * @throws SQLException When the batch cannot be executed (a {@link java.sql.BatchUpdateException} contains the
+     *                      update counts of the rows executed before the failure)
+     */
+    public int[] executeBatch() throws SQLException {
+        if (this.preparedStatement == null || batchedRows == 0) {
+            return new int[0];
+        }
+        try {
+            return this.preparedStatement.executeBatch();
+        } finally {
+            batchedRows = 0;
+        }
+    }
+
+    /**
+     * Discards all rows of the current batch which are not executed yet
+     */
+    public void clearBatch() throws SQLException {
+        if (this.preparedStatement != null && batchedRows > 0) {
+            this.preparedStatement.clearBatch();
         }
+        batchedRows = 0;
     }
 
     /**
-     * Clears, fills and executes the saved prepared statement {@code ps} with the data found in
-     * event. To fill in the values it calls {@link StatementHandler#fillPreparedStatement(DbDescription, TableDescription, Connection, Map, String)}.
+     * Closes the prepared statements of all cached insert plans
      *
-     * @param event Data to be saved in the SQL table
-     * @throws SQLException       When the statement cannot be executed
-     * @throws SpRuntimeException When the table name is not allowed or it is thrown
-     *                            by {@link org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.StatementUtils#setValue(ParameterInformation, Object, PreparedStatement)}
+     * @throws SQLException When a statement cannot be closed (the remaining statements are closed anyway)
      */
-    public void executePreparedStatement(DbDescription dbDescription, TableDescription tableDescription,
-                                         Connection connection, final Map<String, Object> event)
-            throws SQLException, SpRuntimeException {
-        if (this.getPreparedStatement() != null) {
-            this.preparedStatement.clearParameters();
+    public void closePlans() throws SQLException {
+        SQLException exception = null;
+        for (InsertPlan plan : insertPlans.values()) {
+            try {
+                plan.close();
+            } catch (SQLException e) {
+                exception = e;
+            }
         }
-        fillPreparedStatement(dbDescription, tableDescription, connection, event, "");
-        this.preparedStatement.executeUpdate();
+        insertPlans.clear();
+        if (currentPlan != null && this.preparedStatement == currentPlan.getPreparedStatement()) {
+            this.preparedStatement = null;
+        }
+        currentPlan = null;
+        batchedRows = 0;
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    public int getBatchedRows() {
+        return batchedRows;
     }
 
     public PreparedStatement getPreparedStatement() {
@@ -3,6 +3,7 @@ package org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.DbDataTypeFactory;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.DbDataTypes;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.ParameterInformation;
 
 import java.sql.PreparedStatement;
@@ -47,4 +48,32 @@ public class StatementUtils {
                 throw new SpRuntimeException("Unknown SQL datatype");
         }
     }
+
+    /**
+     * Resolves the setter for a data type once, so that it does not need to be looked up for every value
+     *
+     * @param dataType The data type of the column
+     * @return The setter which fills a value of this type in a prepared statement
+     * @throws SpRuntimeException When the data type is unknown
+     */
+    public static ValueSetter makeValueSetter(DbDataTypes dataType) throws SpRuntimeException {
+        switch (DbDataTypeFactory.getDataType(dataType)) {
+            case Integer:
+                return (ps, index, value) -> ps.setInt(index, ((Number) value).intValue());
+            case Long:
+                return (ps, index, value) -> ps.setLong(index, ((Number) value).longValue());
+            case Float:
+                return (ps, index, value) -> ps.setFloat(index, ((Number) value).floatValue());
+            case Double:
+                return (ps, index, value) -> ps.setDouble(index, ((Number) value).doubleValue());
+            case Boolean:
+                return (ps, index, value) -> ps.setBoolean(index, (Boolean) value);
+            case String:
+                return (ps, index, value) -> ps.setString(index, value.toString());
+            case Number:
+            case Sequence:
+            default:
+                throw new SpRuntimeException("Unknown SQL datatype");
+        }
+    }
 }
@@ -16,9 +16,16 @@
  *
  */
 
-package org.apache.streampipes.processors.filters.jvm.processor.numericaltextfilter;
+package org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils;
 
-public enum NumericalOperator {
-  // Greater/Equal, Greater than, Less/Equal, Less than, Equal, Inequal
-  GE, GT, LE, LT, EQ, IE
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Sets a single value of a prepared statement with the setter matching the data type of the column
+ */
+@FunctionalInterface
+public interface ValueSetter {
+
+    void setValue(PreparedStatement ps, int index, Object value) throws SQLException;
 }
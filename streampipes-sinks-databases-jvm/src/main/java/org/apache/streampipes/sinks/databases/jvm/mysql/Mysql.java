@@ -26,6 +26,8 @@ import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.SupportedDbEn
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
+import java.util.Properties;
+
 
 public class Mysql extends JdbcClient implements EventSink<MysqlParameters> {
 
@@ -71,6 +73,16 @@ public class Mysql extends JdbcClient implements EventSink<MysqlParameters> {
 
     }
 
+    @Override
+    protected Properties makeConnectionProperties() {
+        Properties properties = super.makeConnectionProperties();
+        if (isBatchingEnabled()) {
+            // lets the driver send a batch as multi-row INSERT statements
+            properties.setProperty("rewriteBatchedStatements", "true");
+        }
+        return properties;
+    }
+
     @Override
     protected void extractTableInformation() throws SpRuntimeException {
 
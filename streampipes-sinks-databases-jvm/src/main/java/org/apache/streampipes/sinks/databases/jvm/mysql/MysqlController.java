@@ -38,6 +38,8 @@ public class MysqlController extends StandaloneEventSinkDeclarer<MysqlParameters
     private static final String DB_KEY = "db";
     private static final String TABLE_KEY = "table";
     private static final String PORT_KEY = "port";
+    private static final String BATCH_SIZE_KEY = "batch_size";
+    private static final String FLUSH_INTERVAL_KEY = "flush_interval";
 
     @Override
     public DataSinkDescription declareModel() {
@@ -54,6 +56,8 @@ public class MysqlController extends StandaloneEventSinkDeclarer<MysqlParameters
                 .requiredSecret(Labels.withId(PASSWORD_KEY))
                 .requiredTextParameter(Labels.withId(DB_KEY), false, false)
                 .requiredTextParameter(Labels.withId(TABLE_KEY), false, false)
+                .requiredIntegerParameter(Labels.withId(BATCH_SIZE_KEY), 1)
+                .requiredIntegerParameter(Labels.withId(FLUSH_INTERVAL_KEY), 1000)
                 .build();
     }
 
@@ -67,9 +71,12 @@ public class MysqlController extends StandaloneEventSinkDeclarer<MysqlParameters
         String db = extractor.singleValueParameter(DB_KEY, String.class);
         String table = extractor.singleValueParameter(TABLE_KEY, String.class);
         Integer port = extractor.singleValueParameter(PORT_KEY, Integer.class);
+        Integer batchSize = extractor.singleValueParameter(BATCH_SIZE_KEY, Integer.class);
+        Long flushInterval = extractor.singleValueParameter(FLUSH_INTERVAL_KEY, Long.class);
 
         // SSL connection is not yet implemented for MySQL client
-        MysqlParameters params = new MysqlParameters(graph, host, user, password, db, table, port, false);
+        MysqlParameters params = new MysqlParameters(graph, host, user, password, db, table, port, false,
+                batchSize, flushInterval);
         return new ConfiguredEventSink<>(params, Mysql::new);
     }
 
@@ -24,7 +24,8 @@ import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.JdbcConnectio
 public class MysqlParameters extends JdbcConnectionParameters {
 
     public MysqlParameters(DataSinkInvocation graph, String mySqlHost, String mySqlUser, String mySqlPassword,
-                           String mySqlDb, String mySqlTable, Integer mySqlPort, boolean sslEnabled) {
+                           String mySqlDb, String mySqlTable, Integer mySqlPort, boolean sslEnabled,
+                           Integer batchSize, Long flushIntervalMillis) {
         super(
                 graph,
                 mySqlHost,
@@ -35,7 +36,9 @@ public class MysqlParameters extends JdbcConnectionParameters {
                 mySqlTable,
                 sslEnabled,
                 null,
-                false
+                false,
+                batchSize,
+                flushIntervalMillis
         );
     }
 }
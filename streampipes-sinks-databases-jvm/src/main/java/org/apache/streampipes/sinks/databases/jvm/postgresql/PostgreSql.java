@@ -26,6 +26,8 @@ import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.SupportedDbEn
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
+import java.util.Properties;
+
 public class PostgreSql extends JdbcClient implements EventSink<PostgreSqlParameters> {
 
   private PostgreSqlParameters params;
@@ -57,6 +59,16 @@ public class PostgreSql extends JdbcClient implements EventSink<PostgreSqlParame
     this.tableDescription.extractTableInformation(this.statementHandler.preparedStatement, this.connection, query, queryParameter);
   }
 
+  @Override
+  protected Properties makeConnectionProperties() {
+    Properties properties = super.makeConnectionProperties();
+    if (isBatchingEnabled()) {
+      // lets the driver send a batch as multi-row INSERT statements
+      properties.setProperty("reWriteBatchedInserts", "true");
+    }
+    return properties;
+  }
+
   @Override
   public void onEvent(Event event) {
     try {
@@ -40,6 +40,8 @@ public class PostgreSqlController extends StandaloneEventSinkDeclarer<PostgreSql
   private static final String SSL_MODE = "ssl_mode";
   private static final String SSL_ENABLED = "ssl_enabled";
   private static final String SSL_DISABLED = "ssl_disabled";
+  private static final String BATCH_SIZE_KEY = "batch_size";
+  private static final String FLUSH_INTERVAL_KEY = "flush_interval";
 
   @Override
   public DataSinkDescription declareModel() {
@@ -60,6 +62,8 @@ public class PostgreSqlController extends StandaloneEventSinkDeclarer<PostgreSql
                     Options.from(
                       new Tuple2<>("Yes", SSL_ENABLED),
                       new Tuple2<>("No", SSL_DISABLED)))
+            .requiredIntegerParameter(Labels.withId(BATCH_SIZE_KEY), 1)
+            .requiredIntegerParameter(Labels.withId(FLUSH_INTERVAL_KEY), 1000)
             .build();
   }
 
@@ -74,6 +78,8 @@ public class PostgreSqlController extends StandaloneEventSinkDeclarer<PostgreSql
     String user = extractor.singleValueParameter(DATABASE_USER_KEY, String.class);
     String password = extractor.secretValue(DATABASE_PASSWORD_KEY);
     String sslSelection = extractor.selectedSingleValueInternalName(SSL_MODE, String.class);
+    Integer batchSize = extractor.singleValueParameter(BATCH_SIZE_KEY, Integer.class);
+    Long flushInterval = extractor.singleValueParameter(FLUSH_INTERVAL_KEY, Long.class);
 
     PostgreSqlParameters params = new PostgreSqlParameters(graph,
             hostname,
@@ -82,7 +88,9 @@ public class PostgreSqlController extends StandaloneEventSinkDeclarer<PostgreSql
             tableName,
             user,
             password,
-            sslSelection.equals(SSL_ENABLED));
+            sslSelection.equals(SSL_ENABLED),
+            batchSize,
+            flushInterval);
 
     return new ConfiguredEventSink<>(params, PostgreSql::new);
   }
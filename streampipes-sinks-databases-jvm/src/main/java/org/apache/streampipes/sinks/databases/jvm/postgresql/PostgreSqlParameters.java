@@ -26,7 +26,8 @@ public class PostgreSqlParameters extends JdbcConnectionParameters {
 
   private boolean sslEnabled;
 
-  public PostgreSqlParameters(DataSinkInvocation graph, String PostgreSqlHost, Integer PostgreSqlPort, String databaseName, String tableName, String user, String password, Boolean sslEnabled) {
+  public PostgreSqlParameters(DataSinkInvocation graph, String PostgreSqlHost, Integer PostgreSqlPort, String databaseName, String tableName, String user, String password, Boolean sslEnabled,
+                              Integer batchSize, Long flushIntervalMillis) {
     super(
             graph,
             PostgreSqlHost,
@@ -37,6 +38,8 @@ public class PostgreSqlParameters extends JdbcConnectionParameters {
             tableName,
             sslEnabled,
             "org.postgresql.ssl.NonValidatingFactory",
-            true);
+            true,
+            batchSize,
+            flushIntervalMillis);
   }
 }
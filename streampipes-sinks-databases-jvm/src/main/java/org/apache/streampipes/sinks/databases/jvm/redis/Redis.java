@@ -16,12 +16,15 @@
  *
  */
 
+
 package org.apache.streampipes.sinks.databases.jvm.redis;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.runtime.EventSink;
@@ -29,50 +32,127 @@ import org.apache.streampipes.wrapper.runtime.EventSink;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.params.SetParams;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class Redis implements EventSink<RedisParameters> {
 
     private static final String EVENT_PREFIX = "sp:event:";
     private static final String EVENT_COUNT = "sp:events";
-    private static JedisPool jedisPool = null;
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
+    private Logger LOG;
+    private JedisPool jedisPool = null;
     private String primaryKey;
     private Boolean autoIncrement;
-    private String password;
-    private String clientName;
-    private Integer index;
     private Integer ttl;
+    private boolean hashLayout;
+    private int batchSize;
+    private SetParams setParams;
+
+    private final List<Map<String, Object>> pendingEvents = new ArrayList<>();
+    private final List<String> pendingKeys = new ArrayList<>();
+    private ScheduledExecutorService flushScheduler;
 
     @Override
     public void onInvocation(RedisParameters parameters, EventSinkRuntimeContext runtimeContext) {
-        if (jedisPool == null) initialPool(parameters);
+        LOG = parameters.getGraph().getLogger(Redis.class);
+        initialPool(parameters);
         primaryKey = parameters.getPrimaryKey();
         autoIncrement = parameters.isAutoIncrement();
-        password = parameters.getRedisPassword();
-        clientName = parameters.getRedisClient();
-        index = parameters.getRedisIndex();
         ttl = parameters.getTTL();
+        hashLayout = parameters.isHashLayout();
+        batchSize = Math.max(parameters.getBatchSize(), 1);
+        setParams = ttl > -1 ? SetParams.setParams().ex(ttl) : null;
+
+        if (batchSize > 1 && parameters.getFlushInterval() > 0) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor();
+            flushScheduler.scheduleAtFixedRate(() -> {
+                try {
+                    flush();
+                } catch (SpRuntimeException e) {
+                    LOG.error(e.getMessage());
+                }
+            }, parameters.getFlushInterval(), parameters.getFlushInterval(), TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void onEvent(Event inputEvent) throws SpRuntimeException {
-        try (Jedis jedis = getJedis()) {
-            final String eventKey = getEventKey(inputEvent, autoIncrement ? jedis.incr(EVENT_COUNT) : 0L);
-            jedis.set(eventKey, getEventValue(inputEvent));
-            if (ttl > -1) jedis.expire(eventKey, ttl);
-        } catch (SpRuntimeException e) {
-            throw e;
-        } catch (Exception ex) {
-            throw new SpRuntimeException("Could not persist event to redis", ex);
+        String eventKey = autoIncrement ? null : getEventKey(inputEvent);
+        synchronized (pendingEvents) {
+            pendingEvents.add(inputEvent.getRaw());
+            pendingKeys.add(eventKey);
+            if (pendingEvents.size() >= batchSize) {
+                flush();
+            }
         }
     }
 
     @Override
-    public void onDetach() {
-        if (jedisPool != null && !jedisPool.isClosed()) jedisPool.close();
-        jedisPool = null;
+    public void onDetach() throws SpRuntimeException {
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            flushScheduler = null;
+        }
+        try {
+            flush();
+        } finally {
+            if (jedisPool != null && !jedisPool.isClosed()) jedisPool.close();
+            jedisPool = null;
+        }
     }
 
+    /**
+     * Writes all buffered events with one pipeline. Auto-increment keys are reserved for the whole batch with a
+     * single INCRBY.
+     *
+     * @throws SpRuntimeException When the events could not be written
+     */
+    private void flush() throws SpRuntimeException {
+        synchronized (pendingEvents) {
+            if (pendingEvents.isEmpty() || jedisPool == null) {
+                return;
+            }
+            try (Jedis jedis = jedisPool.getResource()) {
+                long firstId = autoIncrement ? jedis.incrBy(EVENT_COUNT, pendingEvents.size()) - pendingEvents.size() + 1 : 0L;
+                Pipeline pipeline = jedis.pipelined();
+                for (int i = 0; i < pendingEvents.size(); i++) {
+                    Map<String, Object> event = pendingEvents.get(i);
+                    String eventKey = autoIncrement ? EVENT_PREFIX + (firstId + i) : pendingKeys.get(i);
+                    if (hashLayout) {
+                        pipeline.hset(eventKey, getEventFields(event));
+                        if (ttl > -1) pipeline.expire(eventKey, ttl);
+                    } else if (setParams != null) {
+                        pipeline.set(eventKey, getEventValue(event), setParams);
+                    } else {
+                        pipeline.set(eventKey, getEventValue(event));
+                    }
+                }
+                pipeline.sync();
+            } catch (SpRuntimeException e) {
+                throw e;
+            } catch (Exception ex) {
+                throw new SpRuntimeException("Could not persist " + pendingEvents.size() + " events to redis", ex);
+            } finally {
+                pendingEvents.clear();
+                pendingKeys.clear();
+            }
+        }
+    }
+
+    /**
+     * Authentication, client name and database index are applied once when the pool creates a connection
+     */
     private void initialPool(RedisParameters parameters) {
         JedisPoolConfig config = new JedisPoolConfig();
         config.setMaxTotal(parameters.getRedisPoolMaxActive());
@@ -81,39 +161,45 @@ public class Redis implements EventSink<RedisParameters> {
         config.setTestWhileIdle(false);
         config.setTestOnBorrow(false);
         config.setTestOnReturn(false);
-        jedisPool = new JedisPool(config, parameters.getRedisHost(),
-                parameters.getRedisPort(), parameters.getRedisPoolTimeout());
+        String password = StringUtils.isNotBlank(parameters.getRedisPassword()) ? parameters.getRedisPassword() : null;
+        String clientName = StringUtils.isNotBlank(parameters.getRedisClient()) ? parameters.getRedisClient() : null;
+        int database = parameters.getRedisIndex() > -1 ? parameters.getRedisIndex() : Protocol.DEFAULT_DATABASE;
+        jedisPool = new JedisPool(config, parameters.getRedisHost(), parameters.getRedisPort(),
+                parameters.getRedisPoolTimeout(), password, database, clientName);
     }
 
-    private Jedis getJedis() throws SpRuntimeException {
-        Jedis jedis = jedisPool.getResource();
-        try {
-            jedis.connect();
-            if (StringUtils.isNotBlank(password)) jedis.auth(password);
-            if (StringUtils.isNotBlank(clientName)) jedis.clientSetname(clientName);
-            if (index > -1) jedis.select(index);
-        } catch (JedisException e) {
-            jedis.close();
-            throw new SpRuntimeException("Could not connect to redis", e);
-        }
-        return jedis;
+    private String getEventKey(Event event) {
+        String value = event.getFieldBySelector(primaryKey).getAsPrimitive().getAsString();
+        return EVENT_PREFIX + value;
     }
 
-    private String getEventKey(Event event, Long count) {
-        if (autoIncrement) {
-            return EVENT_PREFIX + count;
-        } else {
-            String value = event.getFieldBySelector(primaryKey).getAsPrimitive().getAsString();
-            return EVENT_PREFIX + value;
+    private String getEventValue(Map<String, Object> event) throws SpRuntimeException {
+        try {
+            return WRITER.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new SpRuntimeException("Could not convert event to JSON", e);
         }
     }
 
-    private String getEventValue(Event event) throws SpRuntimeException {
+    /**
+     * Converts the top-level fields of an event to hash fields, so that consumers can read single fields with HGET.
+     * Nested values are stored as JSON.
+     */
+    private Map<String, String> getEventFields(Map<String, Object> event) throws SpRuntimeException {
+        Map<String, String> fields = new HashMap<>(event.size() * 2);
         try {
-            return new ObjectMapper().writeValueAsString(event.getRaw());
+            for (Map.Entry<String, Object> field : event.entrySet()) {
+                Object value = field.getValue();
+                if (value == null) {
+                    continue;
+                }
+                fields.put(field.getKey(), value instanceof Map || value instanceof List
+                        ? WRITER.writeValueAsString(value) : value.toString());
+            }
         } catch (JsonProcessingException e) {
             throw new SpRuntimeException("Could not convert event to JSON", e);
         }
+        return fields;
     }
 
 }
@@ -46,6 +46,11 @@ public class RedisController extends StandaloneEventSinkDeclarer<RedisParameters
     private static final String REDIS_POOL_MAX_IDLE_KEY = "redis_pool_max_idle";
     private static final String REDIS_POOL_MAX_WAIT_KEY = "redis_pool_max_wait";
     private static final String REDIS_POOL_TIMEOUT_KEY = "redis_pool_timeout";
+    private static final String STORAGE_LAYOUT_KEY = "storage_layout";
+    private static final String STORAGE_LAYOUT_JSON = "JSON";
+    private static final String STORAGE_LAYOUT_HASH = "Hash";
+    private static final String BATCH_SIZE_KEY = "batch_size";
+    private static final String FLUSH_INTERVAL_KEY = "flush_interval";
 
     @Override
     public DataSinkDescription declareModel() {
@@ -70,6 +75,10 @@ public class RedisController extends StandaloneEventSinkDeclarer<RedisParameters
                 .requiredIntegerParameter(Labels.withId(REDIS_POOL_MAX_IDLE_KEY), 8)
                 .requiredIntegerParameter(Labels.withId(REDIS_POOL_MAX_WAIT_KEY), -1)
                 .requiredIntegerParameter(Labels.withId(REDIS_POOL_TIMEOUT_KEY), 2000)
+                .requiredSingleValueSelection(Labels.withId(STORAGE_LAYOUT_KEY),
+                        Options.from(STORAGE_LAYOUT_JSON, STORAGE_LAYOUT_HASH))
+                .requiredIntegerParameter(Labels.withId(BATCH_SIZE_KEY), 1)
+                .requiredIntegerParameter(Labels.withId(FLUSH_INTERVAL_KEY), 1000)
                 .build();
     }
 
@@ -90,12 +99,16 @@ public class RedisController extends StandaloneEventSinkDeclarer<RedisParameters
         Integer redisPoolMaxIdle = extractor.singleValueParameter(REDIS_POOL_MAX_IDLE_KEY, Integer.class);
         Integer redisPoolMaxWait = extractor.singleValueParameter(REDIS_POOL_MAX_WAIT_KEY, Integer.class);
         Integer redisPoolTimeout = extractor.singleValueParameter(REDIS_POOL_TIMEOUT_KEY, Integer.class);
+        String storageLayout = extractor.selectedSingleValue(STORAGE_LAYOUT_KEY, String.class);
+        Integer batchSize = extractor.singleValueParameter(BATCH_SIZE_KEY, Integer.class);
+        Long flushInterval = extractor.singleValueParameter(FLUSH_INTERVAL_KEY, Long.class);
         String redisPassword = "";
         String redisClient = "";
 
         RedisParameters params = new RedisParameters(graph, primaryKey, autoIncrement, ttl, redisHost,
                 redisPort, redisPassword, redisClient, redisIndex, redisPoolMaxActive, redisPoolMaxIdle,
-                redisPoolMaxWait, redisPoolTimeout);
+                redisPoolMaxWait, redisPoolTimeout, STORAGE_LAYOUT_HASH.equals(storageLayout), batchSize,
+                flushInterval);
 
         return new ConfiguredEventSink<>(params, Redis::new);
     }
@@ -35,6 +35,9 @@ public class RedisParameters extends EventSinkBindingParams {
     private Integer redisPoolMaxIdle;
     private Integer redisPoolMaxWait;
     private Integer redisPoolTimeout;
+    private boolean hashLayout;
+    private Integer batchSize;
+    private Long flushInterval;
 
     public RedisParameters(DataSinkInvocation graph,
                            String primaryKey,
@@ -48,7 +51,10 @@ public class RedisParameters extends EventSinkBindingParams {
                            Integer redisPoolMaxActive,
                            Integer redisPoolMaxIdle,
                            Integer redisPoolMaxWait,
-                           Integer redisPoolTimeout) {
+                           Integer redisPoolTimeout,
+                           boolean hashLayout,
+                           Integer batchSize,
+                           Long flushInterval) {
         super(graph);
         this.primaryKey = primaryKey;
         this.autoIncrement = autoIncrement;
@@ -62,6 +68,9 @@ public class RedisParameters extends EventSinkBindingParams {
         this.redisPoolMaxIdle = redisPoolMaxIdle;
         this.redisPoolMaxWait = redisPoolMaxWait;
         this.redisPoolTimeout = redisPoolTimeout;
+        this.hashLayout = hashLayout;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
     }
 
     public String getPrimaryKey() {
@@ -111,4 +120,16 @@ public class RedisParameters extends EventSinkBindingParams {
     public Integer getRedisPoolTimeout() {
         return redisPoolTimeout;
     }
+
+    public boolean isHashLayout() {
+        return hashLayout;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public Long getFlushInterval() {
+        return flushInterval;
+    }
 }
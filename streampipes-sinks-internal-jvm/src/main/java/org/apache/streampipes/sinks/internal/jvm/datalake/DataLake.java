@@ -18,7 +18,6 @@
 
 package org.apache.streampipes.sinks.internal.jvm.datalake;
 
-import org.apache.commons.codec.binary.Base64;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.entity.ContentType;
@@ -28,23 +27,25 @@ import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.pe.shared.influxdb.InfluxDbWriter;
 import org.apache.streampipes.serializers.json.JacksonSerializer;
 import org.apache.streampipes.sinks.internal.jvm.config.SinksInternalJvmConfig;
 import org.apache.streampipes.vocabulary.SPSensor;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
-import java.io.*;
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
-/**
- * Code is the same as InfluxDB (org.apache.streampipes.sinks.databases.jvm.influxdb) sink. Changes applied here should also be applied in the InfluxDB sink
- */
 public class DataLake implements EventSink<DataLakeParameters> {
 
+  private static final int IMAGE_WRITER_THREADS = 2;
+  private static final int IMAGE_QUEUE_CAPACITY = 64;
+
+  private InfluxDbWriter influxDbWriter;
 
-  private DataLakeInfluxDbClient influxDbClient;
+  private ImageFileWriter imageFileWriter;
 
   private static Logger LOG;
 
@@ -60,20 +61,23 @@ public class DataLake implements EventSink<DataLakeParameters> {
 
     this.timestampField = parameters.getTimestampField();
 
-    this.influxDbClient = new DataLakeInfluxDbClient(
-            parameters.getInfluxDbHost(),
-            parameters.getInfluxDbPort(),
+    this.influxDbWriter = new InfluxDbWriter(
             parameters.getDatabaseName(),
             parameters.getMeasurementName(),
-            parameters.getUsername(),
-            parameters.getPassword(),
             parameters.getTimestampField(),
+            parameters.getDimensionProperties(),
+            DataLake::prepareString,
             parameters.getBatchSize(),
             parameters.getFlushDuration(),
-            parameters.getDimensionProperties(),
-            LOG
+            e -> LOG.error(e.getMessage())
     );
 
+    // "http://" must be in front
+    String url = parameters.getInfluxDbHost() + ":" + parameters.getInfluxDbPort();
+    if (influxDbWriter.connect(url, parameters.getUsername(), parameters.getPassword())) {
+      LOG.info("Database '" + parameters.getDatabaseName() + "' not found. Has been created.");
+    }
+
     EventSchema schema = runtimeContext.getInputSchemaInfo().get(0).getEventSchema();
 
     schema.getEventProperties().stream().forEach(eventProperty -> {
@@ -89,6 +93,10 @@ public class DataLake implements EventSink<DataLakeParameters> {
 
     imageDirectory = SinksInternalJvmConfig.INSTANCE.getImageStorageLocation() + parameters.getMeasurementName() + "/";
 
+    if (!imageProperties.isEmpty()) {
+      imageFileWriter = new ImageFileWriter(IMAGE_WRITER_THREADS, IMAGE_QUEUE_CAPACITY, LOG);
+    }
+
   }
 
   @Override
@@ -100,7 +108,7 @@ public class DataLake implements EventSink<DataLakeParameters> {
         String fileRoute = this.imageDirectory + eventProperty.getRuntimeName() + "/" + eventTimestamp + ".png";
         String image = event.getFieldByRuntimeName(eventProperty.getRuntimeName()).getAsPrimitive().getAsString();
 
-        this.writeToImageFile(image, fileRoute);
+        this.imageFileWriter.write(image, fileRoute);
         fileRoute = fileRoute.replace("/", "_");
         fileRoute = fileRoute.replace("." , "_");
         event.updateFieldBySelector("s0::" + eventProperty.getRuntimeName(), fileRoute);
@@ -108,7 +116,7 @@ public class DataLake implements EventSink<DataLakeParameters> {
 
       event.addField("sp_internal_label", "");
 
-      influxDbClient.save(event);
+      influxDbWriter.write(event.getRaw());
     } catch (SpRuntimeException e) {
       LOG.error(e.getMessage());
     }
@@ -116,22 +124,12 @@ public class DataLake implements EventSink<DataLakeParameters> {
 
   @Override
   public void onDetach() throws SpRuntimeException {
-    influxDbClient.stop();
-  }
-
-  private void writeToImageFile(String image, String fileRoute) {
-    byte[] data = Base64.decodeBase64(image);
-    try {
-      File file = new File(fileRoute);
-      file.getParentFile().mkdirs();
-      OutputStream stream = new FileOutputStream(file, false);
-      stream.write(data);
-    } catch (FileNotFoundException e) {
-      e.printStackTrace();
-    } catch (IOException e) {
-      e.printStackTrace();
+    if (imageFileWriter != null) {
+      imageFileWriter.stop();
+      LOG.info("Image writer statistics: " + imageFileWriter);
     }
-
+    influxDbWriter.stop();
+    LOG.info("InfluxDB writer statistics: " + influxDbWriter);
   }
 
   /**
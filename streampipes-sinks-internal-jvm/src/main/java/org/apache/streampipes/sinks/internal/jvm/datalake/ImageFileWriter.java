@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.sinks.internal.jvm.datalake;
+
+import org.apache.streampipes.logging.api.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes Base64 encoded images to files on a small pool of writer threads. Write requests are queued in a bounded
+ * queue; when the queue is full, {@link ImageFileWriter#write(String, String)} blocks until a writer is available,
+ * so that a slow disk slows down the sink instead of filling the heap.
+ */
+public class ImageFileWriter {
+
+  /**
+   * Number of Base64 characters decoded at once (multiple of 4)
+   */
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private static final ThreadLocal<byte[]> ENCODED_CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+  private static final ThreadLocal<byte[]> DECODED_CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE / 4 * 3]);
+
+  private final ThreadPoolExecutor executor;
+  private final Set<Path> existingDirectories = ConcurrentHashMap.newKeySet();
+  private final Logger logger;
+
+  private final AtomicLong writtenBytes = new AtomicLong();
+  private final AtomicLong writtenFiles = new AtomicLong();
+  private final AtomicLong failedFiles = new AtomicLong();
+  private final long startTime = System.currentTimeMillis();
+
+  public ImageFileWriter(int threads, int queueCapacity, Logger logger) {
+    this.logger = logger;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+              Thread thread = new Thread(r, "datalake-image-writer-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            (r, e) -> {
+              // backpressure: block the caller until the queue has space again
+              try {
+                if (!e.isShutdown()) {
+                  e.getQueue().put(r);
+                } else {
+                  throw new RejectedExecutionException("Image writer is stopped");
+                }
+              } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for the image writer", ie);
+              }
+            });
+  }
+
+  /**
+   * Queues the image to be written to the given file
+   *
+   * @param image    The Base64 encoded image
+   * @param fileRoute The path of the file
+   */
+  public void write(String image, String fileRoute) {
+    executor.execute(() -> {
+      try {
+        writtenBytes.addAndGet(writeFile(image, Paths.get(fileRoute)));
+        writtenFiles.incrementAndGet();
+      } catch (IOException | IllegalArgumentException e) {
+        failedFiles.incrementAndGet();
+        logger.error("Could not write image '" + fileRoute + "': " + e.getMessage());
+      }
+    });
+  }
+
+  private long writeFile(String image, Path file) throws IOException {
+    Path directory = file.getParent();
+    if (directory != null && !existingDirectories.contains(directory)) {
+      Files.createDirectories(directory);
+      existingDirectories.add(directory);
+    }
+
+    byte[] encoded = ENCODED_CHUNK.get();
+    byte[] decoded = DECODED_CHUNK.get();
+    Base64.Decoder decoder = Base64.getDecoder();
+    long bytes = 0;
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      int length = 0;
+      for (int i = 0; i < image.length(); i++) {
+        char c = image.charAt(i);
+        // skips line breaks and other characters outside of the Base64 alphabet like the lenient codec decoder
+        if (isBase64(c)) {
+          encoded[length++] = (byte) c;
+          if (length == CHUNK_SIZE) {
+            bytes += decodeAndWrite(decoder, encoded, length, decoded, channel);
+            length = 0;
+          }
+        }
+      }
+      if (length > 0) {
+        bytes += decodeAndWrite(decoder, encoded, length, decoded, channel);
+      }
+    }
+    return bytes;
+  }
+
+  private static boolean isBase64(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+            || c == '+' || c == '/' || c == '=';
+  }
+
+  private static int decodeAndWrite(Base64.Decoder decoder, byte[] encoded, int length, byte[] decoded,
+                                    FileChannel channel) throws IOException {
+    // only the last chunk of an image is shorter than the reused buffer
+    byte[] source = length == encoded.length ? encoded : Arrays.copyOf(encoded, length);
+    int decodedLength = decoder.decode(source, decoded);
+    ByteBuffer buffer = ByteBuffer.wrap(decoded, 0, decodedLength);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    return decodedLength;
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public long getWrittenBytes() {
+    return writtenBytes.get();
+  }
+
+  public long getWrittenFiles() {
+    return writtenFiles.get();
+  }
+
+  public long getFailedFiles() {
+    return failedFiles.get();
+  }
+
+  public double getBytesPerSecond() {
+    long duration = System.currentTimeMillis() - startTime;
+    return duration <= 0 ? 0 : writtenBytes.get() * 1000.0 / duration;
+  }
+
+  /**
+   * Writes all queued images and stops the writer threads
+   */
+  public void stop() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        logger.warn(getQueueDepth() + " images could not be written before the timeout");
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d images (%d bytes, %.0f bytes/s) written, %d failed, %d queued",
+            getWrittenFiles(), getWrittenBytes(), getBytesPerSecond(), getFailedFiles(), getQueueDepth());
+  }
+}